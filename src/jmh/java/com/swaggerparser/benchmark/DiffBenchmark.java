@@ -0,0 +1,97 @@
+package com.swaggerparser.benchmark;
+
+import com.swaggerparser.config.ExecutorConfig;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.service.OpenApiSpecCompareService;
+import com.swaggerparser.support.SpecGenerator;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The diff phases on already parsed specs, measured separately so a change in one does not hide in the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiffBenchmark {
+
+    @Param({"100", "1000"})
+    int paths;
+
+    @Param({"50", "500"})
+    int schemas;
+
+    @Param({"3"})
+    int depth;
+
+    @Param({"5"})
+    int enumSize;
+
+    @Param({"0.0", "0.05", "0.5"})
+    double changeDensity;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    SwaggerParseResult source;
+    SwaggerParseResult target;
+    ForkJoinPool pool;
+    OpenApiSpecCompareService service;
+
+    @Setup
+    public void setup() {
+        SpecGenerator generator = new SpecGenerator()
+                .paths(paths)
+                .schemas(schemas)
+                .depth(depth)
+                .enumSize(enumSize)
+                .changeDensity(changeDensity);
+        source = new OpenAPIParser().readContents(generator.sourceJson(), null, null);
+        target = new OpenAPIParser().readContents(generator.targetJson(), null, null);
+
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(parallel);
+        pool = ExecutorConfig.newDiffPool(properties.getDiff());
+        service = new OpenApiSpecCompareService(null, properties, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BreakingChange breakingChangesForPath() {
+        return service.breakingChangesForPath(source.getOpenAPI(), target.getOpenAPI());
+    }
+
+    @Benchmark
+    public BreakingChange breakingChangesForSchemas() {
+        return service.breakingChangesForSchemas(source.getOpenAPI().getComponents().getSchemas(), target.getOpenAPI().getComponents().getSchemas());
+    }
+
+    @Benchmark
+    public BreakingChange analyzeBreakingChanges() {
+        return service.analyzeBreakingChanges(source, target);
+    }
+
+}
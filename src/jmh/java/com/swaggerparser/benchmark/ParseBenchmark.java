@@ -0,0 +1,49 @@
+package com.swaggerparser.benchmark;
+
+import com.swaggerparser.support.SpecGenerator;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to turn a generated spec document into a {@link SwaggerParseResult}, i.e. the work the parse cache saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"100", "1000"})
+    int paths;
+
+    @Param({"50", "500"})
+    int schemas;
+
+    String json;
+
+    @Setup
+    public void setup() {
+        json = new SpecGenerator().paths(paths).schemas(schemas).sourceJson();
+    }
+
+    @Benchmark
+    public SwaggerParseResult parse() {
+        return new OpenAPIParser().readContents(json, null, null);
+    }
+
+}
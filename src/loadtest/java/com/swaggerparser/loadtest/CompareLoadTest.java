@@ -0,0 +1,364 @@
+package com.swaggerparser.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.swaggerparser.Application;
+import com.swaggerparser.support.SpecGenerator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Drives {@code POST /open-api-spec/compare} on a locally started application with a fixed number of concurrent
+ * clients, each sending a random mix of small and large generated spec pairs back to back for the configured
+ * duration. Latencies measured after the warmup go into one HdrHistogram per pair size; the report records their
+ * percentiles and throughput alongside Tomcat thread usage, GC activity and peak heap, so runs can be compared
+ * across releases. The clients are closed-loop, so the latencies are those seen by that many callers waiting on
+ * each response, not by an open arrival rate.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:exec}, adding {@code -Dloadtest.<setting>} entries to
+ * {@code loadtest.args} for the fields below. The application runs in the same JVM with its normal configuration,
+ * except that the result cache is off so each request is diffed; {@code -Dspec-parser.*} and {@code -Dserver.*}
+ * entries are passed through as application properties. The run fails when any request does.
+ */
+public class CompareLoadTest {
+
+    private static final String[] SIZES = {"small", "large"};
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 30);
+    private final double largeShare = Double.parseDouble(System.getProperty("loadtest.large-share", "0.1"));
+    private final int pairsPerSize = Integer.getInteger("loadtest.pairs", 4);
+    private final int smallPaths = Integer.getInteger("loadtest.small-paths", 20);
+    private final int largePaths = Integer.getInteger("loadtest.large-paths", 2000);
+    private final long seed = Long.getLong("loadtest.seed", 42);
+    private final Path report = Paths.get(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new CompareLoadTest().run() ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        Path specs = Files.createTempDirectory("spec-loadtest");
+        Map<String, List<String[]>> pairs = new LinkedHashMap<>();
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        pairs.put("small", generate(specs, "small", smallPaths, sizes));
+        pairs.put("large", generate(specs, "large", largePaths, sizes));
+
+        List<String> appArgs = new ArrayList<>();
+        appArgs.add("--server.port=0");
+        appArgs.add("--server.tomcat.mbeanregistry.enabled=true");
+        appArgs.add("--spec-parser.result-cache.enabled=false");
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("spec-parser.") || key.startsWith("server."))
+                .forEach(key -> appArgs.add("--" + key + '=' + System.getProperty(key)));
+
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                SpringApplication.run(Application.class, appArgs.toArray(new String[0]))) {
+            URL url = new URL("http://localhost:" + context.getWebServer().getPort() + "/open-api-spec/compare");
+            Instant startedAt = Instant.now();
+            Map<String, Object> result = drive(url, pairs, context.getBean(MeterRegistry.class));
+
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("startedAt", startedAt.toString());
+            document.put("version", Application.class.getPackage().getImplementationVersion());
+            document.put("environment", environment());
+            document.put("settings", settings(appArgs));
+            document.put("specs", sizes);
+            document.putAll(result);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            mapper.writeValue(report.toFile(), document);
+            System.out.println(mapper.writeValueAsString(document.get("latency")));
+            System.out.println("Report written to " + report.toAbsolutePath());
+        } finally {
+            deleteAll(specs);
+        }
+        if (errors.get() > 0) {
+            System.err.println(errors.get() + " requests failed, the first with: " + firstError.get());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes {@code pairsPerSize} pairs of one size, each from its own seed so the parse cache sees distinct specs.
+     */
+    private List<String[]> generate(Path directory, String size, int paths, Map<String, Object> sizes) throws IOException {
+        List<String[]> generated = new ArrayList<>();
+        long bytes = 0;
+        for (int i = 0; i < pairsPerSize; i++) {
+            SpecGenerator generator = new SpecGenerator().paths(paths).schemas(Math.max(1, paths / 2)).seed(seed + i);
+            Path source = directory.resolve(size + '-' + i + "-source.json");
+            Path target = directory.resolve(size + '-' + i + "-target.json");
+            Files.write(source, generator.sourceJson().getBytes(StandardCharsets.UTF_8));
+            Files.write(target, generator.targetJson().getBytes(StandardCharsets.UTF_8));
+            bytes += Files.size(source) + Files.size(target);
+            generated.add(new String[]{source.toString(), target.toString()});
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("paths", paths);
+        description.put("schemas", Math.max(1, paths / 2));
+        description.put("pairs", pairsPerSize);
+        description.put("averagePairBytes", bytes / pairsPerSize);
+        sizes.put(size, description);
+        return generated;
+    }
+
+    private Map<String, Object> drive(URL url, Map<String, List<String[]>> pairs, MeterRegistry meters) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, Histogram>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Random random = new Random(seed * 31 + i);
+            futures.add(clients.submit(() -> client(url, pairs, random, measureFrom, measureTo)));
+        }
+
+        // Sample the server side while the clients run; the GC counters are taken over the measured window only.
+        Map<String, long[]> gcBefore = null;
+        double peakBusyThreads = 0;
+        long peakHeap = 0;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        while (System.nanoTime() < measureTo) {
+            if (gcBefore == null && System.nanoTime() >= measureFrom) {
+                gcBefore = gcCounters();
+            }
+            Gauge busy = meters.find("tomcat.threads.busy").gauge();
+            if (busy != null && System.nanoTime() >= measureFrom) {
+                peakBusyThreads = Math.max(peakBusyThreads, busy.value());
+            }
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            Thread.sleep(50);
+        }
+        if (gcBefore == null) {
+            gcBefore = gcCounters();
+        }
+        Map<String, long[]> gcAfter = gcCounters();
+
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        histograms.put("all", new Histogram(3));
+        for (String size : SIZES) {
+            histograms.put(size, new Histogram(3));
+        }
+        for (Future<Map<String, Histogram>> future : futures) {
+            future.get().forEach((size, histogram) -> {
+                histograms.get(size).add(histogram);
+                histograms.get("all").add(histogram);
+            });
+        }
+        clients.shutdown();
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            latency.put(entry.getKey(), summary(entry.getValue()));
+            writeDistribution(entry.getKey(), entry.getValue());
+        }
+
+        Map<String, Object> server = new LinkedHashMap<>();
+        Gauge maxThreads = meters.find("tomcat.threads.config.max").gauge();
+        server.put("tomcatMaxThreads", maxThreads == null ? null : (long) maxThreads.value());
+        server.put("peakBusyThreads", (long) peakBusyThreads);
+        server.put("peakHeapUsedBytes", peakHeap);
+
+        Map<String, Object> gc = new LinkedHashMap<>();
+        long collections = 0;
+        long pauseMillis = 0;
+        Map<String, Object> collectors = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : gcAfter.entrySet()) {
+            long[] before = gcBefore.getOrDefault(entry.getKey(), new long[2]);
+            Map<String, Object> collector = new LinkedHashMap<>();
+            collector.put("collections", entry.getValue()[0] - before[0]);
+            collector.put("timeMillis", entry.getValue()[1] - before[1]);
+            collectors.put(entry.getKey(), collector);
+            collections += entry.getValue()[0] - before[0];
+            pauseMillis += entry.getValue()[1] - before[1];
+        }
+        gc.put("collections", collections);
+        gc.put("timeMillis", pauseMillis);
+        gc.put("collectors", collectors);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("errors", errors.get());
+        result.put("latency", latency);
+        result.put("server", server);
+        result.put("gc", gc);
+        return result;
+    }
+
+    /**
+     * One client: sends requests back to back until the window closes, recording those started inside it.
+     */
+    private Map<String, Histogram> client(URL url, Map<String, List<String[]>> pairs, Random random, long measureFrom, long measureTo) {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        for (String size : SIZES) {
+            histograms.put(size, new Histogram(3));
+        }
+        byte[] buffer = new byte[64 * 1024];
+        long now;
+        while ((now = System.nanoTime()) < measureTo) {
+            String size = random.nextDouble() < largeShare ? "large" : "small";
+            List<String[]> candidates = pairs.get(size);
+            String[] pair = candidates.get(random.nextInt(candidates.size()));
+            boolean ok = send(url, pair, buffer);
+            long elapsed = System.nanoTime() - now;
+            if (now >= measureFrom) {
+                if (ok) {
+                    histograms.get(size).recordValue(TimeUnit.NANOSECONDS.toMicros(elapsed));
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+        return histograms;
+    }
+
+    private boolean send(URL url, String[] pair, byte[] buffer) {
+        HttpURLConnection connection = null;
+        try {
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("sourcePath", pair[0]);
+            body.put("targetPath", pair[1]);
+            byte[] payload = mapper.writeValueAsBytes(body);
+
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            connection.setFixedLengthStreamingMode(payload.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(payload);
+            }
+            int status = connection.getResponseCode();
+            // Responses are read to the end so the connection is kept alive for the next request.
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (in != null) {
+                    while (in.read(buffer) >= 0) {
+                        // drain
+                    }
+                }
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                firstError.compareAndSet(null, "HTTP " + status + " for " + pair[0]);
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            firstError.compareAndSet(null, e.toString());
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return false;
+        }
+    }
+
+    private Map<String, Object> summary(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = histogram.getTotalCount();
+        summary.put("requests", count);
+        summary.put("throughputPerSecond", round((double) count / durationSeconds));
+        summary.put("minMillis", millis(count == 0 ? 0 : histogram.getMinValue()));
+        summary.put("meanMillis", round(histogram.getMean() / 1000));
+        summary.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p90Millis", millis(histogram.getValueAtPercentile(90)));
+        summary.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Millis", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMillis", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    /**
+     * The full distribution in HdrHistogram's percentile format next to the report, in milliseconds.
+     */
+    private void writeDistribution(String name, Histogram histogram) throws IOException {
+        Path file = report.toAbsolutePath().resolveSibling(name + ".hgrm");
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private Map<String, Object> settings(List<String> appArgs) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("concurrency", concurrency);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("largeShare", largeShare);
+        settings.put("seed", seed);
+        settings.put("applicationArguments", appArgs);
+        return settings;
+    }
+
+    private static Map<String, Object> environment() {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("javaVm", System.getProperty("java.vm.name"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        environment.put("jvmArguments", ManagementFactory.getRuntimeMXBean().getInputArguments());
+        return environment;
+    }
+
+    private static Map<String, long[]> gcCounters() {
+        Map<String, long[]> counters = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            counters.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+        }
+        return counters;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static void deleteAll(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+}
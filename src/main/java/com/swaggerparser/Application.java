@@ -1,9 +1,12 @@
 package com.swaggerparser;
 
+import com.swaggerparser.config.SpecParserProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(SpecParserProperties.class)
 public class Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,214 @@
+package com.swaggerparser.cli;
+
+import com.swaggerparser.config.ExecutorConfig;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.Severity;
+import com.swaggerparser.dto.SpecCompareRequest;
+import com.swaggerparser.service.CompareMetrics;
+import com.swaggerparser.service.ComparisonResultCache;
+import com.swaggerparser.service.OpenApiSpecCompareService;
+import com.swaggerparser.service.SpecParseCache;
+import com.swaggerparser.service.RuleRegistry;
+import com.swaggerparser.service.SpecPreScanner;
+import com.swaggerparser.service.SpecRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares two specs without starting Spring. Exits with 0 when there are no major changes, 1 when there are and
+ * 2 on errors. From the packaged jar:
+ * <pre>
+ * java -Dloader.main=com.swaggerparser.cli.CompareCli -cp spec-parser.jar org.springframework.boot.loader.PropertiesLauncher \
+ *     [--json] [--port N] [--rule-set NAME] [--disable RULE]... [--include PATH]... [--exclude PATH]... [--detect-renames] source target
+ * java ... --serve --port N
+ * </pre>
+ * With {@code --port}, the comparison is sent to a daemon started with {@code --serve} on that port, which keeps its
+ * JVM and caches warm between calls; when none is listening, or its token file cannot be read, the comparison runs in
+ * process.
+ */
+public class CompareCli {
+
+    static final int COMPATIBLE = 0;
+    static final int BREAKING = 1;
+    static final int FAILED = 2;
+
+    public static void main(String[] args) throws Exception {
+        quietLogging();
+        int status = run(args, System.out, System.err);
+        if (status >= 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * @return the exit status, or -1 when a daemon was started and the JVM should keep running
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) throws IOException {
+        boolean json = false;
+        boolean serve = false;
+        boolean detectRenames = false;
+        Integer port = null;
+        String ruleSet = null;
+        List<String> disabledRules = new ArrayList<>();
+        List<String> includePaths = new ArrayList<>();
+        List<String> excludePaths = new ArrayList<>();
+        List<String> locations = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--json":
+                    json = true;
+                    break;
+                case "--serve":
+                    serve = true;
+                    break;
+                case "--detect-renames":
+                    detectRenames = true;
+                    break;
+                case "--port":
+                    if (i + 1 == args.length) {
+                        return usage(err);
+                    }
+                    try {
+                        port = Integer.valueOf(args[++i]);
+                    } catch (NumberFormatException e) {
+                        return usage(err);
+                    }
+                    break;
+                case "--rule-set":
+                    if (i + 1 == args.length) {
+                        return usage(err);
+                    }
+                    ruleSet = args[++i];
+                    break;
+                case "--disable":
+                    if (i + 1 == args.length) {
+                        return usage(err);
+                    }
+                    disabledRules.add(args[++i]);
+                    break;
+                case "--include":
+                    if (i + 1 == args.length) {
+                        return usage(err);
+                    }
+                    includePaths.add(args[++i]);
+                    break;
+                case "--exclude":
+                    if (i + 1 == args.length) {
+                        return usage(err);
+                    }
+                    excludePaths.add(args[++i]);
+                    break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        return usage(err);
+                    }
+                    locations.add(args[i]);
+            }
+        }
+
+        if (serve) {
+            if (port == null || !locations.isEmpty()) {
+                return usage(err);
+            }
+            CompareDaemon daemon;
+            try {
+                daemon = CompareDaemon.start(newService(), port);
+            } catch (IOException e) {
+                err.println("Unable to listen on port " + port + ": " + e.getMessage());
+                return FAILED;
+            }
+            err.println("Listening on 127.0.0.1:" + daemon.getPort());
+            return -1;
+        }
+        if (locations.size() != 2) {
+            return usage(err);
+        }
+
+        SpecCompareRequest request = new SpecCompareRequest();
+        request.setSourcePath(absolute(locations.get(0)));
+        request.setTargetPath(absolute(locations.get(1)));
+        request.setRuleSet(ruleSet);
+        request.setDisabledRules(disabledRules);
+        request.setIncludePaths(includePaths);
+        request.setExcludePaths(excludePaths);
+        request.setDetectRenames(detectRenames);
+        BreakingChange result;
+        try {
+            result = compare(request, port);
+        } catch (RuntimeException e) {
+            err.println("Comparison failed: " + e.getMessage());
+            return FAILED;
+        }
+
+        if (json) {
+            out.println(CompareDaemon.MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+        } else {
+            for (Finding finding : result.getFindings()) {
+                out.println(finding.getSeverity() + "\t" + finding.getCode() + "\t" + finding.getMessage());
+            }
+            out.println(result.getMajorChanges().size() + " major, " + result.getMinorChanges().size() + " minor changes");
+        }
+        return result.getFindings().stream().anyMatch(f -> f.getSeverity() == Severity.MAJOR) ? BREAKING : COMPATIBLE;
+    }
+
+    private static BreakingChange compare(SpecCompareRequest request, Integer port) {
+        if (port != null) {
+            try {
+                return CompareDaemon.call(port, request);
+            } catch (IOException e) {
+                // No daemon listening, compare in process.
+            }
+        }
+        return newService().analyzeBreakingChanges(request.getSourcePath(), request.getTargetPath(), request.toOptions());
+    }
+
+    static OpenApiSpecCompareService newService() {
+        SpecParserProperties properties = new SpecParserProperties();
+        SpecParseCache cache = new SpecParseCache(properties);
+        return new OpenApiSpecCompareService(cache, properties, ExecutorConfig.newDiffPool(properties.getDiff()), CompareMetrics.noop(),
+                new ComparisonResultCache(properties, CompareMetrics.noop()), new SpecPreScanner(properties), Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "spec-load");
+            thread.setDaemon(true);
+            return thread;
+        }), new RuleRegistry(properties, CompareMetrics.noop()), new SpecRegistry(properties, cache, CompareMetrics.noop()));
+    }
+
+    /**
+     * The daemon may run in another directory, so file paths are made absolute before they are sent. A registered
+     * {@code name@version} is left as is unless a file of that name exists here.
+     */
+    static String absolute(String location) {
+        if (location.contains("://") || location.startsWith("file:")
+                || SpecRegistry.isReference(location) && !Files.exists(Paths.get(location))) {
+            return location;
+        }
+        return Paths.get(location).toAbsolutePath().toString();
+    }
+
+    private static int usage(PrintStream err) {
+        err.println("Usage: CompareCli [--json] [--port N] [--rule-set NAME] [--disable RULE]... [--include PATH]... [--exclude PATH]... [--detect-renames] <source> <target>");
+        err.println("       CompareCli --serve --port N");
+        return FAILED;
+    }
+
+    /**
+     * Without Spring Boot's logging setup, Logback logs everything at DEBUG to stdout, which would mix with the report.
+     */
+    private static void quietLogging() {
+        Logger root = LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (root instanceof ch.qos.logback.classic.Logger) {
+            ((ch.qos.logback.classic.Logger) root).setLevel(ch.qos.logback.classic.Level.WARN);
+        }
+    }
+
+}
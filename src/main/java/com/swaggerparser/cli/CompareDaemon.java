@@ -0,0 +1,231 @@
+package com.swaggerparser.cli;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.SpecCompareRequest;
+import com.swaggerparser.service.OpenApiSpecCompareService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a warm comparison service, with its parse and result caches, behind a loopback TCP port. Each connection
+ * carries a token line and one request line, a {@link SpecCompareRequest} as JSON, and gets one response line back:
+ * the {@link BreakingChange} as JSON, or {@code {"error": "..."}}. Locations are read as the daemon's user, so the
+ * token is random per start and written to a file only that user can read, which keeps other local users from having
+ * the daemon read files for them; relative paths resolve against the daemon's working directory, so clients send
+ * absolute paths. Request lines are bounded in length and must arrive within {@link #READ_TIMEOUT_MILLIS}.
+ */
+@Slf4j
+public class CompareDaemon implements Closeable {
+
+    static final ObjectMapper MAPPER = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    static final Path TOKEN_DIRECTORY = Paths.get(System.getProperty("user.home"), ".spec-parser");
+    static final int READ_TIMEOUT_MILLIS = 10_000;
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final OpenApiSpecCompareService service;
+    private final ServerSocket serverSocket;
+    private final byte[] token;
+    private final Path tokenFile;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "spec-daemon-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CompareDaemon(OpenApiSpecCompareService service, ServerSocket serverSocket, byte[] token, Path tokenFile) {
+        this.service = service;
+        this.serverSocket = serverSocket;
+        this.token = token;
+        this.tokenFile = tokenFile;
+    }
+
+    /**
+     * Binds {@code port} on the loopback interface (0 picks a free one), writes the token clients must present and
+     * accepts connections on a new thread, which keeps the JVM alive until {@link #close()}.
+     */
+    public static CompareDaemon start(OpenApiSpecCompareService service, int port) throws IOException {
+        return start(service, port, TOKEN_DIRECTORY);
+    }
+
+    static CompareDaemon start(OpenApiSpecCompareService service, int port, Path tokenDirectory) throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            byte[] token = Base64.getUrlEncoder().withoutPadding().encode(random);
+            Path tokenFile = writeToken(tokenFile(tokenDirectory, serverSocket.getLocalPort()), token);
+            CompareDaemon daemon = new CompareDaemon(service, serverSocket, token, tokenFile);
+            new Thread(daemon::acceptLoop, "spec-daemon").start();
+            return daemon;
+        } catch (IOException | RuntimeException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        Files.deleteIfExists(tokenFile);
+    }
+
+    /**
+     * Sends {@code request} to a daemon on {@code port}.
+     *
+     * @throws IOException when no daemon is listening, its token file cannot be read or the connection breaks
+     * @throws IllegalStateException when the daemon reports that the comparison failed
+     */
+    public static BreakingChange call(int port, SpecCompareRequest request) throws IOException {
+        return call(port, request, TOKEN_DIRECTORY);
+    }
+
+    static BreakingChange call(int port, SpecCompareRequest request, Path tokenDirectory) throws IOException {
+        byte[] token = Files.readAllBytes(tokenFile(tokenDirectory, port));
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(token);
+            out.write('\n');
+            out.write(MAPPER.writeValueAsBytes(request));
+            out.write('\n');
+            out.flush();
+            String line = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+            if (line == null) {
+                throw new IOException("Daemon on port " + port + " closed the connection");
+            }
+            JsonNode response = MAPPER.readTree(line);
+            if (response.has("error")) {
+                throw new IllegalStateException(response.get("error").asText());
+            }
+            return MAPPER.treeToValue(response, BreakingChange.class);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                // closed
+            } catch (IOException e) {
+                log.warn("Daemon failed to accept a connection", e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket) {
+            s.setSoTimeout(READ_TIMEOUT_MILLIS);
+            InputStream in = new BufferedInputStream(s.getInputStream());
+            byte[] response;
+            try {
+                // Both lines are read before either is checked, so a rejected client is not reset with its request unread.
+                byte[] presented = readLine(in);
+                byte[] line = readLine(in);
+                if (!MessageDigest.isEqual(token, presented)) {
+                    throw new IllegalStateException("Invalid daemon token");
+                }
+                SpecCompareRequest request = MAPPER.readValue(line, SpecCompareRequest.class);
+                response = MAPPER.writeValueAsBytes(service.analyzeBreakingChanges(request.getSourcePath(), request.getTargetPath(), request.toOptions()));
+            } catch (Exception e) {
+                ObjectNode error = MAPPER.createObjectNode().put("error", String.valueOf(e.getMessage()));
+                response = MAPPER.writeValueAsBytes(error);
+            }
+            OutputStream out = s.getOutputStream();
+            out.write(response);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            log.debug("Daemon connection failed", e);
+        }
+    }
+
+    /**
+     * Reads up to the next newline, which is not included.
+     *
+     * @throws IOException when the line is longer than {@link #MAX_LINE_BYTES}, the stream ends first or the read
+     *                     times out
+     */
+    private static byte[] readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("Connection closed before the end of the line");
+            }
+            if (line.size() == MAX_LINE_BYTES) {
+                throw new IOException("Request line longer than " + MAX_LINE_BYTES + " bytes");
+            }
+            line.write(b);
+        }
+        return line.toByteArray();
+    }
+
+    private static Path tokenFile(Path tokenDirectory, int port) {
+        return tokenDirectory.resolve("daemon-" + port + ".token");
+    }
+
+    /**
+     * Writes the token readable by the owner only; where POSIX permissions are not supported, the file's
+     * permissions are narrowed after creation instead.
+     */
+    private static Path writeToken(Path file, byte[] token) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp;
+        if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            File tempFile = temp.toFile();
+            tempFile.setReadable(false, false);
+            tempFile.setWritable(false, false);
+            tempFile.setReadable(true, true);
+            tempFile.setWritable(true, true);
+        }
+        try {
+            Files.write(temp, token);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return file;
+    }
+
+}
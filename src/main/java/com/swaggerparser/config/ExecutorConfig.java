@@ -0,0 +1,75 @@
+package com.swaggerparser.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool diffPool(SpecParserProperties properties) {
+        return newDiffPool(properties.getDiff());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService compareExecutor(SpecParserProperties properties) {
+        int workers = properties.getBatch().getWorkers();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), namedThreads("spec-compare-"));
+    }
+
+    /**
+     * Writes streamed comparisons, apart from batch work so a long stream does not hold up batches and a burst of
+     * batches does not stall open streams. Its queue is bounded; a stream it can not take is rejected.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor streamExecutor(SpecParserProperties properties) {
+        SpecParserProperties.Streaming config = properties.getStreaming();
+        return new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), namedThreads("spec-stream-"));
+    }
+
+    /**
+     * Loads the target side of a comparison while the calling thread loads the source. Each comparison borrows at
+     * most one thread, so the pool is bounded by the callers.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService loadExecutor() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), namedThreads("spec-load-"));
+    }
+
+    /**
+     * Runs comparison jobs. Which waiting job a worker starts is decided by the job service when the worker takes a
+     * task; the queue orders tasks, so it only accepts {@link Comparable} ones passed to {@code execute}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor jobExecutor(SpecParserProperties properties) {
+        int workers = properties.getJobs().getWorkers();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), namedThreads("spec-job-"));
+    }
+
+    public static ForkJoinPool newDiffPool(SpecParserProperties.Diff config) {
+        int parallelism = config.getParallelism() > 0 ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+
+    static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
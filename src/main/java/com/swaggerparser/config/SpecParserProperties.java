@@ -0,0 +1,300 @@
+package com.swaggerparser.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "spec-parser")
+public class SpecParserProperties {
+
+    private ParseCache parseCache = new ParseCache();
+    private Diff diff = new Diff();
+    private Batch batch = new Batch();
+    private Streaming streaming = new Streaming();
+    private Jobs jobs = new Jobs();
+    private ResultCache resultCache = new ResultCache();
+    private PreScan preScan = new PreScan();
+    private History history = new History();
+    private HttpCache httpCache = new HttpCache();
+    private Projection projection = new Projection();
+    private Upload upload = new Upload();
+    private Rules rules = new Rules();
+    private Renames renames = new Renames();
+    private Results results = new Results();
+    private Registry registry = new Registry();
+
+    @Setter
+    @Getter
+    public static class ParseCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Upper bound for the summed size (in bytes) of the source documents whose parsed models are retained.
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Diff {
+
+        private boolean parallel = true;
+
+        /**
+         * Worker threads used for parallel diffs; 0 means one per available processor.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Minimum number of independent diff tasks (path operations or component schemas) before work is forked.
+         */
+        private int parallelThreshold = 32;
+
+        /**
+         * Skip path items, operations, bodies, responses and schemas whose structural hashes match on both sides.
+         */
+        private boolean fingerprints = true;
+
+        /**
+         * How many levels of nested properties, items and composed schemas below a schema are diffed.
+         */
+        private int maxSchemaDepth = 32;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Batch {
+
+        private int workers = 4;
+        private int maxPairs = 500;
+
+    }
+
+    /**
+     * Streamed comparisons (NDJSON and server-sent events), which hold their connection open until they finish.
+     */
+    @Setter
+    @Getter
+    public static class Streaming {
+
+        private int workers = 4;
+
+        /**
+         * Streams allowed to wait for a worker; requests beyond this are rejected with 503.
+         */
+        private int queueCapacity = 50;
+
+        /**
+         * How long a stream may take before it is ended.
+         */
+        private Duration timeout = Duration.ofMinutes(5);
+
+    }
+
+    @Setter
+    @Getter
+    public static class Jobs {
+
+        private int workers = 2;
+
+        /**
+         * Jobs allowed to wait for a worker; submissions beyond this are rejected with 429.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Upper bound for the summed estimated size (in bytes) of the specs of all waiting jobs.
+         */
+        private long maxQueuedBytes = 256L * 1024 * 1024;
+
+        /**
+         * Weight assumed for a spec whose size can not be determined up front, e.g. a remote URL.
+         */
+        private long defaultSpecBytes = 1024 * 1024;
+
+        /**
+         * Times a waiting job may be passed over for a lighter one submitted after it before it is started next.
+         */
+        private int maxOvertakes = 20;
+
+        /**
+         * How long a job may run, counted from when a worker picks it up.
+         */
+        private Duration timeout = Duration.ofMinutes(5);
+        private Duration maxTimeout = Duration.ofMinutes(30);
+
+        /**
+         * How long a finished job's result stays available for polling.
+         */
+        private Duration retention = Duration.ofMinutes(15);
+
+    }
+
+    @Setter
+    @Getter
+    public static class ResultCache {
+
+        private boolean enabled = true;
+        private int maxEntries = 1000;
+
+        /**
+         * Directory for results that should survive restarts; the on-disk tier is off when unset.
+         */
+        private String directory;
+
+        /**
+         * Size the directory is kept under; the results used longest ago are deleted first.
+         */
+        private long maxDirectoryBytes = 256L * 1024 * 1024;
+
+    }
+
+    @Setter
+    @Getter
+    public static class PreScan {
+
+        private boolean enabled = true;
+
+        /**
+         * Combined size of the two documents from which they are pre-scanned and only their changed regions parsed.
+         */
+        private long minBytes = 8L * 1024 * 1024;
+
+    }
+
+    @Setter
+    @Getter
+    public static class History {
+
+        /**
+         * Longest version list accepted; a matrix request runs n * (n - 1) / 2 comparisons, which must also stay
+         * within {@code batch.max-pairs}.
+         */
+        private int maxVersions = 50;
+
+    }
+
+    @Setter
+    @Getter
+    public static class HttpCache {
+
+        private boolean enabled = true;
+
+        /**
+         * Where remote specs and the files they reference are mirrored between fetches.
+         */
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "spec-parser", "http-cache").toString();
+
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout = Duration.ofSeconds(60);
+
+        /**
+         * Referenced files read at the same time while a spec is fetched.
+         */
+        private int referenceThreads = 8;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Projection {
+
+        /**
+         * Parse only what the comparison reads, dropping descriptions, examples, extensions, servers, tags and
+         * external docs while the document is read.
+         */
+        private boolean enabled = true;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Upload {
+
+        /**
+         * Largest uploaded spec accepted, counted after gzip decompression.
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Rules {
+
+        /**
+         * Named rule sets a request can select with {@code ruleSet}. Entries are rule ids, or {@code prefix.*} for
+         * every rule of a group; the set {@code all} is always defined.
+         */
+        private Map<String, List<String>> sets = new LinkedHashMap<>();
+
+    }
+
+    @Setter
+    @Getter
+    public static class Renames {
+
+        /**
+         * Least Jaccard similarity of the structural features of a removed and an added path, schema or property
+         * for them to be reported as a rename.
+         */
+        private double threshold = 0.7;
+
+        /**
+         * Subtrees with fewer features, such as plain string properties, are too alike to pair and are never
+         * matched.
+         */
+        private int minFeatures = 3;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Results {
+
+        /**
+         * Stored comparisons kept at once; the oldest is dropped when another is stored.
+         */
+        private int maxEntries = 100;
+
+        /**
+         * How long a stored comparison stays available for paging.
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        private int defaultPageSize = 200;
+        private int maxPageSize = 5000;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Registry {
+
+        private boolean enabled = true;
+
+        /**
+         * Where the compiled snapshots of registered specs are kept across restarts.
+         */
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "spec-parser", "registry").toString();
+
+        /**
+         * Upper bound for the summed source size (in bytes) of the registered specs kept decoded in memory; the
+         * least recently compared are dropped and decoded from their snapshot again when next needed.
+         */
+        private long maxLoadedBytes = 64L * 1024 * 1024;
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.swaggerparser.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolExecutor streamExecutor;
+    private final SpecParserProperties properties;
+
+    public WebConfig(@Qualifier("streamExecutor") ThreadPoolExecutor streamExecutor, SpecParserProperties properties) {
+        this.streamExecutor = streamExecutor;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(streamExecutor));
+        configurer.setDefaultTimeout(properties.getStreaming().getTimeout().toMillis());
+    }
+
+}
@@ -1,14 +1,65 @@
 package com.swaggerparser.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BatchCompareRequest;
+import com.swaggerparser.dto.BatchCompareResponse;
 import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.CompareJobResponse;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.FindingPage;
+import com.swaggerparser.dto.HistoryCompareRequest;
+import com.swaggerparser.dto.HistoryCompareResponse;
+import com.swaggerparser.dto.ParseCacheStats;
+import com.swaggerparser.dto.RegisterSpecRequest;
+import com.swaggerparser.dto.RegisteredSpecResponse;
+import com.swaggerparser.dto.RuleStats;
+import com.swaggerparser.dto.Severity;
 import com.swaggerparser.dto.SpecCompareRequest;
+import com.swaggerparser.dto.StoredResultResponse;
+import com.swaggerparser.service.BatchCompareService;
+import com.swaggerparser.service.CompareJobService;
+import com.swaggerparser.service.ComparisonControl;
+import com.swaggerparser.service.HistoryCompareService;
 import com.swaggerparser.service.OpenApiSpecCompareService;
+import com.swaggerparser.service.ParsedSpec;
+import com.swaggerparser.service.ResultStore;
+import com.swaggerparser.service.SpecDocument;
+import com.swaggerparser.service.SpecParseCache;
+import com.swaggerparser.service.SpecRegistry;
+import com.swaggerparser.service.SpecUploadReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RequestMapping("/open-api-spec")
 @RestController
@@ -17,10 +68,219 @@ public class OpenApiSpecCompareApi {
     @Autowired
     private OpenApiSpecCompareService openApiSpecCompareService;
 
-    @PostMapping("/compare")
+    @Autowired
+    private BatchCompareService batchCompareService;
+
+    @Autowired
+    private CompareJobService compareJobService;
+
+    @Autowired
+    private HistoryCompareService historyCompareService;
+
+    @Autowired
+    private ResultStore resultStore;
+
+    @Autowired
+    private SpecParseCache specParseCache;
+
+    @Autowired
+    private SpecRegistry specRegistry;
+
+    @Autowired
+    private SpecUploadReader specUploadReader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("streamExecutor")
+    private ThreadPoolExecutor streamExecutor;
+
+    @Autowired
+    private SpecParserProperties properties;
+
+    @PostMapping(value = "/compare", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<BreakingChange> compare(@RequestBody SpecCompareRequest request) {
-        return ResponseEntity.ok(openApiSpecCompareService.analyzeBreakingChanges(request.getSourcePath(), request.getTargetPath()));
+        return ResponseEntity.ok(openApiSpecCompareService.analyzeBreakingChanges(request.getSourcePath(), request.getTargetPath(), request.toOptions()));
+
+    }
+
+    @PostMapping(value = "/compare", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> compareNdjson(@RequestBody SpecCompareRequest request) {
+        ObjectWriter writer = objectMapper.writerFor(Finding.class);
+        StreamingResponseBody body = out -> openApiSpecCompareService.streamBreakingChanges(request.getSourcePath(), request.getTargetPath(), request.toOptions(), finding -> {
+            try {
+                out.write(writer.writeValueAsBytes(finding));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping(value = "/compare", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter compareEvents(@RequestBody SpecCompareRequest request) {
+        SseEmitter emitter = new SseEmitter(properties.getStreaming().getTimeout().toMillis());
+        streamExecutor.execute(() -> {
+            AtomicInteger count = new AtomicInteger();
+            try {
+                openApiSpecCompareService.streamBreakingChanges(request.getSourcePath(), request.getTargetPath(), request.toOptions(), finding -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("finding").data(finding, MediaType.APPLICATION_JSON));
+                        count.incrementAndGet();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.send(SseEmitter.event().name("complete").data(count.get()));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    @PostMapping(value = "/compare/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BreakingChange> compareUpload(@RequestPart("source") MultipartFile source,
+                                                        @RequestPart("target") MultipartFile target,
+                                                        ComparisonOptions options) throws IOException {
+        return ResponseEntity.ok(openApiSpecCompareService.analyzeBreakingChanges(
+                specUploadReader.read("source", source.getInputStream()), specUploadReader.read("target", target.getInputStream()),
+                options));
+    }
+
+    /**
+     * The body holds one spec, raw or gzip-compressed; the other side is named by exactly one of the parameters, as
+     * a location or a registered {@code name@version}. Comparison options are read from the remaining query
+     * parameters.
+     */
+    @PostMapping(value = "/compare/upload", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BreakingChange> compareUploadRaw(HttpServletRequest request,
+                                                           @RequestParam(required = false) String sourcePath,
+                                                           @RequestParam(required = false) String targetPath,
+                                                           ComparisonOptions options) throws IOException {
+        if ((sourcePath == null) == (targetPath == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of sourcePath and targetPath is required");
+        }
+        BreakingChange result;
+        if (sourcePath != null) {
+            SpecDocument target = specUploadReader.read("target", request.getInputStream());
+            ParsedSpec registered = specRegistry.find(sourcePath);
+            result = registered != null
+                    ? openApiSpecCompareService.analyzeBreakingChanges(registered, specParseCache.load(target), options, ComparisonControl.unbounded())
+                    : openApiSpecCompareService.analyzeBreakingChanges(specParseCache.fetch(sourcePath), target, options);
+        } else {
+            SpecDocument source = specUploadReader.read("source", request.getInputStream());
+            ParsedSpec registered = specRegistry.find(targetPath);
+            result = registered != null
+                    ? openApiSpecCompareService.analyzeBreakingChanges(specParseCache.load(source), registered, options, ComparisonControl.unbounded())
+                    : openApiSpecCompareService.analyzeBreakingChanges(source, specParseCache.fetch(targetPath), options);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/compare/jobs")
+    public ResponseEntity<CompareJobResponse> submitJob(@RequestBody SpecCompareRequest request,
+                                                        @RequestParam(required = false) Duration timeout) {
+        CompareJobResponse job = compareJobService.submit(request, timeout);
+        return ResponseEntity.accepted().location(URI.create("/open-api-spec/compare/jobs/" + job.getId())).body(job);
+    }
+
+    @GetMapping("/compare/jobs/{id}")
+    public ResponseEntity<CompareJobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(compareJobService.get(id));
+    }
+
+    @DeleteMapping("/compare/jobs/{id}")
+    public ResponseEntity<CompareJobResponse> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(compareJobService.cancel(id));
+    }
+
+    /**
+     * Compares and keeps the result server side; its findings are then read page by page.
+     */
+    @PostMapping("/compare/results")
+    public ResponseEntity<StoredResultResponse> storeResult(@RequestBody SpecCompareRequest request) {
+        BreakingChange result = openApiSpecCompareService.analyzeBreakingChanges(request.getSourcePath(), request.getTargetPath(), request.toOptions());
+        StoredResultResponse stored = resultStore.store(request.getSourcePath(), request.getTargetPath(), result);
+        return ResponseEntity.created(URI.create("/open-api-spec/compare/results/" + stored.getId())).body(stored);
+    }
+
+    @GetMapping("/compare/results/{id}")
+    public ResponseEntity<StoredResultResponse> getResult(@PathVariable String id) {
+        return ResponseEntity.ok(resultStore.get(id));
+    }
+
+    @GetMapping("/compare/results/{id}/findings")
+    public ResponseEntity<FindingPage> getFindings(@PathVariable String id,
+                                                   @RequestParam(required = false) Severity severity,
+                                                   @RequestParam(required = false) String pathPrefix,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(resultStore.page(id, severity, pathPrefix, cursor, limit));
+    }
+
+    @DeleteMapping("/compare/results/{id}")
+    public ResponseEntity<Void> deleteResult(@PathVariable String id) {
+        resultStore.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/compare/batch")
+    public ResponseEntity<BatchCompareResponse> compareBatch(@RequestBody BatchCompareRequest request) {
+        return ResponseEntity.ok(batchCompareService.compare(request));
+    }
+
+    @PostMapping("/compare/history")
+    public ResponseEntity<HistoryCompareResponse> compareHistory(@RequestBody HistoryCompareRequest request) {
+        return ResponseEntity.ok(historyCompareService.compare(request));
+    }
+
+    /**
+     * Registers the spec at the given location as {@code name@version}, which compare requests can then use in
+     * place of a path.
+     */
+    @PutMapping("/registry/{name}/{version}")
+    public ResponseEntity<RegisteredSpecResponse> registerSpec(@PathVariable String name, @PathVariable String version,
+                                                               @RequestBody RegisterSpecRequest request) {
+        return ResponseEntity.ok(specRegistry.register(name, version, request.getLocation()));
+    }
+
+    @GetMapping("/registry")
+    public ResponseEntity<List<RegisteredSpecResponse>> listSpecs() {
+        return ResponseEntity.ok(specRegistry.list());
+    }
+
+    @GetMapping("/registry/{name}/{version}")
+    public ResponseEntity<RegisteredSpecResponse> getSpec(@PathVariable String name, @PathVariable String version) {
+        return ResponseEntity.ok(specRegistry.get(name, version));
+    }
+
+    @DeleteMapping("/registry/{name}/{version}")
+    public ResponseEntity<Void> deleteSpec(@PathVariable String name, @PathVariable String version) {
+        specRegistry.delete(name, version);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/parse-cache/stats")
+    public ResponseEntity<ParseCacheStats> parseCacheStats() {
+        return ResponseEntity.ok(specParseCache.getStats());
+    }
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<RuleStats>> ruleStats() {
+        return ResponseEntity.ok(openApiSpecCompareService.getRuleRegistry().getStats());
+    }
 
+    /**
+     * The stream executor's queue is full, whether the stream was handed to it here or by Spring MVC.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> streamRejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
 
 }
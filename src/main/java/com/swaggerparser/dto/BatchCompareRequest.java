@@ -0,0 +1,15 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class BatchCompareRequest {
+
+    private List<SpecCompareRequest> pairs = new ArrayList<>();
+
+}
@@ -0,0 +1,17 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class BatchCompareResponse {
+
+    private List<PairCompareResult> results = new ArrayList<>();
+    private int distinctSpecs;
+    private long durationMillis;
+
+}
@@ -1,27 +1,64 @@
 package com.swaggerparser.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Setter
 @Getter
 public class BreakingChange {
 
-    private List<String> majorChanges;
-    private List<String> minorChanges;
+    private List<Finding> findings;
 
     public BreakingChange() {
-        this.minorChanges = new ArrayList<>();
-        this.majorChanges = new ArrayList<>();
+        this.findings = new ArrayList<>();
+    }
+
+    /**
+     * Rendered messages of the major findings, kept for clients of the original string based output.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public List<String> getMajorChanges() {
+        return messages(Severity.MAJOR);
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public List<String> getMinorChanges() {
+        return messages(Severity.MINOR);
     }
 
     @JsonIgnore
     public boolean hasChanges() {
-        return !this.minorChanges.isEmpty() || !this.majorChanges.isEmpty();
+        return !this.findings.isEmpty();
+    }
+
+    public void add(Finding finding) {
+        this.findings.add(finding);
+    }
+
+    public void merge(BreakingChange other) {
+        this.findings.addAll(other.getFindings());
+    }
+
+    /**
+     * Copy of this result and of each of its findings.
+     */
+    public BreakingChange copy() {
+        BreakingChange copy = new BreakingChange();
+        this.findings.forEach(f -> copy.add(f.copy()));
+        return copy;
+    }
+
+    private List<String> messages(Severity severity) {
+        return findings.stream()
+                .filter(f -> f.getSeverity() == severity)
+                .map(Finding::getMessage)
+                .collect(Collectors.toList());
     }
 
 }
@@ -0,0 +1,85 @@
+package com.swaggerparser.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public enum ChangeCode {
+
+    PATH_ADDED(Severity.MAJOR, f -> "Added in target"),
+    PATH_REMOVED(Severity.MAJOR, f -> "Removed from target"),
+    PATH_RENAMED(Severity.MAJOR, f -> "Renamed in target from " + f.getSource()),
+    OPERATION_ADDED(Severity.MAJOR, f -> "Added " + f.getLocation().getMethod() + " Operation"),
+    OPERATION_REMOVED(Severity.MAJOR, f -> "Removed " + f.getLocation().getMethod() + " Operation"),
+    PARAMETERS_ADDED(Severity.MAJOR, f -> "Parameters added to Target: " + join(f.getAdded(), ", ")),
+    PARAMETERS_REMOVED(Severity.MAJOR, f -> "Parameters removed from Target: " + join(f.getRemoved(), ", ")),
+    PARAMETERS_REQUIRED_CHANGED(Severity.MAJOR, f -> requiredChange("Parameters", f)),
+    PARAMETER_LOCATION_CHANGED(Severity.MAJOR, f -> "Parameter is " + f.getSource() + " in source and " + f.getTarget() + " in target"),
+    TYPE_CHANGED(Severity.MAJOR, f -> f.getProperty() + " has type: " + f.getSource() + " in source and type: " + f.getTarget() + " in target"),
+    REF_CHANGED(Severity.MAJOR, f -> f.getProperty() + " has ref: " + f.getSource() + " in source and ref: " + f.getTarget() + " in target"),
+    ENUM_CHANGED(Severity.MAJOR, f -> "Enum: " + f.getProperty() + " has "
+            + (f.getAdded() != null && !f.getAdded().isEmpty() ? "New values: [" + join(f.getAdded(), " ") + "]" : "")
+            + (f.getRemoved() != null && !f.getRemoved().isEmpty() ? " Removed values: [" + join(f.getRemoved(), " ") + "]" : "")),
+    REQUEST_BODY_ADDED(Severity.MAJOR, f -> "Request body added on target"),
+    REQUEST_BODY_REMOVED(Severity.MAJOR, f -> "Request body removed from target"),
+    REQUEST_CONTENT_ADDED(Severity.MAJOR, f -> "Added in target"),
+    REQUEST_CONTENT_REMOVED(Severity.MAJOR, f -> "Removed from target"),
+    RESPONSES_ADDED(Severity.MAJOR, f -> "Response added to target"),
+    RESPONSES_REMOVED(Severity.MAJOR, f -> "Response removed from target"),
+    RESPONSE_ADDED(Severity.MAJOR, f -> "Added in target"),
+    RESPONSE_REMOVED(Severity.MAJOR, f -> "Removed from target"),
+    RESPONSE_CONTENT_ADDED(Severity.MAJOR, f -> "Added in target"),
+    RESPONSE_CONTENT_REMOVED(Severity.MAJOR, f -> "Removed from target"),
+    RESPONSE_CONTENT_CHANGED(Severity.MAJOR, f -> "Response content changed"),
+    SCHEMA_ADDED(Severity.MAJOR, f -> "Added in target"),
+    SCHEMA_REMOVED(Severity.MAJOR, f -> "Removed from target"),
+    SCHEMA_RENAMED(Severity.MINOR, f -> "Renamed in target from " + f.getSource()),
+    SCHEMA_MISSING_ON_SOURCE(Severity.MAJOR, f -> "Schema is missing on source"),
+    SCHEMA_MISSING_ON_TARGET(Severity.MAJOR, f -> "Schema is missing on target"),
+    PROPERTIES_ADDED(Severity.MINOR, f -> nested(f) + "Properties added to Target: " + join(f.getAdded(), ", ")),
+    PROPERTIES_DELETED(Severity.MINOR, f -> nested(f) + "Properties deleted from Target: " + join(f.getRemoved(), ", ")),
+    PROPERTY_RENAMED(Severity.MAJOR, f -> "Property " + f.getSource() + " renamed in Target: " + f.getTarget()),
+    PROPERTIES_REQUIRED_CHANGED(Severity.MAJOR, f -> nested(f) + requiredChange("Properties", f)),
+    SCHEMA_DEPTH_EXCEEDED(Severity.MINOR, f -> nested(f) + "Not compared below the maximum schema depth, nested schemas differ");
+
+    private final Severity severity;
+    private final Function<Finding, String> detail;
+
+    ChangeCode(Severity severity, Function<Finding, String> detail) {
+        this.severity = severity;
+        this.detail = detail;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public String detail(Finding finding) {
+        return detail.apply(finding);
+    }
+
+    private static String requiredChange(String placeholder, Finding finding) {
+        StringBuilder message = new StringBuilder();
+        if (finding.getAdded() != null && !finding.getAdded().isEmpty()) {
+            message.append(placeholder).append(" marked as required in target: [").append(join(finding.getAdded(), ", ")).append("].");
+        }
+        if (finding.getRemoved() != null && !finding.getRemoved().isEmpty()) {
+            if (message.length() > 0) {
+                message.append(' ');
+            }
+            message.append(placeholder).append(" marked as not required in target: [").append(join(finding.getRemoved(), ", ")).append("].");
+        }
+        return message.toString();
+    }
+
+    /**
+     * The dotted path of a finding made below the root of a schema, as the prefix of its message.
+     */
+    private static String nested(Finding finding) {
+        return finding.getProperty() == null ? "" : finding.getProperty() + ": ";
+    }
+
+    private static String join(List<String> values, String delimiter) {
+        return values == null ? "" : String.join(delimiter, values);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompareJobResponse {
+
+    private String id;
+    private JobStatus status;
+    private String sourcePath;
+    private String targetPath;
+    private long weight;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private BreakingChange result;
+    private String error;
+
+}
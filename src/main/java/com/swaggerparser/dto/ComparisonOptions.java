@@ -0,0 +1,78 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Settings a request can pick that change what a comparison reports. Two comparisons of the same documents with
+ * equal {@link #cacheKey()}, run under the same server settings and rules, produce the same result.
+ */
+@Setter
+@Getter
+public class ComparisonOptions {
+
+    /**
+     * Bumped whenever the findings produced for a given input change, so results stored by an older build are
+     * not served.
+     */
+    private static final int RESULT_VERSION = 4;
+
+    public static final String ALL_RULES = "all";
+
+    /**
+     * Name of the rule set to run, one of {@code spec-parser.rules.sets} or {@link #ALL_RULES}.
+     */
+    private String ruleSet = ALL_RULES;
+
+    /**
+     * Rule ids, or {@code prefix.*} patterns, left out of the selected set.
+     */
+    private List<String> disabledRules = new ArrayList<>();
+
+    /**
+     * Path prefixes to compare, all paths when empty. Only the component schemas the selected paths reach are
+     * compared.
+     */
+    private List<String> includePaths = new ArrayList<>();
+
+    /**
+     * Path prefixes left out of the comparison.
+     */
+    private List<String> excludePaths = new ArrayList<>();
+
+    /**
+     * Report removed paths, schemas and properties that reappear under another name with a similar structure as
+     * renames, and diff them against their new name, instead of as a removal and an addition.
+     */
+    private boolean detectRenames;
+
+    public static ComparisonOptions defaults() {
+        return new ComparisonOptions();
+    }
+
+    public boolean isScoped() {
+        return !includePaths.isEmpty() || !excludePaths.isEmpty();
+    }
+
+    public String cacheKey() {
+        StringBuilder key = new StringBuilder("v").append(RESULT_VERSION).append(':').append(ruleSet);
+        append(key, '-', disabledRules);
+        append(key, '+', includePaths);
+        append(key, '!', excludePaths);
+        if (detectRenames) {
+            key.append("~renames");
+        }
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, char prefix, List<String> values) {
+        if (!values.isEmpty()) {
+            key.append(prefix).append(String.join(",", new TreeSet<>(values)));
+        }
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.swaggerparser.dto;
+
+public enum Compatibility {
+
+    COMPATIBLE,
+    BREAKING,
+    ERROR
+
+}
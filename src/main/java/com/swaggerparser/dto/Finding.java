@@ -0,0 +1,95 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single change between source and target. Only the structured fields are kept; {@link #getMessage()} renders
+ * the human readable form on demand.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class Finding {
+
+    private ChangeCode code;
+    private Severity severity;
+    @JsonUnwrapped
+    private FindingLocation location;
+    private String property;
+    private String source;
+    private String target;
+    private List<String> added;
+    private List<String> removed;
+
+    public Finding(ChangeCode code, FindingLocation location) {
+        this.code = code;
+        this.severity = code.getSeverity();
+        this.location = location;
+    }
+
+    public static Finding of(ChangeCode code, FindingLocation location) {
+        return new Finding(code, location);
+    }
+
+    public Finding property(String property) {
+        this.property = property;
+        return this;
+    }
+
+    public Finding values(String source, String target) {
+        this.source = source;
+        this.target = target;
+        return this;
+    }
+
+    public Finding added(List<String> added) {
+        this.added = added;
+        return this;
+    }
+
+    public Finding removed(List<String> removed) {
+        this.removed = removed;
+        return this;
+    }
+
+    /**
+     * Copy of this finding reported at {@code location}, used when one diff result is attached in several places.
+     */
+    public Finding at(FindingLocation location) {
+        Finding copy = new Finding(code, location);
+        copy.severity = severity;
+        copy.property = property;
+        copy.source = source;
+        copy.target = target;
+        copy.added = added;
+        copy.removed = removed;
+        return copy;
+    }
+
+    /**
+     * Copy of this finding sharing nothing mutable with it, for results that outlive the comparison.
+     */
+    public Finding copy() {
+        Finding copy = at(location == null ? null : location.withSection(location.getSection()));
+        copy.added = added == null ? null : new ArrayList<>(added);
+        copy.removed = removed == null ? null : new ArrayList<>(removed);
+        return copy;
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getMessage() {
+        String detail = code.detail(this);
+        String prefix = location == null ? null : location.render(code != ChangeCode.OPERATION_ADDED && code != ChangeCode.OPERATION_REMOVED);
+        return prefix == null ? detail : prefix + ": " + detail;
+    }
+
+}
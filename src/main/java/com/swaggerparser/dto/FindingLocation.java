@@ -0,0 +1,75 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Where a finding was made. Instances are shared by every finding at the same place and are not modified once
+ * handed to a finding; the {@code with} methods return copies.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FindingLocation {
+
+    private Section section;
+    private String path;
+    private String method;
+    private String statusCode;
+    private String mediaType;
+    private String schema;
+
+    public static FindingLocation ofPath(String path) {
+        return new FindingLocation(Section.PATH, path, null, null, null, null);
+    }
+
+    public static FindingLocation ofOperation(String path, String method) {
+        return new FindingLocation(Section.OPERATION, path, method, null, null, null);
+    }
+
+    public static FindingLocation ofSchema(String schema) {
+        return new FindingLocation(Section.SCHEMA, null, null, null, null, schema);
+    }
+
+    public FindingLocation withSection(Section section) {
+        return new FindingLocation(section, path, method, statusCode, mediaType, schema);
+    }
+
+    public FindingLocation withStatusCode(String statusCode) {
+        return new FindingLocation(Section.RESPONSE, path, method, statusCode, mediaType, schema);
+    }
+
+    public FindingLocation withMediaType(String mediaType) {
+        return new FindingLocation(section, path, method, statusCode, mediaType, schema);
+    }
+
+    public FindingLocation withSchema(String schema) {
+        return new FindingLocation(section, path, method, statusCode, mediaType, schema);
+    }
+
+    /**
+     * The prefix of the rendered message, e.g. {@code /pets -> GET -> 200 -> application/json}.
+     */
+    public String render(boolean includeMethod) {
+        if (path == null) {
+            return schema;
+        }
+        StringBuilder prefix = new StringBuilder(path);
+        if (includeMethod && method != null) {
+            prefix.append(" -> ").append(method);
+        }
+        if (statusCode != null) {
+            prefix.append(" -> ").append(statusCode);
+        }
+        if (mediaType != null && section != Section.REQUEST_BODY) {
+            prefix.append(" -> ").append(mediaType);
+        }
+        return prefix.toString();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One slice of a stored result. {@code nextCursor} is absent on the last page.
+ */
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FindingPage {
+
+    private List<Finding> findings;
+    private String nextCursor;
+
+}
@@ -0,0 +1,24 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class HistoryCompareRequest {
+
+    /**
+     * Spec locations, oldest first.
+     */
+    private List<String> versions = new ArrayList<>();
+
+    /**
+     * Also compare every older version against every newer one, filling the upper triangle of the response's
+     * matrix. Counts against {@code batch.max-pairs} with the adjacent comparisons.
+     */
+    private boolean matrix;
+
+}
@@ -0,0 +1,37 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HistoryCompareResponse {
+
+    private List<String> versions = new ArrayList<>();
+
+    /**
+     * Comparison of each version with the next one.
+     */
+    private List<PairCompareResult> steps = new ArrayList<>();
+
+    /**
+     * {@code matrix[i][j]} tells whether clients of version {@code i} still work against version {@code j}. It is
+     * upper-triangular: every row has one cell per version, but only those with {@code i <= j} are filled, and
+     * cells below the diagonal are {@code null} because rolling back to an older version is not compared.
+     */
+    private List<List<Compatibility>> matrix;
+
+    /**
+     * Oldest version whose clients still work against the newest one.
+     */
+    private String oldestCompatibleWithLatest;
+
+    private int distinctSpecs;
+    private long durationMillis;
+
+}
@@ -0,0 +1,19 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PairCompareResult {
+
+    private String sourcePath;
+    private String targetPath;
+    private BreakingChange breakingChange;
+    private long parseMillis;
+    private long diffMillis;
+    private String error;
+
+}
@@ -0,0 +1,17 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ParseCacheStats {
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int entries;
+    private long bytes;
+    private long maxBytes;
+
+}
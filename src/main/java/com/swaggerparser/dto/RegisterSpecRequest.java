@@ -0,0 +1,12 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class RegisterSpecRequest {
+
+    private String location;
+
+}
@@ -0,0 +1,27 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RegisteredSpecResponse {
+
+    private String name;
+    private String version;
+
+    /**
+     * {@code name@version}, usable as a source or target path in compare requests.
+     */
+    private String reference;
+    private String location;
+    private String contentHash;
+    private long size;
+    private long snapshotBytes;
+    private Instant registeredAt;
+
+}
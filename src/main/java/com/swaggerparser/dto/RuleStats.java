@@ -0,0 +1,16 @@
+package com.swaggerparser.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class RuleStats {
+
+    private String id;
+    private String nodeType;
+    private long invocations;
+    private long findings;
+    private long totalMicros;
+
+}
@@ -0,0 +1,12 @@
+package com.swaggerparser.dto;
+
+public enum Section {
+
+    PATH,
+    OPERATION,
+    PARAMETER,
+    REQUEST_BODY,
+    RESPONSE,
+    SCHEMA
+
+}
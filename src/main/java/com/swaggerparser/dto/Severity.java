@@ -0,0 +1,8 @@
+package com.swaggerparser.dto;
+
+public enum Severity {
+
+    MAJOR,
+    MINOR
+
+}
@@ -3,11 +3,39 @@ package com.swaggerparser.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Setter
 @Getter
 public class SpecCompareRequest {
 
     private String sourcePath;
     private String targetPath;
+    private String ruleSet;
+    private List<String> disabledRules;
+    private List<String> includePaths;
+    private List<String> excludePaths;
+    private Boolean detectRenames;
+
+    public ComparisonOptions toOptions() {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        if (ruleSet != null) {
+            options.setRuleSet(ruleSet);
+        }
+        if (disabledRules != null) {
+            options.setDisabledRules(new ArrayList<>(disabledRules));
+        }
+        if (includePaths != null) {
+            options.setIncludePaths(new ArrayList<>(includePaths));
+        }
+        if (excludePaths != null) {
+            options.setExcludePaths(new ArrayList<>(excludePaths));
+        }
+        if (detectRenames != null) {
+            options.setDetectRenames(detectRenames);
+        }
+        return options;
+    }
 
 }
@@ -0,0 +1,23 @@
+package com.swaggerparser.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StoredResultResponse {
+
+    private String id;
+    private String sourcePath;
+    private String targetPath;
+    private int findings;
+    private int majorFindings;
+    private int minorFindings;
+    private Instant storedAt;
+    private Instant expiresAt;
+
+}
@@ -0,0 +1,118 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BatchCompareRequest;
+import com.swaggerparser.dto.BatchCompareResponse;
+import com.swaggerparser.dto.PairCompareResult;
+import com.swaggerparser.dto.SpecCompareRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class BatchCompareService {
+
+    private final SpecRegistry specRegistry;
+    private final OpenApiSpecCompareService openApiSpecCompareService;
+    private final ExecutorService compareExecutor;
+    private final SpecParserProperties.Batch config;
+
+    public BatchCompareService(SpecRegistry specRegistry, OpenApiSpecCompareService openApiSpecCompareService,
+                               @Qualifier("compareExecutor") ExecutorService compareExecutor, SpecParserProperties properties) {
+        this.specRegistry = specRegistry;
+        this.openApiSpecCompareService = openApiSpecCompareService;
+        this.compareExecutor = compareExecutor;
+        this.config = properties.getBatch();
+    }
+
+    public BatchCompareResponse compare(BatchCompareRequest request) {
+        return comparePairs(request.getPairs());
+    }
+
+    /**
+     * Compares every pair in parallel, loading each distinct location once. Results are in the order of
+     * {@code pairs}; a pair whose spec can not be loaded or compared carries an error instead of a result.
+     * More than {@code batch.max-pairs} pairs are rejected, whoever asks.
+     */
+    public BatchCompareResponse comparePairs(List<SpecCompareRequest> pairs) {
+        if (pairs.size() > config.getMaxPairs()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch has " + pairs.size() + " pairs, limit is " + config.getMaxPairs());
+        }
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<LoadedSpec>> specs = new HashMap<>();
+        for (SpecCompareRequest pair : pairs) {
+            specs.computeIfAbsent(pair.getSourcePath(), this::loadAsync);
+            specs.computeIfAbsent(pair.getTargetPath(), this::loadAsync);
+        }
+
+        List<CompletableFuture<PairCompareResult>> results = pairs.stream()
+                .map(pair -> comparePair(pair, specs.get(pair.getSourcePath()), specs.get(pair.getTargetPath())))
+                .collect(Collectors.toList());
+
+        BatchCompareResponse response = new BatchCompareResponse();
+        response.setResults(results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+        response.setDistinctSpecs(specs.size());
+        response.setDurationMillis(millisSince(start));
+        log.info("Compared {} pairs across {} distinct specs in {} ms", pairs.size(), specs.size(), response.getDurationMillis());
+        return response;
+    }
+
+    private CompletableFuture<LoadedSpec> loadAsync(String location) {
+        if (location == null) {
+            CompletableFuture<LoadedSpec> missing = new CompletableFuture<>();
+            missing.completeExceptionally(new IllegalArgumentException("Spec location is required"));
+            return missing;
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            ParsedSpec parsed = specRegistry.load(location);
+            return new LoadedSpec(parsed, millisSince(start));
+        }, compareExecutor);
+    }
+
+    private CompletableFuture<PairCompareResult> comparePair(SpecCompareRequest pair, CompletableFuture<LoadedSpec> source, CompletableFuture<LoadedSpec> target) {
+        PairCompareResult result = new PairCompareResult();
+        result.setSourcePath(pair.getSourcePath());
+        result.setTargetPath(pair.getTargetPath());
+
+        return source.thenCombineAsync(target, (src, tgt) -> {
+            result.setParseMillis(src.getMillis() + tgt.getMillis());
+            long start = System.nanoTime();
+            result.setBreakingChange(openApiSpecCompareService.analyzeBreakingChanges(src.getSpec(), tgt.getSpec(), pair.toOptions(), ComparisonControl.unbounded()));
+            result.setDiffMillis(millisSince(start));
+            return result;
+        }, compareExecutor).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Comparison of {} and {} failed", pair.getSourcePath(), pair.getTargetPath(), cause);
+            result.setError(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName());
+            return result;
+        });
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LoadedSpec {
+
+        private final ParsedSpec spec;
+        private final long millis;
+
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.FindingLocation;
+import com.swaggerparser.dto.Section;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The checks shipped with the service, in the order their findings are reported for a node.
+ */
+final class BuiltInRules {
+
+    private BuiltInRules() {
+    }
+
+    static void register(RuleRegistry registry) {
+        registry.<Set<String>>register("paths.added", NodeType.PATHS, (node, findings) ->
+                added(node.getSrc(), node.getTgt())
+                        .forEach(v -> findings.accept(Finding.of(ChangeCode.PATH_ADDED, FindingLocation.ofPath(v)))));
+        registry.<Set<String>>register("paths.removed", NodeType.PATHS, (node, findings) ->
+                added(node.getTgt(), node.getSrc())
+                        .forEach(v -> findings.accept(Finding.of(ChangeCode.PATH_REMOVED, FindingLocation.ofPath(v)))));
+        registry.<Set<String>>register("components.schema-added", NodeType.COMPONENTS, (node, findings) ->
+                added(node.getSrc(), node.getTgt())
+                        .forEach(v -> findings.accept(Finding.of(ChangeCode.SCHEMA_ADDED, FindingLocation.ofSchema(v)))));
+        registry.<Set<String>>register("components.schema-removed", NodeType.COMPONENTS, (node, findings) ->
+                added(node.getTgt(), node.getSrc())
+                        .forEach(v -> findings.accept(Finding.of(ChangeCode.SCHEMA_REMOVED, FindingLocation.ofSchema(v)))));
+
+        registry.<String>register("paths.renamed", NodeType.RENAMED_PATH, (node, findings) ->
+                findings.accept(Finding.of(ChangeCode.PATH_RENAMED, FindingLocation.ofPath(node.getTgt())).values(node.getSrc(), node.getTgt())));
+        registry.<String>register("components.schema-renamed", NodeType.RENAMED_SCHEMA, (node, findings) ->
+                findings.accept(Finding.of(ChangeCode.SCHEMA_RENAMED, FindingLocation.ofSchema(node.getTgt())).values(node.getSrc(), node.getTgt())));
+
+        registry.<CompiledOperation>register("operation.added", NodeType.OPERATION, (node, findings) -> {
+            if (node.getSrc() == null && node.getTgt() != null) {
+                findings.accept(Finding.of(ChangeCode.OPERATION_ADDED, node.getLocation()));
+            }
+        });
+        registry.<CompiledOperation>register("operation.removed", NodeType.OPERATION, (node, findings) -> {
+            if (node.getSrc() != null && node.getTgt() == null) {
+                findings.accept(Finding.of(ChangeCode.OPERATION_REMOVED, node.getLocation()));
+            }
+        });
+        registry.<CompiledOperation>register("operation.parameters-added", NodeType.OPERATION, (node, findings) -> {
+            if (node.bothPresent()) {
+                List<String> added = added(node.getSrc().getParameters().keySet(), node.getTgt().getParameters().keySet());
+                if (!added.isEmpty()) {
+                    findings.accept(Finding.of(ChangeCode.PARAMETERS_ADDED, node.getLocation()).added(added));
+                }
+            }
+        });
+        registry.<CompiledOperation>register("operation.parameters-removed", NodeType.OPERATION, (node, findings) -> {
+            if (node.bothPresent()) {
+                List<String> removed = added(node.getTgt().getParameters().keySet(), node.getSrc().getParameters().keySet());
+                if (!removed.isEmpty()) {
+                    findings.accept(Finding.of(ChangeCode.PARAMETERS_REMOVED, node.getLocation()).removed(removed));
+                }
+            }
+        });
+        registry.<CompiledOperation>register("operation.parameters-required", NodeType.OPERATION, (node, findings) -> {
+            if (node.bothPresent()) {
+                required(node.getSrc().getRequiredParameters(), node.getTgt().getRequiredParameters(),
+                        ChangeCode.PARAMETERS_REQUIRED_CHANGED, node.getLocation(), findings);
+            }
+        });
+        registry.<CompiledOperation>register("operation.request-body", NodeType.OPERATION, (node, findings) -> {
+            if (node.bothPresent()) {
+                RequestBody src = node.getSrc().getRequestBody();
+                RequestBody tgt = node.getTgt().getRequestBody();
+                FindingLocation location = node.getLocation().withSection(Section.REQUEST_BODY);
+                if (src == null && tgt != null) {
+                    findings.accept(Finding.of(ChangeCode.REQUEST_BODY_ADDED, location));
+                } else if (src != null && tgt == null) {
+                    findings.accept(Finding.of(ChangeCode.REQUEST_BODY_REMOVED, location));
+                }
+            }
+        });
+        registry.<CompiledOperation>register("operation.responses", NodeType.OPERATION, (node, findings) -> {
+            if (node.bothPresent()) {
+                ApiResponses src = node.getSrc().getResponses();
+                ApiResponses tgt = node.getTgt().getResponses();
+                if (!hasResponses(src) && hasResponses(tgt)) {
+                    responseContents(tgt, tgt.keySet(), node.getLocation(), ChangeCode.RESPONSES_ADDED, findings);
+                } else if (hasResponses(src) && !hasResponses(tgt)) {
+                    responseContents(src, src.keySet(), node.getLocation(), ChangeCode.RESPONSES_REMOVED, findings);
+                }
+            }
+        });
+        registry.<CompiledOperation>register("operation.response-codes", NodeType.OPERATION, (node, findings) -> {
+            if (node.bothPresent() && hasResponses(node.getSrc().getResponses()) && hasResponses(node.getTgt().getResponses())) {
+                ApiResponses src = node.getSrc().getResponses();
+                ApiResponses tgt = node.getTgt().getResponses();
+                responseContents(tgt, added(src.keySet(), tgt.keySet()), node.getLocation(), ChangeCode.RESPONSE_ADDED, findings);
+                responseContents(src, added(tgt.keySet(), src.keySet()), node.getLocation(), ChangeCode.RESPONSE_REMOVED, findings);
+            }
+        });
+
+        registry.<Parameter>register("parameter.location", NodeType.PARAMETER, (node, findings) -> {
+            if (!node.getSrc().getIn().equals(node.getTgt().getIn())) {
+                findings.accept(Finding.of(ChangeCode.PARAMETER_LOCATION_CHANGED, node.getLocation())
+                        .property(node.getName())
+                        .values(node.getSrc().getIn(), node.getTgt().getIn()));
+            }
+        });
+
+        registry.<RequestBody>register("request-body.content", NodeType.REQUEST_BODY, (node, findings) -> {
+            Set<String> src = node.getSrc().getContent().keySet();
+            Set<String> tgt = node.getTgt().getContent().keySet();
+            added(src, tgt).forEach(v -> findings.accept(Finding.of(ChangeCode.REQUEST_CONTENT_ADDED, node.getLocation().withMediaType(v))));
+            added(tgt, src).forEach(v -> findings.accept(Finding.of(ChangeCode.REQUEST_CONTENT_REMOVED, node.getLocation().withMediaType(v))));
+        });
+
+        registry.<Content>register("response.content", NodeType.RESPONSE, (node, findings) -> {
+            Content src = node.getSrc() == null ? new Content() : node.getSrc();
+            Content tgt = node.getTgt() == null ? new Content() : node.getTgt();
+            added(src.keySet(), tgt.keySet()).forEach(v -> findings.accept(Finding.of(ChangeCode.RESPONSE_CONTENT_ADDED, node.getLocation().withMediaType(v))));
+            added(tgt.keySet(), src.keySet()).forEach(v -> findings.accept(Finding.of(ChangeCode.RESPONSE_CONTENT_REMOVED, node.getLocation().withMediaType(v))));
+            src.keySet().stream()
+                    .filter(tgt::containsKey)
+                    .filter(v -> (src.get(v).getSchema() == null) != (tgt.get(v).getSchema() == null))
+                    .forEach(v -> findings.accept(Finding.of(ChangeCode.RESPONSE_CONTENT_CHANGED, node.getLocation().withMediaType(v))));
+        });
+
+        registry.<CompiledSchema>register("schema.missing", NodeType.SCHEMA, (node, findings) -> {
+            if (node.getSrc() == null && node.getTgt() == null) {
+                return;
+            }
+            if (node.getSrc() == null || node.getSrc().getProperties() == null) {
+                findings.accept(Finding.of(ChangeCode.SCHEMA_MISSING_ON_SOURCE, null));
+            } else if (node.getTgt() == null || node.getTgt().getProperties() == null) {
+                findings.accept(Finding.of(ChangeCode.SCHEMA_MISSING_ON_TARGET, null));
+            }
+        });
+        registry.<CompiledSchema>register("schema.properties-added", NodeType.SCHEMA, (node, findings) -> {
+            if (comparable(node)) {
+                Map<String, String> srcUpper = node.getSrc().getPropertyNamesByUpperCase();
+                List<String> added = node.getTgt().getProperties().keySet().stream()
+                        .filter(v -> !srcUpper.containsKey(v.toUpperCase()))
+                        .collect(Collectors.toList());
+                if (!added.isEmpty()) {
+                    findings.accept(Finding.of(ChangeCode.PROPERTIES_ADDED, null).added(added));
+                }
+            }
+        });
+        registry.<CompiledSchema>register("schema.properties-deleted", NodeType.SCHEMA, (node, findings) -> {
+            if (comparable(node)) {
+                Map<String, String> tgtUpper = node.getTgt().getPropertyNamesByUpperCase();
+                List<String> deleted = node.getSrc().getProperties().keySet().stream()
+                        .filter(v -> !tgtUpper.containsKey(v.toUpperCase()))
+                        .collect(Collectors.toList());
+                if (!deleted.isEmpty()) {
+                    findings.accept(Finding.of(ChangeCode.PROPERTIES_DELETED, null).removed(deleted));
+                }
+            }
+        });
+        registry.<CompiledSchema>register("schema.property-renamed", NodeType.SCHEMA, (node, findings) -> {
+            if (comparable(node)) {
+                Set<String> srcProps = node.getSrc().getProperties().keySet();
+                Map<String, String> srcUpper = node.getSrc().getPropertyNamesByUpperCase();
+                // Like the original check, a source property differing only in case is reported even when the
+                // source also has the target's exact name; the index only skips the scan when nothing matches.
+                node.getTgt().getProperties().keySet().stream()
+                        .filter(t -> srcUpper.containsKey(t.toUpperCase()))
+                        .forEach(t -> srcProps.stream()
+                                .filter(s -> !s.equals(t) && s.equalsIgnoreCase(t))
+                                .findAny()
+                                .ifPresent(s -> findings.accept(Finding.of(ChangeCode.PROPERTY_RENAMED, null).property(t).values(s, t))));
+            }
+        });
+        registry.<String>register("schema.property-moved", NodeType.RENAMED_PROPERTY, (node, findings) ->
+                findings.accept(Finding.of(ChangeCode.PROPERTY_RENAMED, null).property(node.getTgt()).values(node.getSrc(), node.getTgt())));
+        registry.<CompiledSchema>register("schema.required", NodeType.SCHEMA, (node, findings) -> {
+            if (comparable(node)) {
+                required(node.getSrc().getRequired(), node.getTgt().getRequired(), ChangeCode.PROPERTIES_REQUIRED_CHANGED, null, findings);
+            }
+        });
+
+        registry.<CompiledSchema>register("property.type", NodeType.PROPERTY, (node, findings) -> {
+            CompiledSchema src = node.getSrc();
+            CompiledSchema tgt = node.getTgt();
+            if (src.getType() == null || tgt.getType() == null) {
+                if (src.get$ref() != null && tgt.get$ref() != null && !src.get$ref().equals(tgt.get$ref())) {
+                    findings.accept(Finding.of(ChangeCode.REF_CHANGED, node.getLocation()).property(node.getName()).values(src.get$ref(), tgt.get$ref()));
+                }
+            } else if (!src.getType().equals(tgt.getType())) {
+                findings.accept(Finding.of(ChangeCode.TYPE_CHANGED, node.getLocation()).property(node.getName()).values(src.getType(), tgt.getType()));
+            }
+        });
+        registry.<CompiledSchema>register("property.enum", NodeType.PROPERTY, (node, findings) -> {
+            Set<String> src = node.getSrc().getEnumValues();
+            Set<String> tgt = node.getTgt().getEnumValues();
+            if (src != null && tgt != null) {
+                List<String> added = added(src, tgt);
+                List<String> removed = added(tgt, src);
+                if (!added.isEmpty() || !removed.isEmpty()) {
+                    findings.accept(Finding.of(ChangeCode.ENUM_CHANGED, node.getLocation()).property(node.getName()).added(added).removed(removed));
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether both schemas have properties to compare; otherwise only {@code schema.missing} applies.
+     */
+    static boolean comparable(NodeDiff<CompiledSchema> node) {
+        return node.bothPresent() && node.getSrc().getProperties() != null && node.getTgt().getProperties() != null;
+    }
+
+    static boolean hasResponses(ApiResponses responses) {
+        return responses != null && !responses.isEmpty();
+    }
+
+    /**
+     * Names in {@code tgt} that are not in {@code src}, in the order of {@code tgt}.
+     */
+    private static List<String> added(Collection<String> src, Collection<String> tgt) {
+        return tgt.stream().filter(v -> !src.contains(v)).collect(Collectors.toList());
+    }
+
+    private static void required(Set<String> srcRequired, Set<String> tgtRequired, ChangeCode code, FindingLocation location,
+                                 Consumer<Finding> findings) {
+        Set<String> src = srcRequired == null ? Collections.emptySet() : srcRequired;
+        Set<String> tgt = tgtRequired == null ? Collections.emptySet() : tgtRequired;
+        List<String> added = added(src, tgt);
+        List<String> removed = added(tgt, src);
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            findings.accept(Finding.of(code, location).added(added).removed(removed));
+        }
+    }
+
+    private static void responseContents(ApiResponses responses, Collection<String> statusCodes, FindingLocation location, ChangeCode code,
+                                         Consumer<Finding> findings) {
+        for (String statusCode : statusCodes) {
+            if (responses.get(statusCode) != null && responses.get(statusCode).getContent() != null) {
+                FindingLocation statusLocation = location.withStatusCode(statusCode);
+                responses.get(statusCode).getContent().keySet().forEach(v -> findings.accept(Finding.of(code, statusLocation.withMediaType(v))));
+            }
+        }
+    }
+
+}
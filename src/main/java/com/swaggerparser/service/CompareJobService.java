@@ -0,0 +1,284 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.CompareJobResponse;
+import com.swaggerparser.dto.JobStatus;
+import com.swaggerparser.dto.SpecCompareRequest;
+import io.micrometer.core.instrument.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs comparisons as background jobs on a fixed set of workers. Submissions are admitted while both the number of
+ * waiting jobs and their summed estimated spec size stay within bounds, and are rejected with 429 otherwise.
+ * Waiting jobs are started lightest first, so a burst of very large specs does not hold up small ones, except that a
+ * job passed over {@code max-overtakes} times by lighter ones submitted after it is started next, so a steady stream
+ * of small specs can not starve a large one. A job's timeout counts from when a worker picks it up. Finished jobs are
+ * dropped once their retention has passed, checked whenever jobs are submitted or looked up.
+ */
+@Slf4j
+@Service
+public class CompareJobService {
+
+    private final OpenApiSpecCompareService openApiSpecCompareService;
+    private final ThreadPoolExecutor jobExecutor;
+    private final SpecParserProperties.Jobs config;
+    private final Map<String, CompareJob> jobs = new ConcurrentHashMap<>();
+    private final TreeSet<CompareJob> waiting = new TreeSet<>();
+    private final AtomicLong submissions = new AtomicLong();
+    private int queuedJobs;
+    private long queuedBytes;
+
+    public CompareJobService(OpenApiSpecCompareService openApiSpecCompareService,
+                             @Qualifier("jobExecutor") ThreadPoolExecutor jobExecutor, SpecParserProperties properties,
+                             CompareMetrics metrics) {
+        this.openApiSpecCompareService = openApiSpecCompareService;
+        this.jobExecutor = jobExecutor;
+        this.config = properties.getJobs();
+        Gauge.builder("spec.compare.jobs.queued", this, s -> s.queuedJobs).register(metrics.getRegistry());
+        Gauge.builder("spec.compare.jobs.queued.bytes", this, s -> s.queuedBytes).baseUnit("bytes").register(metrics.getRegistry());
+        Gauge.builder("spec.compare.jobs.running", jobExecutor, ThreadPoolExecutor::getActiveCount).register(metrics.getRegistry());
+    }
+
+    public CompareJobResponse submit(SpecCompareRequest request, Duration timeout) {
+        if (request.getSourcePath() == null || request.getTargetPath() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sourcePath and targetPath are required");
+        }
+        openApiSpecCompareService.getRuleRegistry().table(request.toOptions());
+        purgeExpired();
+        Duration effectiveTimeout = timeout == null ? config.getTimeout()
+                : timeout.compareTo(config.getMaxTimeout()) > 0 ? config.getMaxTimeout() : timeout;
+        long weight = estimateSize(request.getSourcePath()) + estimateSize(request.getTargetPath());
+        long sequence = submissions.incrementAndGet();
+        CompareJob job = new CompareJob(UUID.randomUUID().toString(), sequence, request, weight, ComparisonControl.withTimeoutOnStart(effectiveTimeout));
+
+        jobs.put(job.id, job);
+        synchronized (this) {
+            if (queuedJobs >= config.getQueueCapacity() || (queuedJobs > 0 && queuedBytes + weight > config.getMaxQueuedBytes())) {
+                jobs.remove(job.id);
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Comparison queue is full, retry later");
+            }
+            waiting.add(job);
+            queuedJobs++;
+            queuedBytes += weight;
+        }
+        try {
+            jobExecutor.execute(new Dispatch(sequence));
+        } catch (RejectedExecutionException e) {
+            dequeued(job);
+            jobs.remove(job.id);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Comparison workers are shutting down", e);
+        }
+        log.debug("Queued job {} ({} bytes) for {} -> {}", job.id, weight, request.getSourcePath(), request.getTargetPath());
+        return job.toResponse();
+    }
+
+    public CompareJobResponse get(String id) {
+        return find(id).toResponse();
+    }
+
+    /**
+     * Cancels a waiting or running job. A running job stops at its next diff checkpoint; its status reads
+     * {@code CANCELLED} right away.
+     */
+    public CompareJobResponse cancel(String id) {
+        CompareJob job = find(id);
+        job.control.cancel();
+        if (job.finish(JobStatus.QUEUED, JobStatus.CANCELLED)) {
+            dequeued(job);
+        }
+        job.finish(JobStatus.RUNNING, JobStatus.CANCELLED);
+        return job.toResponse();
+    }
+
+    private CompareJob find(String id) {
+        purgeExpired();
+        CompareJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job " + id);
+        }
+        return job;
+    }
+
+    private synchronized void dequeued(CompareJob job) {
+        if (waiting.remove(job)) {
+            queuedJobs--;
+            queuedBytes -= job.weight;
+        }
+    }
+
+    /**
+     * Takes the job to start next: the lightest waiting one, or the oldest once it has been passed over too often.
+     * Every older job still waiting counts the pick as one more time it was passed over.
+     */
+    private synchronized CompareJob next() {
+        if (waiting.isEmpty()) {
+            return null;
+        }
+        CompareJob oldest = null;
+        for (CompareJob job : waiting) {
+            if (oldest == null || job.sequence < oldest.sequence) {
+                oldest = job;
+            }
+        }
+        CompareJob next = oldest.overtaken >= config.getMaxOvertakes() ? oldest : waiting.first();
+        dequeued(next);
+        for (CompareJob job : waiting) {
+            if (job.sequence < next.sequence) {
+                job.overtaken++;
+            }
+        }
+        return next;
+    }
+
+    private void run(CompareJob job) {
+        if (!job.status.compareAndSet(JobStatus.QUEUED, JobStatus.RUNNING)) {
+            return;
+        }
+        job.startedAt = Instant.now();
+        job.control.start();
+        try {
+            job.result = openApiSpecCompareService.analyzeBreakingChanges(job.request.getSourcePath(), job.request.getTargetPath(),
+                    job.request.toOptions(), job.control);
+            job.finish(JobStatus.RUNNING, JobStatus.SUCCEEDED);
+        } catch (ComparisonAbortedException e) {
+            job.error = e.getMessage();
+            job.finish(JobStatus.RUNNING, e.isTimedOut() ? JobStatus.TIMED_OUT : JobStatus.CANCELLED);
+        } catch (RuntimeException e) {
+            log.warn("Job {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.finish(JobStatus.RUNNING, JobStatus.FAILED);
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(config.getRetention());
+        Iterator<CompareJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            CompareJob job = iterator.next();
+            if (job.finishedAt != null && job.finishedAt.isBefore(cutoff)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private long estimateSize(String location) {
+        try {
+            Path path = location.startsWith("file:") ? Paths.get(URI.create(location))
+                    : location.startsWith("http://") || location.startsWith("https://") ? null : Paths.get(location);
+            return path != null && Files.isRegularFile(path) ? Files.size(path) : config.getDefaultSpecBytes();
+        } catch (IOException | RuntimeException e) {
+            return config.getDefaultSpecBytes();
+        }
+    }
+
+    /**
+     * One per submission; each picks whichever job should start next when a worker takes it, so the executor's
+     * queue only needs to hand out workers in submission order.
+     */
+    private class Dispatch implements Runnable, Comparable<Dispatch> {
+
+        private final long sequence;
+
+        Dispatch(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            CompareJob job = next();
+            if (job != null) {
+                CompareJobService.this.run(job);
+            }
+        }
+
+        @Override
+        public int compareTo(Dispatch other) {
+            return Long.compare(sequence, other.sequence);
+        }
+
+    }
+
+    private class CompareJob implements Comparable<CompareJob> {
+
+        private final String id;
+        private final long sequence;
+        private final SpecCompareRequest request;
+        private final long weight;
+        private final int weightClass;
+        private final ComparisonControl control;
+        private final AtomicReference<JobStatus> status = new AtomicReference<>(JobStatus.QUEUED);
+        private final Instant submittedAt = Instant.now();
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile BreakingChange result;
+        private volatile String error;
+        private int overtaken;
+
+        CompareJob(String id, long sequence, SpecCompareRequest request, long weight, ComparisonControl control) {
+            this.id = id;
+            this.sequence = sequence;
+            this.request = request;
+            this.weight = weight;
+            this.weightClass = 64 - Long.numberOfLeadingZeros(weight);
+            this.control = control;
+        }
+
+        /**
+         * Jobs within a power of two of each other in size run in submission order.
+         */
+        @Override
+        public int compareTo(CompareJob other) {
+            int byWeight = Integer.compare(weightClass, other.weightClass);
+            return byWeight != 0 ? byWeight : Long.compare(sequence, other.sequence);
+        }
+
+        boolean finish(JobStatus expected, JobStatus finished) {
+            if (status.compareAndSet(expected, finished)) {
+                finishedAt = Instant.now();
+                return true;
+            }
+            return false;
+        }
+
+        CompareJobResponse toResponse() {
+            CompareJobResponse response = new CompareJobResponse();
+            response.setId(id);
+            response.setStatus(status.get());
+            response.setSourcePath(request.getSourcePath());
+            response.setTargetPath(request.getTargetPath());
+            response.setWeight(weight);
+            response.setSubmittedAt(submittedAt);
+            response.setStartedAt(startedAt);
+            response.setFinishedAt(finishedAt);
+            if (response.getStatus() == JobStatus.SUCCEEDED) {
+                response.setResult(result);
+            }
+            response.setError(error);
+            return response;
+        }
+
+    }
+
+}
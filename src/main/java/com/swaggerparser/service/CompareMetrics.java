@@ -0,0 +1,122 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.Severity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for comparisons: a latency histogram per phase, spec size distributions and finding counts.
+ * Phases are {@code fetch} and {@code parse} (parse cache misses only), {@code load} (cache lookup included),
+ * {@code compile}, {@code fingerprint}, {@code scope} (scoped comparisons only), {@code renames} (rename detection only), {@code paths},
+ * {@code schemas}, {@code total} and {@code snapshot} (spec registry writes and reads).
+ */
+@Component
+public class CompareMetrics {
+
+    public static final String SOURCE = "source";
+    public static final String TARGET = "target";
+    public static final String ALL = "all";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Severity, Counter> findings = new EnumMap<>(Severity.class);
+    private final Counter schemaMemoHits;
+    private final Counter schemaMemoMisses;
+    private final DistributionSummary paths;
+    private final DistributionSummary operations;
+    private final DistributionSummary schemas;
+
+    public CompareMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Severity severity : Severity.values()) {
+            findings.put(severity, Counter.builder("spec.compare.findings")
+                    .description("Findings reported by comparisons")
+                    .tag("severity", severity.name())
+                    .register(registry));
+        }
+        this.schemaMemoHits = schemaMemo("hit");
+        this.schemaMemoMisses = schemaMemo("miss");
+        this.paths = specSize("paths");
+        this.operations = specSize("operations");
+        this.schemas = specSize("schemas");
+    }
+
+    /**
+     * Metrics that are recorded nowhere, for use outside the Spring context.
+     */
+    public static CompareMetrics noop() {
+        return new CompareMetrics(new CompositeMeterRegistry());
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    public <T> T time(String phase, String side, Supplier<T> work) {
+        return timer(phase, side).record(work);
+    }
+
+    public void time(String phase, String side, Runnable work) {
+        timer(phase, side).record(work);
+    }
+
+    public void recordSpecSize(OpenAPI openApi) {
+        int pathCount = 0;
+        int operationCount = 0;
+        if (openApi.getPaths() != null) {
+            pathCount = openApi.getPaths().size();
+            for (PathItem pathItem : openApi.getPaths().values()) {
+                operationCount += pathItem == null ? 0 : pathItem.readOperations().size();
+            }
+        }
+        paths.record(pathCount);
+        operations.record(operationCount);
+        schemas.record(openApi.getComponents() == null || openApi.getComponents().getSchemas() == null ? 0 : openApi.getComponents().getSchemas().size());
+    }
+
+    public void recordFinding(Finding finding) {
+        findings.get(finding.getSeverity()).increment();
+    }
+
+    public void recordSchemaMemo(ComparisonContext context) {
+        schemaMemoHits.increment(context.getSchemaDiffHits().get());
+        schemaMemoMisses.increment(context.getSchemaDiffMisses().get());
+    }
+
+    private Timer timer(String phase, String side) {
+        return timers.computeIfAbsent(phase + ' ' + side, k -> Timer.builder("spec.compare.phase")
+                .description("Time spent in each phase of a comparison")
+                .tag("phase", phase)
+                .tag("side", side)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Counter schemaMemo(String result) {
+        return Counter.builder("spec.compare.schema.memo")
+                .description("Schema pair diffs served from the per-comparison memo table")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private DistributionSummary specSize(String dimension) {
+        return DistributionSummary.builder("spec.size")
+                .description("Size of the specs being compared")
+                .tag("dimension", dimension)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.swaggerparser.service;
+
+/**
+ * Thrown from a diff checkpoint once the comparison has been cancelled or has run past its deadline.
+ */
+public class ComparisonAbortedException extends RuntimeException {
+
+    private final boolean timedOut;
+
+    ComparisonAbortedException(String message, boolean timedOut) {
+        super(message);
+        this.timedOut = timedOut;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.BreakingChange;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * State shared by every diff step of a single comparison.
+ */
+@Getter
+public class ComparisonContext {
+
+    private final CompiledSpec src;
+    private final CompiledSpec tgt;
+    private final SpecFingerprints srcFingerprints;
+    private final SpecFingerprints tgtFingerprints;
+    @Getter(AccessLevel.NONE)
+    private final Map<SchemaPair, BreakingChange> schemaDiffs = new ConcurrentHashMap<>();
+    private final AtomicLong schemaDiffHits = new AtomicLong();
+    private final AtomicLong schemaDiffMisses = new AtomicLong();
+    @Setter
+    private ComparisonControl control = ComparisonControl.unbounded();
+    @Setter
+    private RuleTable rules;
+
+    /**
+     * Paths and schemas a scoped comparison is limited to, or {@code null} to compare everything.
+     */
+    @Setter
+    private SpecScope scope;
+
+    /**
+     * Whether removed names are matched to added ones by structure; path and schema matches are found up front,
+     * removed names mapped to their new names.
+     */
+    @Setter
+    private boolean detectRenames;
+    @Setter
+    private Map<String, String> pathRenames = Collections.emptyMap();
+    @Setter
+    private Map<String, String> schemaRenames = Collections.emptyMap();
+
+    public ComparisonContext(OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
+        this(new CompiledSpec(srcOpenApi), new CompiledSpec(tgtOpenApi), null, null);
+    }
+
+    public ComparisonContext(CompiledSpec src, CompiledSpec tgt, SpecFingerprints srcFingerprints, SpecFingerprints tgtFingerprints) {
+        this.src = src;
+        this.tgt = tgt;
+        this.srcFingerprints = srcFingerprints;
+        this.tgtFingerprints = tgtFingerprints;
+    }
+
+    public OpenAPI getSrcOpenApi() {
+        return src.getOpenApi();
+    }
+
+    public OpenAPI getTgtOpenApi() {
+        return tgt.getOpenApi();
+    }
+
+    public void checkpoint() {
+        control.checkpoint();
+    }
+
+    public boolean hasFingerprints() {
+        return srcFingerprints != null && tgtFingerprints != null;
+    }
+
+    public boolean unchangedPathItem(String path) {
+        return hasFingerprints() && SpecFingerprints.same(srcFingerprints.pathItem(path), tgtFingerprints.pathItem(path));
+    }
+
+    public boolean unchangedOperation(String path, HttpMethod method) {
+        return hasFingerprints() && SpecFingerprints.same(srcFingerprints.operation(path, method), tgtFingerprints.operation(path, method));
+    }
+
+    public boolean unchangedRequestBody(String path, HttpMethod method) {
+        return hasFingerprints() && SpecFingerprints.same(srcFingerprints.requestBody(path, method), tgtFingerprints.requestBody(path, method));
+    }
+
+    public boolean unchangedResponses(String path, HttpMethod method) {
+        return hasFingerprints() && SpecFingerprints.same(srcFingerprints.responses(path, method), tgtFingerprints.responses(path, method));
+    }
+
+    public boolean unchangedSchema(String name) {
+        return hasFingerprints() && SpecFingerprints.same(srcFingerprints.schema(name), tgtFingerprints.schema(name));
+    }
+
+    /**
+     * Diffs each distinct (source, target) schema pair once per comparison; later requests for the same pair get
+     * the first result back, which callers must treat as read-only.
+     */
+    public BreakingChange schemaDiff(CompiledSchema srcSchema, CompiledSchema tgtSchema, BiFunction<CompiledSchema, CompiledSchema, BreakingChange> diff) {
+        SchemaPair key = new SchemaPair(srcSchema, tgtSchema);
+        BreakingChange cached = schemaDiffs.get(key);
+        if (cached != null) {
+            schemaDiffHits.incrementAndGet();
+            return cached;
+        }
+        schemaDiffMisses.incrementAndGet();
+        BreakingChange computed = diff.apply(srcSchema, tgtSchema);
+        cached = schemaDiffs.putIfAbsent(key, computed);
+        return cached != null ? cached : computed;
+    }
+
+    private static class SchemaPair {
+
+        private final CompiledSchema src;
+        private final CompiledSchema tgt;
+
+        SchemaPair(CompiledSchema src, CompiledSchema tgt) {
+            this.src = src;
+            this.tgt = tgt;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SchemaPair && ((SchemaPair) o).src == src && ((SchemaPair) o).tgt == tgt;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(src) + System.identityHashCode(tgt);
+        }
+
+    }
+
+}
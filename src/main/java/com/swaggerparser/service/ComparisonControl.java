@@ -0,0 +1,67 @@
+package com.swaggerparser.service;
+
+import java.time.Duration;
+
+/**
+ * Cancellation flag and deadline for one comparison. The diff calls {@link #checkpoint()} between units of work,
+ * so a cancelled or overdue comparison stops at the next path operation or schema rather than running to the end.
+ */
+public class ComparisonControl {
+
+    private final Duration timeout;
+    private volatile long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private ComparisonControl(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = Long.MAX_VALUE;
+    }
+
+    public static ComparisonControl unbounded() {
+        return new ComparisonControl(null);
+    }
+
+    public static ComparisonControl withTimeout(Duration timeout) {
+        ComparisonControl control = new ComparisonControl(timeout);
+        control.start();
+        return control;
+    }
+
+    /**
+     * Same as {@link #withTimeout(Duration)}, except that the timeout only starts counting at {@link #start()}, e.g.
+     * when a queued job is picked up, so time spent waiting does not count against it.
+     */
+    public static ComparisonControl withTimeoutOnStart(Duration timeout) {
+        return new ComparisonControl(timeout);
+    }
+
+    public void start() {
+        if (timeout != null) {
+            long now = System.nanoTime();
+            long nanos = timeout.toNanos();
+            deadlineNanos = nanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos;
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public void checkpoint() {
+        if (cancelled) {
+            throw new ComparisonAbortedException("Comparison was cancelled", false);
+        }
+        if (isExpired()) {
+            throw new ComparisonAbortedException("Comparison exceeded its deadline", true);
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ComparisonOptions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Whole comparison results keyed by the content hashes of both documents and a variant naming everything else the
+ * result depends on: the request options, the rules they select and the server settings that change findings.
+ * Lookups go to a bounded in-memory LRU first and then, when a directory is configured, to JSON files that survive
+ * restarts; the directory is kept under its byte limit by deleting the least recently used files. Results are
+ * copied in and out, so callers may modify what they get.
+ */
+@Slf4j
+@Component
+public class ComparisonResultCache {
+
+    private final SpecParserProperties.ResultCache config;
+    private final Path directory;
+    private final ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Map<String, BreakingChange> entries;
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    /**
+     * Bytes in the directory, counted by the first write; overwritten files are counted twice until the next trim.
+     */
+    private final AtomicLong directoryBytes = new AtomicLong(-1);
+
+    public ComparisonResultCache(SpecParserProperties properties, CompareMetrics metrics) {
+        this.config = properties.getResultCache();
+        this.directory = config.getDirectory() == null || config.getDirectory().isEmpty() ? null : Paths.get(config.getDirectory());
+        int maxEntries = config.getMaxEntries();
+        this.entries = new LinkedHashMap<String, BreakingChange>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BreakingChange> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        registerMeters(metrics.getRegistry());
+    }
+
+    public static ComparisonResultCache disabled() {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getResultCache().setEnabled(false);
+        return new ComparisonResultCache(properties, CompareMetrics.noop());
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * @param variant everything besides the two documents the result depends on, see
+     *                {@link OpenApiSpecCompareService#resultVariant(ComparisonOptions)}
+     */
+    public BreakingChange get(String srcHash, String tgtHash, String variant) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        String key = key(srcHash, tgtHash, variant);
+        BreakingChange cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached.copy();
+        }
+        cached = read(key);
+        if (cached != null) {
+            diskHits.incrementAndGet();
+            synchronized (entries) {
+                entries.put(key, cached);
+            }
+            return cached.copy();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String srcHash, String tgtHash, String variant, BreakingChange result) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        String key = key(srcHash, tgtHash, variant);
+        BreakingChange copy = result.copy();
+        synchronized (entries) {
+            entries.put(key, copy);
+        }
+        write(key, copy);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private BreakingChange read(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            BreakingChange result = mapper.readValue(file.toFile(), BreakingChange.class);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return result;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cached result {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(String key, BreakingChange result) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try {
+                mapper.writeValue(temp.toFile(), result);
+                long size = Files.size(temp);
+                Files.move(temp, directory.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                long stored = directoryBytes.get();
+                if (stored < 0 || stored + size > config.getMaxDirectoryBytes()) {
+                    trim();
+                } else {
+                    directoryBytes.addAndGet(size);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to store comparison result under {}", directory, e);
+        }
+    }
+
+    /**
+     * Deletes the results read or written longest ago until the directory is back under three quarters of its
+     * limit, leaving room for further writes before the next trim, and recounts what is left.
+     */
+    private synchronized void trim() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        long total = 0;
+        for (Path file : files) {
+            try {
+                modified.put(file, Files.getLastModifiedTime(file));
+                total += Files.size(file);
+            } catch (NoSuchFileException e) {
+                // Deleted concurrently.
+            }
+        }
+        if (total > config.getMaxDirectoryBytes()) {
+            long target = config.getMaxDirectoryBytes() / 4 * 3;
+            List<Path> oldestFirst = new ArrayList<>(modified.keySet());
+            oldestFirst.sort(Comparator.comparing(modified::get));
+            for (Path file : oldestFirst) {
+                if (total <= target) {
+                    break;
+                }
+                try {
+                    long size = Files.size(file);
+                    Files.delete(file);
+                    total -= size;
+                } catch (NoSuchFileException e) {
+                    // Deleted concurrently.
+                }
+            }
+            log.debug("Trimmed stored comparison results under {} to {} bytes", directory, total);
+        }
+        directoryBytes.set(total);
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        FunctionCounter.builder("spec.result.cache.requests", memoryHits, AtomicLong::get).tag("result", "memory-hit").register(registry);
+        FunctionCounter.builder("spec.result.cache.requests", diskHits, AtomicLong::get).tag("result", "disk-hit").register(registry);
+        FunctionCounter.builder("spec.result.cache.requests", misses, AtomicLong::get).tag("result", "miss").register(registry);
+    }
+
+    /**
+     * The key is itself a SHA-256 hex string, so it is safe to use as a file name.
+     */
+    static String key(String srcHash, String tgtHash, String variant) {
+        return SpecParseCache.contentHash((srcHash + ':' + tgtHash + ':' + variant).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.swaggerparser.service;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An operation with its parameters resolved against {@code components.parameters} and indexed by name.
+ */
+@Getter
+public class CompiledOperation {
+
+    private final Operation operation;
+    private final Map<String, Parameter> parameters = new LinkedHashMap<>();
+    private final Map<String, CompiledSchema> parameterSchemas = new LinkedHashMap<>();
+    private final Set<String> requiredParameters = new LinkedHashSet<>();
+
+    CompiledOperation(Operation operation, Map<String, Parameter> parameterComponents) {
+        this.operation = operation;
+        if (operation.getParameters() == null) {
+            return;
+        }
+        for (Parameter parameter : operation.getParameters()) {
+            Parameter resolved = parameter;
+            if (parameter != null && parameter.getName() == null && parameter.get$ref() != null) {
+                String parameterName = parameter.get$ref().substring(parameter.get$ref().lastIndexOf("/") + 1);
+                resolved = parameterComponents == null ? null : parameterComponents.get(parameterName);
+            }
+            if (resolved == null || parameters.containsKey(resolved.getName())) {
+                continue;
+            }
+            parameters.put(resolved.getName(), resolved);
+            parameterSchemas.put(resolved.getName(), CompiledSchema.of(resolved.getSchema()));
+            if (Boolean.TRUE.equals(resolved.getRequired())) {
+                requiredParameters.add(resolved.getName());
+            }
+        }
+    }
+
+    public RequestBody getRequestBody() {
+        return operation.getRequestBody();
+    }
+
+    public ApiResponses getResponses() {
+        return operation.getResponses();
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.swaggerparser.service;
+
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A schema with the lookups the diff needs precomputed: required names and enum values as sets, and properties
+ * indexed by name and by upper-cased name. Nested inline properties, array items, additional properties and the
+ * members of {@code allOf}/{@code oneOf}/{@code anyOf} are compiled one level at a time, the first time they are
+ * asked for, so compiling never recurses however deep the schema is; {@code $ref}s are kept as is.
+ */
+@Getter
+public class CompiledSchema {
+
+    private final Schema<?> schema;
+    private final Set<String> required;
+    private final Set<String> enumValues;
+    @Getter(AccessLevel.NONE)
+    private volatile Children children;
+
+    private CompiledSchema(Schema<?> schema) {
+        this.schema = schema;
+        this.required = schema.getRequired() == null ? null : new LinkedHashSet<>(schema.getRequired());
+        this.enumValues = enumValues(schema);
+    }
+
+    public static CompiledSchema of(Schema<?> schema) {
+        return schema == null ? null : new CompiledSchema(schema);
+    }
+
+    public Map<String, CompiledSchema> getProperties() {
+        return children().properties;
+    }
+
+    public Map<String, String> getPropertyNamesByUpperCase() {
+        return children().propertyNamesByUpperCase;
+    }
+
+    public CompiledSchema getItems() {
+        return children().items;
+    }
+
+    public CompiledSchema getAdditionalProperties() {
+        return children().additionalProperties;
+    }
+
+    public List<CompiledSchema> getAllOf() {
+        return children().allOf;
+    }
+
+    public List<CompiledSchema> getOneOf() {
+        return children().oneOf;
+    }
+
+    public List<CompiledSchema> getAnyOf() {
+        return children().anyOf;
+    }
+
+    public String getType() {
+        return schema.getType();
+    }
+
+    public String get$ref() {
+        return schema.get$ref();
+    }
+
+    /**
+     * Compiled once, so every caller sees the same child instances, which the schema-pair memo relies on.
+     */
+    private Children children() {
+        Children compiled = children;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = children;
+                if (compiled == null) {
+                    compiled = new Children(schema);
+                    children = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    private static Set<String> enumValues(Schema<?> schema) {
+        if (schema.getEnum() == null) {
+            return null;
+        }
+        Set<String> values = new LinkedHashSet<>();
+        for (Object value : schema.getEnum()) {
+            values.add(String.valueOf(value));
+        }
+        return values;
+    }
+
+    private static class Children {
+
+        private final Map<String, CompiledSchema> properties;
+        private final Map<String, String> propertyNamesByUpperCase;
+        private final CompiledSchema items;
+        private final CompiledSchema additionalProperties;
+        private final List<CompiledSchema> allOf;
+        private final List<CompiledSchema> oneOf;
+        private final List<CompiledSchema> anyOf;
+
+        Children(Schema<?> schema) {
+            this.items = CompiledSchema.of(schema.getItems());
+            this.additionalProperties = schema.getAdditionalProperties() instanceof Schema ? CompiledSchema.of((Schema<?>) schema.getAdditionalProperties()) : null;
+            this.allOf = of(schema.getAllOf());
+            this.oneOf = of(schema.getOneOf());
+            this.anyOf = of(schema.getAnyOf());
+
+            if (schema.getProperties() == null) {
+                this.properties = null;
+                this.propertyNamesByUpperCase = Collections.emptyMap();
+            } else {
+                this.properties = new LinkedHashMap<>();
+                this.propertyNamesByUpperCase = new LinkedHashMap<>();
+                schema.getProperties().forEach((name, property) -> {
+                    properties.put(name, CompiledSchema.of(property));
+                    propertyNamesByUpperCase.putIfAbsent(name.toUpperCase(), name);
+                });
+            }
+        }
+
+        @SuppressWarnings("rawtypes")
+        private static List<CompiledSchema> of(List<Schema> schemas) {
+            if (schemas == null) {
+                return null;
+            }
+            List<CompiledSchema> compiled = new ArrayList<>(schemas.size());
+            for (Schema<?> schema : schemas) {
+                compiled.add(CompiledSchema.of(schema));
+            }
+            return compiled;
+        }
+
+    }
+
+}
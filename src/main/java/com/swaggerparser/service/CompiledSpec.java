@@ -0,0 +1,83 @@
+package com.swaggerparser.service;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexed view of an {@link OpenAPI} model that the diff runs against. Path and schema names are sorted once,
+ * and operations and component schemas are compiled on first use and kept, so a spec that stays in the parse
+ * cache is compiled at most once. Safe to share between threads.
+ */
+public class CompiledSpec {
+
+    @Getter
+    private final OpenAPI openApi;
+    @Getter
+    private final SortedSet<String> pathNames;
+    @Getter
+    private final SortedSet<String> schemaNames;
+    private final Map<String, Map<HttpMethod, CompiledOperation>> operations = new ConcurrentHashMap<>();
+    private final Map<String, CompiledSchema> schemas = new ConcurrentHashMap<>();
+    private volatile PathTrie pathTrie;
+
+    public CompiledSpec(OpenAPI openApi) {
+        this.openApi = openApi;
+        this.pathNames = Collections.unmodifiableSortedSet(openApi.getPaths() == null ? new TreeSet<>() : new TreeSet<>(openApi.getPaths().keySet()));
+        this.schemaNames = Collections.unmodifiableSortedSet(new TreeSet<>(schemaComponents().keySet()));
+    }
+
+    public static CompiledSpec ofSchemas(Map<String, Schema> schemas) {
+        return new CompiledSpec(new OpenAPI().paths(new Paths()).components(new Components().schemas(schemas)));
+    }
+
+    public Map<HttpMethod, CompiledOperation> operations(String path) {
+        return operations.computeIfAbsent(path, this::compileOperations);
+    }
+
+    public PathTrie getPathTrie() {
+        PathTrie trie = pathTrie;
+        if (trie == null) {
+            trie = new PathTrie(pathNames);
+            pathTrie = trie;
+        }
+        return trie;
+    }
+
+    public CompiledSchema schema(String name) {
+        Schema schema = schemaComponents().get(name);
+        return schema == null ? null : schemas.computeIfAbsent(name, n -> CompiledSchema.of(schema));
+    }
+
+    private Map<HttpMethod, CompiledOperation> compileOperations(String path) {
+        Map<HttpMethod, CompiledOperation> compiled = new EnumMap<>(HttpMethod.class);
+        PathItem pathItem = openApi.getPaths() == null ? null : openApi.getPaths().get(path);
+        if (pathItem == null) {
+            return compiled;
+        }
+        Map<String, Parameter> parameterComponents = openApi.getComponents() == null ? null : openApi.getComponents().getParameters();
+        for (Map.Entry<HttpMethod, Operation> operation : pathItem.readOperationsMap().entrySet()) {
+            compiled.put(operation.getKey(), new CompiledOperation(operation.getValue(), parameterComponents));
+        }
+        return compiled;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Map<String, Schema> schemaComponents() {
+        return openApi.getComponents() == null || openApi.getComponents().getSchemas() == null ? Collections.emptyMap() : openApi.getComponents().getSchemas();
+    }
+
+}
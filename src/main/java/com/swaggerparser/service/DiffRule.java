@@ -0,0 +1,15 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.Finding;
+
+import java.util.function.Consumer;
+
+/**
+ * One check of a node pair. Rules are stateless and may run concurrently for different nodes.
+ */
+@FunctionalInterface
+public interface DiffRule<T> {
+
+    void check(NodeDiff<T> node, Consumer<Finding> findings);
+
+}
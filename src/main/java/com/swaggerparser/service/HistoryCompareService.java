@@ -0,0 +1,125 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BatchCompareResponse;
+import com.swaggerparser.dto.Compatibility;
+import com.swaggerparser.dto.HistoryCompareRequest;
+import com.swaggerparser.dto.HistoryCompareResponse;
+import com.swaggerparser.dto.PairCompareResult;
+import com.swaggerparser.dto.Severity;
+import com.swaggerparser.dto.SpecCompareRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares a chain of releases. Each version is loaded once and every comparison, adjacent or matrix, runs as one
+ * parallel batch, so the parsed models and their fingerprints are shared by all comparisons they take part in, and
+ * the batch's {@code max-pairs} limit applies to them all. The matrix is upper-triangular: only older versions are
+ * compared against newer ones.
+ */
+@Slf4j
+@Service
+public class HistoryCompareService {
+
+    private final BatchCompareService batchCompareService;
+    private final SpecParserProperties.History config;
+    private final int maxPairs;
+
+    public HistoryCompareService(BatchCompareService batchCompareService, SpecParserProperties properties) {
+        this.batchCompareService = batchCompareService;
+        this.config = properties.getHistory();
+        this.maxPairs = properties.getBatch().getMaxPairs();
+    }
+
+    public HistoryCompareResponse compare(HistoryCompareRequest request) {
+        List<String> versions = request.getVersions();
+        if (versions.size() < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least two versions are required");
+        }
+        if (versions.size() > config.getMaxVersions()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "History has " + versions.size() + " versions, limit is " + config.getMaxVersions());
+        }
+
+        int n = versions.size();
+        int comparisons = request.isMatrix() ? n * (n - 1) / 2 : n - 1;
+        if (comparisons > maxPairs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "History needs " + comparisons + " comparisons, limit is " + maxPairs);
+        }
+        List<SpecCompareRequest> pairs = new ArrayList<>();
+        for (int i = 0; i + 1 < n; i++) {
+            pairs.add(pair(versions.get(i), versions.get(i + 1)));
+        }
+        if (request.isMatrix()) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 2; j < n; j++) {
+                    pairs.add(pair(versions.get(i), versions.get(j)));
+                }
+            }
+        }
+
+        BatchCompareResponse batch = batchCompareService.comparePairs(pairs);
+        List<PairCompareResult> results = batch.getResults();
+
+        HistoryCompareResponse response = new HistoryCompareResponse();
+        response.setVersions(versions);
+        response.setSteps(new ArrayList<>(results.subList(0, n - 1)));
+        response.setDistinctSpecs(batch.getDistinctSpecs());
+        response.setDurationMillis(batch.getDurationMillis());
+        if (request.isMatrix()) {
+            List<List<Compatibility>> matrix = matrix(n, results);
+            response.setMatrix(matrix);
+            for (int i = 0; i < n; i++) {
+                if (matrix.get(i).get(n - 1) == Compatibility.COMPATIBLE) {
+                    response.setOldestCompatibleWithLatest(versions.get(i));
+                    break;
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Lays the results out by version index; {@code results} holds the adjacent pairs first, then the remaining
+     * pairs row by row, as built by {@link #compare(HistoryCompareRequest)}. Cells below the diagonal stay
+     * {@code null}, as newer versions are not compared against older ones.
+     */
+    private static List<List<Compatibility>> matrix(int n, List<PairCompareResult> results) {
+        List<List<Compatibility>> matrix = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            matrix.add(new ArrayList<>(Collections.nCopies(n, (Compatibility) null)));
+            matrix.get(i).set(i, Compatibility.COMPATIBLE);
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            matrix.get(i).set(i + 1, compatibility(results.get(i)));
+        }
+        int next = n - 1;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 2; j < n; j++) {
+                matrix.get(i).set(j, compatibility(results.get(next++)));
+            }
+        }
+        return matrix;
+    }
+
+    private static Compatibility compatibility(PairCompareResult result) {
+        if (result.getError() != null || result.getBreakingChange() == null) {
+            return Compatibility.ERROR;
+        }
+        boolean breaking = result.getBreakingChange().getFindings().stream().anyMatch(f -> f.getSeverity() == Severity.MAJOR);
+        return breaking ? Compatibility.BREAKING : Compatibility.COMPATIBLE;
+    }
+
+    private static SpecCompareRequest pair(String sourcePath, String targetPath) {
+        SpecCompareRequest pair = new SpecCompareRequest();
+        pair.setSourcePath(sourcePath);
+        pair.setTargetPath(targetPath);
+        return pair;
+    }
+
+}
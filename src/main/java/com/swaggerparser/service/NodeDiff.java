@@ -0,0 +1,31 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.FindingLocation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A source and target node handed to the rules of its {@link NodeType}.
+ */
+@Getter
+@AllArgsConstructor
+public class NodeDiff<T> {
+
+    /**
+     * Path, parameter or property name of the node, where it has one.
+     */
+    private final String name;
+    private final T src;
+    private final T tgt;
+
+    /**
+     * Where findings about the node are reported, or {@code null} for schema nodes whose findings are located by
+     * the caller.
+     */
+    private final FindingLocation location;
+
+    public boolean bothPresent() {
+        return src != null && tgt != null;
+    }
+
+}
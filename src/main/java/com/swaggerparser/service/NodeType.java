@@ -0,0 +1,31 @@
+package com.swaggerparser.service;
+
+/**
+ * Kinds of node pairs the comparison visits; every rule is registered for exactly one of them.
+ */
+public enum NodeType {
+
+    /** The path names of both documents within the comparison's scope. */
+    PATHS,
+    /** The component schema names of both documents within the comparison's scope. */
+    COMPONENTS,
+    /** A path removed from the source and matched to the path it was renamed to in the target. */
+    RENAMED_PATH,
+    /** A component schema removed from the source and matched to the schema it was renamed to in the target. */
+    RENAMED_SCHEMA,
+    /** A property removed from a schema and matched to the property it was renamed to in the target. */
+    RENAMED_PROPERTY,
+    /** A path operation; either side may be missing. */
+    OPERATION,
+    /** A parameter present on both sides of an operation. */
+    PARAMETER,
+    /** A request body present on both sides of an operation. */
+    REQUEST_BODY,
+    /** A response status code present on both sides of an operation. */
+    RESPONSE,
+    /** A named schema, reached from the components or from a body or response. */
+    SCHEMA,
+    /** A property present on both sides of a schema, a parameter's schema, or the items of an array property. */
+    PROPERTY
+
+}
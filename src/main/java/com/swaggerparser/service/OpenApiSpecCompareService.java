@@ -1,20 +1,34 @@
 package com.swaggerparser.service;
 
+import com.swaggerparser.config.SpecParserProperties;
 import com.swaggerparser.dto.BreakingChange;
-import io.swagger.parser.OpenAPIParser;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.FindingLocation;
+import com.swaggerparser.dto.Section;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.Schema;
-import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.swagger.v3.oas.models.PathItem.HttpMethod;
@@ -22,550 +36,652 @@ import static io.swagger.v3.oas.models.PathItem.HttpMethod;
 @Service
 public class OpenApiSpecCompareService {
 
-    public BreakingChange analyzeBreakingChanges(String srcPath, String tgtPath) {
-
-//        ParseOptions options = new ParseOptions();
-//        options.setResolve(true);
-//        options.setResolveFully(true);
-//        options.setResolveCombinators(true);
-        SwaggerParseResult srcParseResult = new OpenAPIParser().readLocation(srcPath, null, null);
-        SwaggerParseResult tgtParseResult = new OpenAPIParser().readLocation(tgtPath, null, null);
-
-        return analyzeBreakingChanges(srcParseResult, tgtParseResult);
+    /**
+     * Node types reached through path operations; without rules for any of them operations are not visited.
+     */
+    private static final NodeType[] OPERATION_NODES = {
+            NodeType.OPERATION, NodeType.PARAMETER, NodeType.REQUEST_BODY, NodeType.RESPONSE, NodeType.SCHEMA, NodeType.PROPERTY};
+
+    private final SpecParseCache specParseCache;
+    private final SpecParserProperties.Diff diffConfig;
+    private final ForkJoinPool diffPool;
+    private final CompareMetrics metrics;
+    private final ComparisonResultCache resultCache;
+    private final SpecPreScanner preScanner;
+    private final Executor loadExecutor;
+    private final RuleRegistry ruleRegistry;
+    private final SpecRegistry specRegistry;
+    private final RenameDetector renameDetector;
+    private final String settingsVariant;
+
+    public OpenApiSpecCompareService(SpecParseCache specParseCache, SpecParserProperties properties, ForkJoinPool diffPool) {
+        this(specParseCache, properties, diffPool, CompareMetrics.noop(), ComparisonResultCache.disabled(), new SpecPreScanner(properties));
     }
 
-    public BreakingChange analyzeBreakingChanges(SwaggerParseResult source, SwaggerParseResult target) {
-        BreakingChange breakingChange = new BreakingChange();
-        BreakingChange pathChanges = breakingChangesForPath(source.getOpenAPI(), target.getOpenAPI());
-        if (pathChanges.hasChanges()) {
-            breakingChange.getMajorChanges().addAll(pathChanges.getMajorChanges());
-            breakingChange.getMinorChanges().addAll(pathChanges.getMinorChanges());
-        }
-
-        BreakingChange schemaChanges = breakingChangesForSchemas(source.getOpenAPI().getComponents().getSchemas(), target.getOpenAPI().getComponents().getSchemas());
-        if (schemaChanges.hasChanges()) {
-            breakingChange.getMajorChanges().addAll(schemaChanges.getMajorChanges());
-            breakingChange.getMinorChanges().addAll(schemaChanges.getMinorChanges());
-        }
+    public OpenApiSpecCompareService(SpecParseCache specParseCache, SpecParserProperties properties, ForkJoinPool diffPool,
+                                     CompareMetrics metrics, ComparisonResultCache resultCache, SpecPreScanner preScanner) {
+        this(specParseCache, properties, diffPool, metrics, resultCache, preScanner, Runnable::run);
+    }
 
-        return breakingChange;
+    public OpenApiSpecCompareService(SpecParseCache specParseCache, SpecParserProperties properties, ForkJoinPool diffPool,
+                                     CompareMetrics metrics, ComparisonResultCache resultCache, SpecPreScanner preScanner,
+                                     Executor loadExecutor) {
+        this(specParseCache, properties, diffPool, metrics, resultCache, preScanner, loadExecutor, new RuleRegistry(properties, metrics));
     }
 
-    public BreakingChange breakingChangesForPath(OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
+    public OpenApiSpecCompareService(SpecParseCache specParseCache, SpecParserProperties properties, ForkJoinPool diffPool,
+                                     CompareMetrics metrics, ComparisonResultCache resultCache, SpecPreScanner preScanner,
+                                     Executor loadExecutor, RuleRegistry ruleRegistry) {
+        this(specParseCache, properties, diffPool, metrics, resultCache, preScanner, loadExecutor, ruleRegistry, SpecRegistry.disabled());
+    }
 
-        BreakingChange changes = new BreakingChange();
+    @Autowired
+    public OpenApiSpecCompareService(SpecParseCache specParseCache, SpecParserProperties properties, ForkJoinPool diffPool,
+                                     CompareMetrics metrics, ComparisonResultCache resultCache, SpecPreScanner preScanner,
+                                     @Qualifier("loadExecutor") Executor loadExecutor, RuleRegistry ruleRegistry, SpecRegistry specRegistry) {
+        this.specParseCache = specParseCache;
+        this.diffConfig = properties.getDiff();
+        this.diffPool = diffPool;
+        this.metrics = metrics;
+        this.resultCache = resultCache;
+        this.preScanner = preScanner;
+        this.loadExecutor = loadExecutor;
+        this.ruleRegistry = ruleRegistry;
+        this.specRegistry = specRegistry;
+        this.renameDetector = new RenameDetector(properties.getRenames());
+        this.settingsVariant = "depth=" + diffConfig.getMaxSchemaDepth()
+                + ";renames=" + properties.getRenames().getThreshold() + '/' + properties.getRenames().getMinFeatures();
+    }
 
-        Set<String> srcPathNames = srcOpenApi.getPaths().keySet();
-        Set<String> tgtPathNames = tgtOpenApi.getPaths().keySet();
+    public RuleRegistry getRuleRegistry() {
+        return ruleRegistry;
+    }
 
-        tgtPathNames
-                .stream()
-                .filter(v -> !srcPathNames.contains(v))
-                .forEach(v -> {
-                    changes.getMajorChanges().add(v + ": Added in target");
-                });
+    /**
+     * What a cached result depends on besides the two documents: the request options, the rules they resolve to
+     * and the server settings that change findings, so a configuration change or an added rule is never answered
+     * with an older result.
+     */
+    String resultVariant(ComparisonOptions options) {
+        return options.cacheKey() + '|' + ruleRegistry.table(options).getSignature() + '|' + settingsVariant;
+    }
 
-        srcPathNames
-                .stream()
-                .filter(v -> !tgtPathNames.contains(v))
-                .forEach(v -> {
-                    changes.getMajorChanges().add(v + ": Removed from target");
-                });
+    public BreakingChange analyzeBreakingChanges(String srcPath, String tgtPath) {
+        return analyzeBreakingChanges(srcPath, tgtPath, ComparisonOptions.defaults());
+    }
 
-        Set<String> commonPathNames = srcPathNames.stream()
-                .distinct()
-                .filter(tgtPathNames::contains)
-                .collect(Collectors.toSet());
+    public BreakingChange analyzeBreakingChanges(String srcPath, String tgtPath, ComparisonOptions options) {
+        return analyzeBreakingChanges(srcPath, tgtPath, options, ComparisonControl.unbounded());
+    }
 
-        commonPathNames.forEach(v -> {
-            BreakingChange pathChanges = breakingChangesForPath(v, srcOpenApi, tgtOpenApi);
-            if (pathChanges.hasChanges()) {
-                changes.getMajorChanges().addAll(pathChanges.getMajorChanges());
-                changes.getMinorChanges().addAll(pathChanges.getMinorChanges());
-            }
+    /**
+     * Checks {@code control} before and after the documents are loaded and between path operations and schemas, and
+     * throws {@link ComparisonAbortedException} once it is cancelled or past its deadline.
+     */
+    public BreakingChange analyzeBreakingChanges(String srcPath, String tgtPath, ComparisonOptions options, ComparisonControl control) {
+        return metrics.time("total", CompareMetrics.ALL, () -> {
+            control.checkpoint();
+            Prepared prepared = prepare(srcPath, tgtPath, options);
+            control.checkpoint();
+            return analyzePrepared(prepared, options, control);
         });
-
-        return changes;
     }
 
-    public BreakingChange breakingChangesForPath(String path, OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
-        BreakingChange pathChanges = new BreakingChange();
-
-        PathItem srcPathItem = srcOpenApi.getPaths().get(path);
-        PathItem tgtPathItem = tgtOpenApi.getPaths().get(path);
+    /**
+     * Same as {@link #analyzeBreakingChanges(String, String, ComparisonOptions)} for documents whose content is
+     * already at hand, e.g. uploaded with the request.
+     */
+    public BreakingChange analyzeBreakingChanges(SpecDocument source, SpecDocument target, ComparisonOptions options) {
+        return metrics.time("total", CompareMetrics.ALL, () -> analyzePrepared(prepare(source, target, options), options, ComparisonControl.unbounded()));
+    }
 
-        for (HttpMethod method : HttpMethod.values()) {
-            BreakingChange methodChanges = breakingChangesForPath(path, method, srcPathItem.readOperationsMap().get(method), tgtPathItem.readOperationsMap().get(method), srcOpenApi, tgtOpenApi);
-            pathChanges.getMajorChanges().addAll(methodChanges.getMajorChanges());
-            pathChanges.getMinorChanges().addAll(methodChanges.getMinorChanges());
+    private BreakingChange analyzePrepared(Prepared prepared, ComparisonOptions options, ComparisonControl control) {
+        if (prepared.getCached() != null) {
+            return prepared.getCached();
         }
-        return pathChanges;
+        prepared.getContext().setControl(control);
+        BreakingChange breakingChange = analyzeBreakingChanges(prepared.getContext());
+        resultCache.put(prepared.getSrcHash(), prepared.getTgtHash(), resultVariant(options), breakingChange);
+        return breakingChange;
     }
 
-    public BreakingChange breakingChangesForPath(String path, HttpMethod method, Operation srcOperation, Operation tgtOperation, OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
-
-        BreakingChange changes = new BreakingChange();
-
-        if (srcOperation == null && tgtOperation == null) {
-            return changes;
-        } else if (srcOperation == null) {
-            changes.getMajorChanges().add(path + ": Added " + method + " Operation");
-        } else if (tgtOperation == null) {
-            changes.getMajorChanges().add(path + ": Removed " + method + " Operation");
-        } else {
-            if (srcOperation.getParameters() == null) {
-                srcOperation.setParameters(new ArrayList<>());
-            }
-            if (tgtOperation.getParameters() == null) {
-                tgtOperation.setParameters(new ArrayList<>());
-            }
-
-            for (int i = 0; i < srcOperation.getParameters().size(); i++) {
-                Parameter parameter = srcOperation.getParameters().get(i);
-                if (parameter.getName() == null && parameter.get$ref() != null) {
-                    String parameterName = parameter.get$ref().substring(parameter.get$ref().lastIndexOf("/") + 1);
-                    srcOperation.getParameters().set(i, srcOpenApi.getComponents().getParameters().get(parameterName));
-                }
-            }
+    public BreakingChange analyzeBreakingChanges(ParsedSpec source, ParsedSpec target) {
+        return analyzeBreakingChanges(source, target, ComparisonOptions.defaults(), ComparisonControl.unbounded());
+    }
 
-            for (int i = 0; i < tgtOperation.getParameters().size(); i++) {
-                Parameter parameter = tgtOperation.getParameters().get(i);
-                if (parameter.getName() == null && parameter.get$ref() != null) {
-                    String parameterName = parameter.get$ref().substring(parameter.get$ref().lastIndexOf("/") + 1);
-                    tgtOperation.getParameters().set(i, tgtOpenApi.getComponents().getParameters().get(parameterName));
-                }
-            }
+    public BreakingChange analyzeBreakingChanges(ParsedSpec source, ParsedSpec target, ComparisonControl control) {
+        return analyzeBreakingChanges(source, target, ComparisonOptions.defaults(), control);
+    }
 
-            List<String> srcParameterNames = srcOperation.getParameters()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .map(Parameter::getName)
-                    .collect(Collectors.toList());
+    /**
+     * Checks {@code control} between path operations and schemas and throws {@link ComparisonAbortedException}
+     * once it is cancelled or past its deadline.
+     */
+    public BreakingChange analyzeBreakingChanges(ParsedSpec source, ParsedSpec target, ComparisonOptions options, ComparisonControl control) {
+        return metrics.time("total", CompareMetrics.ALL, () -> analyzeCached(source, target, options, control));
+    }
 
-            List<String> tgtParameterNames = tgtOperation.getParameters()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .map(Parameter::getName)
-                    .collect(Collectors.toList());
+    /**
+     * Results of documents identified by content hash are served from, and added to, the result cache.
+     */
+    private BreakingChange analyzeCached(ParsedSpec source, ParsedSpec target, ComparisonOptions options, ComparisonControl control) {
+        BreakingChange cached = resultCache.get(source.getContentHash(), target.getContentHash(), resultVariant(options));
+        if (cached != null) {
+            return cached;
+        }
+        ComparisonContext context = comparisonContext(source, target, options);
+        context.setControl(control);
+        BreakingChange breakingChange = analyzeBreakingChanges(context);
+        resultCache.put(source.getContentHash(), target.getContentHash(), resultVariant(options), breakingChange);
+        return breakingChange;
+    }
 
-            String newParameters = tgtParameterNames.stream()
-                    .filter(v -> !srcParameterNames.contains(v))
-                    .collect(Collectors.joining(", "));
+    public BreakingChange analyzeBreakingChanges(SwaggerParseResult source, SwaggerParseResult target) {
+        return metrics.time("total", CompareMetrics.ALL, () -> analyzeBreakingChanges(comparisonContext(source, target, ComparisonOptions.defaults())));
+    }
 
-            if (!newParameters.isEmpty()) {
-                changes.getMajorChanges().add(path + " -> " + method.name() + ": Parameters added to Target: " + newParameters);
-            }
+    private BreakingChange analyzeBreakingChanges(ComparisonContext context) {
+        BreakingChange breakingChange = new BreakingChange();
+        metrics.time("paths", CompareMetrics.ALL, () -> diffPaths(context, true, breakingChange::merge));
+        metrics.time("schemas", CompareMetrics.ALL, () -> diffSchemas(context, true, breakingChange::merge));
+        breakingChange.getFindings().forEach(metrics::recordFinding);
+        metrics.recordSchemaMemo(context);
+        return breakingChange;
+    }
 
-            String removedParameters = srcParameterNames.stream()
-                    .filter(v -> !tgtParameterNames.contains(v))
-                    .collect(Collectors.joining(", "));
-            if (!removedParameters.isEmpty()) {
-                changes.getMajorChanges().add(path + " -> " + method.name() + ": Parameters removed from Target: " + removedParameters);
-            }
+    public void streamBreakingChanges(String srcPath, String tgtPath, Consumer<Finding> findings) {
+        streamBreakingChanges(srcPath, tgtPath, ComparisonOptions.defaults(), findings);
+    }
 
-            List<String> srcRequiredParameterNames = srcOperation.getParameters()
-                    .stream()
-                    .filter(p -> p != null && p.getRequired() != null && p.getRequired())
-                    .map(Parameter::getName)
-                    .collect(Collectors.toList());
-
-            List<String> tgtRequiredParameterNames = tgtOperation.getParameters()
-                    .stream()
-                    .filter(p -> p != null && p.getRequired() != null && p.getRequired())
-                    .map(Parameter::getName)
-                    .collect(Collectors.toList());
-
-            String requiredChanges = compareRequiredProps(srcRequiredParameterNames, tgtRequiredParameterNames, "Parameters");
-            if (requiredChanges != null && !requiredChanges.isEmpty()) {
-                changes.getMajorChanges().add(path + " -> " + method.name() + ": " + requiredChanges);
+    public void streamBreakingChanges(String srcPath, String tgtPath, ComparisonOptions options, Consumer<Finding> findings) {
+        metrics.time("total", CompareMetrics.ALL, () -> {
+            Prepared prepared = prepare(srcPath, tgtPath, options);
+            if (prepared.getCached() != null) {
+                prepared.getCached().getFindings().forEach(findings);
+            } else {
+                streamBreakingChanges(prepared.getContext(), findings);
             }
+        });
+    }
 
-            List<String> commonParameters = srcParameterNames.stream()
-                    .filter(tgtParameterNames::contains)
-                    .collect(Collectors.toList());
-
-            commonParameters.forEach(v -> {
-                Parameter srcParameter = getParameter(v, srcOperation.getParameters());
-                Parameter tgtParameter = getParameter(v, tgtOperation.getParameters());
-                List<String> paramChanges = compareProperties(v, srcParameter.getSchema(), tgtParameter.getSchema());
-                for (String paramChange : paramChanges) {
-                    changes.getMajorChanges().add(path + " -> " + method.name() + ": " + paramChange);
-                }
-                if (!srcParameter.getIn().equals(tgtParameter.getIn())) {
-                    changes.getMajorChanges().add(path + " -> " + method.name() + ": Parameter is " + srcParameter.getIn() + " in source and " + tgtParameter.getIn() + " in target");
-                }
-            });
+    public void streamBreakingChanges(SwaggerParseResult source, SwaggerParseResult target, Consumer<Finding> findings) {
+        metrics.time("total", CompareMetrics.ALL, () -> streamBreakingChanges(comparisonContext(source, target, ComparisonOptions.defaults()), findings));
+    }
 
-            if (srcOperation.getRequestBody() != null && tgtOperation.getRequestBody() != null) {
-                BreakingChange requestBodyChanges = compareRequestBodyChanges(srcOperation.getRequestBody(), tgtOperation.getRequestBody(), srcOpenApi, tgtOpenApi);
-                if (requestBodyChanges.hasChanges()) {
-                    for (String reqMajorChange : requestBodyChanges.getMajorChanges()) {
-                        changes.getMajorChanges().add(path + " -> " + method.name() + ": " + reqMajorChange);
-                    }
-                    for (String reqMinorChange : requestBodyChanges.getMinorChanges()) {
-                        changes.getMinorChanges().add(path + " -> " + method.name() + ": " + reqMinorChange);
-                    }
+    /**
+     * Emits findings as soon as each path operation or schema diff finishes instead of collecting them; in parallel
+     * mode the order follows task completion. {@code findings} is only ever called by one thread at a time.
+     */
+    private void streamBreakingChanges(ComparisonContext context, Consumer<Finding> findings) {
+        Consumer<BreakingChange> results = change -> {
+            if (change.hasChanges()) {
+                synchronized (findings) {
+                    change.getFindings().forEach(f -> {
+                        metrics.recordFinding(f);
+                        findings.accept(f);
+                    });
                 }
-            } else if (srcOperation.getRequestBody() == null && tgtOperation.getRequestBody() != null) {
-                changes.getMajorChanges().add(path + " -> " + method.name() + ": Request body added on target");
-            } else if (srcOperation.getRequestBody() != null && tgtOperation.getRequestBody() == null) {
-                changes.getMajorChanges().add(path + " -> " + method.name() + ": Request body removed from target");
             }
+        };
+        metrics.time("paths", CompareMetrics.ALL, () -> diffPaths(context, false, results));
+        metrics.time("schemas", CompareMetrics.ALL, () -> diffSchemas(context, false, results));
+        metrics.recordSchemaMemo(context);
+    }
 
-            if (hasValidResponse(srcOperation.getResponses()) && hasValidResponse(tgtOperation.getResponses())) {
-                BreakingChange breakingChange = compareApiResponsesChanges(srcOperation.getResponses(), tgtOperation.getResponses(), srcOpenApi, tgtOpenApi);
-                if (breakingChange.hasChanges()) {
-                    changes.getMinorChanges().addAll(breakingChange.getMinorChanges()
-                            .stream()
-                            .map(c -> path + " -> " + method.name() + " -> " + c)
-                            .collect(Collectors.toList()));
-                    changes.getMajorChanges().addAll(breakingChange.getMajorChanges()
-                            .stream()
-                            .map(c -> path + " -> " + method.name() + " -> " + c)
-                            .collect(Collectors.toList()));
-                }
-            } else if (!hasValidResponse(srcOperation.getResponses()) && hasValidResponse(tgtOperation.getResponses())) {
-                tgtOperation.getResponses().forEach((k, v) -> {
-                    v.getContent().forEach((k1, v1) -> {
-                        changes.getMajorChanges().add(path + " -> " + method.name() + " -> " + k + " -> " + k1 + ": Response added to target");
-                    });
-                });
+    /**
+     * Fetches both documents, the target on the load executor while this thread fetches the source. The rule
+     * selection is checked first, so an unknown rule set fails before anything is read. When either side is a
+     * registered spec, its stored model is used and nothing is fetched for it.
+     */
+    private Prepared prepare(String srcPath, String tgtPath, ComparisonOptions options) {
+        ruleRegistry.table(options);
+        ParsedSpec srcRegistered = specRegistry.find(srcPath);
+        ParsedSpec tgtRegistered = specRegistry.find(tgtPath);
+        if (srcRegistered != null || tgtRegistered != null) {
+            CompletableFuture<ParsedSpec> targetLoad = tgtRegistered != null ? CompletableFuture.completedFuture(tgtRegistered)
+                    : CompletableFuture.supplyAsync(() -> metrics.time("load", CompareMetrics.TARGET, () -> specParseCache.load(tgtPath)), loadExecutor);
+            ParsedSpec src = srcRegistered != null ? srcRegistered : metrics.time("load", CompareMetrics.SOURCE, () -> specParseCache.load(srcPath));
+            ParsedSpec tgt = join(targetLoad);
+            BreakingChange cached = resultCache.get(src.getContentHash(), tgt.getContentHash(), resultVariant(options));
+            return new Prepared(src.getContentHash(), tgt.getContentHash(), cached, cached != null ? null : comparisonContext(src, tgt, options));
+        }
+        CompletableFuture<SpecDocument> targetFetch = CompletableFuture.supplyAsync(() -> specParseCache.fetch(tgtPath), loadExecutor);
+        SpecDocument source = specParseCache.fetch(srcPath);
+        return prepare(source, join(targetFetch), options);
+    }
 
-            } else if (hasValidResponse(srcOperation.getResponses()) && !hasValidResponse(tgtOperation.getResponses())) {
-                srcOperation.getResponses().forEach((k, v) -> {
-                    v.getContent().forEach((k1, v1) -> {
-                        changes.getMajorChanges().add(path + " -> " + method.name() + " -> " + k + " -> " + k1 + ": Response removed from target");
-                    });
-                });
+    /**
+     * Returns either the cached result of both documents or a context to diff them in. Large documents are
+     * pre-scanned so only their changed regions are parsed, unless both are already in the parse cache; otherwise
+     * both go through the parse cache, the target on the load executor while this thread handles the source.
+     */
+    private Prepared prepare(SpecDocument srcDocument, SpecDocument tgtDocument, ComparisonOptions options) {
+        byte[] source = srcDocument.getContent();
+        byte[] target = tgtDocument.getContent();
+        String srcHash = srcDocument.getContentHash();
+        String tgtHash = tgtDocument.getContentHash();
+        BreakingChange cached = resultCache.get(srcHash, tgtHash, resultVariant(options));
+        if (cached != null) {
+            return new Prepared(srcHash, tgtHash, cached, null);
+        }
+        if (preScanner.applies(source.length, target.length) && !(specParseCache.contains(srcHash) && specParseCache.contains(tgtHash))) {
+            SpecPreScanner.ReducedSpecs reduced = metrics.time("prescan", CompareMetrics.ALL, () -> preScanner.reduce(source, target, options.isDetectRenames()));
+            if (reduced != null) {
+                return new Prepared(srcHash, tgtHash, null, comparisonContext(reduced.getSource(), reduced.getTarget(), options));
             }
         }
-
-        return changes;
+        CompletableFuture<ParsedSpec> targetLoad = CompletableFuture.supplyAsync(
+                () -> metrics.time("load", CompareMetrics.TARGET, () -> specParseCache.load(tgtDocument)), loadExecutor);
+        ParsedSpec src = metrics.time("load", CompareMetrics.SOURCE, () -> specParseCache.load(srcDocument));
+        ParsedSpec tgt = join(targetLoad);
+        return new Prepared(srcHash, tgtHash, null, comparisonContext(src, tgt, options));
     }
 
-    public BreakingChange compareRequestBodyChanges(RequestBody srcRequestBody, RequestBody tgtRequestBody, OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
-        BreakingChange requestBodyChanges = new BreakingChange();
-        Set<String> srcContentNames = srcRequestBody.getContent().keySet();
-        Set<String> tgtContentNames = tgtRequestBody.getContent().keySet();
-
-        tgtContentNames
-                .stream()
-                .filter(v -> !srcContentNames.contains(v))
-                .forEach(v -> {
-                    requestBodyChanges.getMajorChanges().add("Added in target");
-                });
-
-        srcContentNames
-                .stream()
-                .filter(v -> !tgtContentNames.contains(v))
-                .forEach(v -> {
-                    requestBodyChanges.getMajorChanges().add("Removed from target");
-                });
-
-        Set<String> commonSchemaNames = srcContentNames.stream()
-                .distinct()
-                .filter(tgtContentNames::contains)
-                .collect(Collectors.toSet());
-
-        commonSchemaNames.forEach(v -> {
-            if (srcRequestBody.getContent().get(v).getSchema().get$ref() != null &&
-                    srcRequestBody.getContent().get(v).getSchema().get$ref().equals(tgtRequestBody.getContent().get(v).getSchema().get$ref())) {
-                String schemaName = srcRequestBody.getContent().get(v).getSchema().get$ref().substring(srcRequestBody.getContent().get(v).getSchema().get$ref().lastIndexOf("/") + 1);
-                Schema srcSchema = srcOpenApi.getComponents().getSchemas().get(schemaName);
-                Schema tgtSchema = tgtOpenApi.getComponents().getSchemas().get(schemaName);
-                BreakingChange breakingChange = breakingChangesForSchema(srcSchema, tgtSchema);
-                if (breakingChange.hasChanges()) {
-                    requestBodyChanges.getMajorChanges().addAll(breakingChange.getMajorChanges());
-                    requestBodyChanges.getMinorChanges().addAll(breakingChange.getMinorChanges());
-                }
-            } else {
-                BreakingChange breakingChange = new BreakingChange();
-                breakingChange.setMajorChanges(Collections.singletonList("Request body changed"));
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-
-        });
-        return requestBodyChanges;
+            throw e;
+        }
     }
 
-    public BreakingChange compareApiResponsesChanges(ApiResponses srcResponses, ApiResponses tgtResponses, OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
-        BreakingChange responseBodyChanges = new BreakingChange();
-        Set<String> srcResponseNames = srcResponses.keySet();
-        Set<String> tgtResponseNames = tgtResponses.keySet();
-
-        tgtResponseNames
-                .stream()
-                .filter(v -> !srcResponseNames.contains(v))
-                .forEach(v -> {
-                    if (tgtResponses.get(v) != null && tgtResponses.get(v).getContent() != null) {
-                        tgtResponses.get(v).getContent().forEach((k, s) -> {
-                            responseBodyChanges.getMajorChanges().add(v + " -> " + k + ": Added in target");
-                        });
-                    }
-                });
-
-        srcResponseNames
-                .stream()
-                .filter(v -> !tgtResponseNames.contains(v))
-                .forEach(v -> {
-                    if (srcResponses.get(v) != null && srcResponses.get(v).getContent() != null) {
-                        srcResponses.get(v).getContent().forEach((k, s) -> {
-                            responseBodyChanges.getMajorChanges().add(v + " -> " + k + ": Removed from target");
-                        });
-                    }
-                });
-
-        Set<String> commonSchemaNames = srcResponseNames.stream()
-                .distinct()
-                .filter(tgtResponseNames::contains)
-                .collect(Collectors.toSet());
-
-        commonSchemaNames.forEach(v -> {
-            BreakingChange changeMap = compareResponseContentChanges(srcResponses.get(v).getContent(), tgtResponses.get(v).getContent(), srcOpenApi, tgtOpenApi);
-            if (changeMap.hasChanges()) {
-                responseBodyChanges.getMinorChanges().addAll(changeMap.getMinorChanges()
-                        .stream()
-                        .map(c -> v + " -> " + c)
-                        .collect(Collectors.toList()));
-                responseBodyChanges.getMajorChanges().addAll(changeMap.getMajorChanges()
-                        .stream()
-                        .map(c -> v + " -> " + c)
-                        .collect(Collectors.toList()));
-            }
-        });
-        return responseBodyChanges;
+    private ComparisonContext comparisonContext(ParsedSpec source, ParsedSpec target, ComparisonOptions options) {
+        requireOpenApi(source.getParseResult(), "source");
+        requireOpenApi(target.getParseResult(), "target");
+        metrics.recordSpecSize(source.getParseResult().getOpenAPI());
+        metrics.recordSpecSize(target.getParseResult().getOpenAPI());
+        CompiledSpec src = metrics.time("compile", CompareMetrics.SOURCE, source::getCompiled);
+        CompiledSpec tgt = metrics.time("compile", CompareMetrics.TARGET, target::getCompiled);
+        if (!diffConfig.isFingerprints()) {
+            return withOptions(new ComparisonContext(src, tgt, null, null), options);
+        }
+        SpecFingerprints srcFingerprints = metrics.time("fingerprint", CompareMetrics.SOURCE, source::getFingerprints);
+        SpecFingerprints tgtFingerprints = metrics.time("fingerprint", CompareMetrics.TARGET, target::getFingerprints);
+        return withOptions(new ComparisonContext(src, tgt, srcFingerprints, tgtFingerprints), options);
     }
 
-    public BreakingChange compareResponseContentChanges(Content srcContentIn, Content tgtContentIn, OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
-        BreakingChange responseBodyChanges = new BreakingChange();
+    private ComparisonContext comparisonContext(SwaggerParseResult source, SwaggerParseResult target, ComparisonOptions options) {
+        requireOpenApi(source, "source");
+        requireOpenApi(target, "target");
+        metrics.recordSpecSize(source.getOpenAPI());
+        metrics.recordSpecSize(target.getOpenAPI());
+        CompiledSpec src = metrics.time("compile", CompareMetrics.SOURCE, () -> new CompiledSpec(source.getOpenAPI()));
+        CompiledSpec tgt = metrics.time("compile", CompareMetrics.TARGET, () -> new CompiledSpec(target.getOpenAPI()));
+        if (!diffConfig.isFingerprints()) {
+            return withOptions(new ComparisonContext(src, tgt, null, null), options);
+        }
+        SpecFingerprints srcFingerprints = metrics.time("fingerprint", CompareMetrics.SOURCE, () -> SpecFingerprints.of(source.getOpenAPI()));
+        SpecFingerprints tgtFingerprints = metrics.time("fingerprint", CompareMetrics.TARGET, () -> SpecFingerprints.of(target.getOpenAPI()));
+        return withOptions(new ComparisonContext(src, tgt, srcFingerprints, tgtFingerprints), options);
+    }
 
-        Content srcContent = srcContentIn == null ? new Content() : srcContentIn;
-        Content tgtContent = tgtContentIn == null ? new Content() : tgtContentIn;
+    private ComparisonContext withOptions(ComparisonContext context, ComparisonOptions options) {
+        context.setRules(ruleRegistry.table(options));
+        if (options.isScoped()) {
+            context.setScope(metrics.time("scope", CompareMetrics.ALL, () -> SpecScope.of(context.getSrc(), context.getTgt(), options)));
+        }
+        if (options.isDetectRenames()) {
+            context.setDetectRenames(true);
+            metrics.time("renames", CompareMetrics.ALL, () -> detectRenames(context));
+        }
+        return context;
+    }
 
-        Set<String> srcContentNames = srcContent.keySet();
-        Set<String> tgtContentNames = tgtContent.keySet();
+    private void detectRenames(ComparisonContext context) {
+        CompiledSpec src = context.getSrc();
+        CompiledSpec tgt = context.getTgt();
+        SortedSet<String> srcPaths = inScope(src.getPathNames(), context.getScope() == null ? null : context.getScope().getPaths());
+        SortedSet<String> tgtPaths = inScope(tgt.getPathNames(), context.getScope() == null ? null : context.getScope().getPaths());
+        context.setPathRenames(renameDetector.match(missingFrom(tgtPaths, srcPaths), missingFrom(srcPaths, tgtPaths),
+                v -> RenameDetector.pathFeatures(v, src.operations(v)), v -> RenameDetector.pathFeatures(v, tgt.operations(v))));
+
+        SortedSet<String> srcSchemas = inScope(src.getSchemaNames(), context.getScope() == null ? null : context.getScope().getSchemas());
+        SortedSet<String> tgtSchemas = inScope(tgt.getSchemaNames(), context.getScope() == null ? null : context.getScope().getSchemas());
+        context.setSchemaRenames(renameDetector.match(missingFrom(tgtSchemas, srcSchemas), missingFrom(srcSchemas, tgtSchemas),
+                v -> RenameDetector.schemaFeatures(src.schema(v)), v -> RenameDetector.schemaFeatures(tgt.schema(v))));
+    }
 
-        tgtContentNames
-                .stream()
-                .filter(v -> !srcContentNames.contains(v))
-                .forEach(v -> {
-                    responseBodyChanges.getMajorChanges().add(v + ": Added in target");
-                });
+    /**
+     * Names of {@code names} that {@code other} does not have.
+     */
+    private static List<String> missingFrom(Set<String> other, Collection<String> names) {
+        return names.stream().filter(v -> !other.contains(v)).collect(Collectors.toList());
+    }
 
-        srcContentNames
-                .stream()
-                .filter(v -> !tgtContentNames.contains(v))
-                .forEach(v -> {
-                    responseBodyChanges.getMajorChanges().add(v + ": Removed from target");
-                });
+    /**
+     * {@code names} without the ones matched as renames.
+     */
+    private static SortedSet<String> without(SortedSet<String> names, Collection<String> renamed) {
+        if (renamed.isEmpty()) {
+            return names;
+        }
+        SortedSet<String> remaining = new TreeSet<>(names);
+        remaining.removeAll(renamed);
+        return remaining;
+    }
 
-        Set<String> commonContentNames = srcContentNames.stream()
-                .distinct()
-                .filter(tgtContentNames::contains)
-                .collect(Collectors.toSet());
-
-        commonContentNames.forEach(v -> {
-            if (srcContent.get(v).getSchema() != null && tgtContent.get(v).getSchema() != null
-                    && srcContent.get(v).getSchema().get$ref() != null &&
-                    srcContent.get(v).getSchema().get$ref().equals(tgtContent.get(v).getSchema().get$ref())) {
-                String schemaName = srcContent.get(v).getSchema().get$ref().substring(srcContent.get(v).getSchema().get$ref().lastIndexOf("/") + 1);
-                Schema srcSchema = srcOpenApi.getComponents().getSchemas().get(schemaName);
-                Schema tgtSchema = tgtOpenApi.getComponents().getSchemas().get(schemaName);
-                BreakingChange breakingChange = breakingChangesForSchema(srcSchema, tgtSchema);
-                if (breakingChange.hasChanges()) {
-                    responseBodyChanges.getMinorChanges().addAll(breakingChange.getMinorChanges()
-                            .stream()
-                            .map(c -> v + ": " + c)
-                            .collect(Collectors.toList()));
-                    responseBodyChanges.getMajorChanges().addAll(breakingChange.getMajorChanges()
-                            .stream()
-                            .map(c -> v + ": " + c)
-                            .collect(Collectors.toList()));
-                }
-            } else if ((srcContent.get(v).getSchema() == null && tgtContent.get(v).getSchema() != null) || (srcContent.get(v).getSchema() != null && tgtContent.get(v).getSchema() == null)) {
-                responseBodyChanges.getMajorChanges().add(v + ": Response content changed");
-            }
-        });
-        return responseBodyChanges;
+    /**
+     * {@code names} limited to {@code scope}, walking whichever is smaller.
+     */
+    private static SortedSet<String> inScope(SortedSet<String> names, Set<String> scope) {
+        if (scope == null) {
+            return names;
+        }
+        SortedSet<String> scoped = new TreeSet<>();
+        if (scope.size() < names.size()) {
+            scope.stream().filter(names::contains).forEach(scoped::add);
+        } else {
+            names.stream().filter(scope::contains).forEach(scoped::add);
+        }
+        return scoped;
     }
 
-    public Parameter getParameter(String parameterName, List<Parameter> parameters) {
-        return parameters.stream().filter(p -> p != null && p.getName().equals(parameterName)).findAny().orElse(null);
+    private static void requireOpenApi(SwaggerParseResult parseResult, String side) {
+        if (parseResult.getOpenAPI() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to parse " + side + " spec: " + parseResult.getMessages());
+        }
     }
 
+    public BreakingChange breakingChangesForPath(OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
+        BreakingChange changes = new BreakingChange();
+        diffPaths(withOptions(new ComparisonContext(srcOpenApi, tgtOpenApi), ComparisonOptions.defaults()), true, changes::merge);
+        return changes;
+    }
 
-    public BreakingChange breakingChangesForSchemas(Map<String, Schema> srcSchemas, Map<String, Schema> tgtSchemas) {
-        BreakingChange schemaChanges = new BreakingChange();
+    private void diffPaths(ComparisonContext context, boolean ordered, Consumer<BreakingChange> results) {
+        context.checkpoint();
+        BreakingChange changes = new BreakingChange();
+        RuleTable rules = context.getRules();
+        Set<String> scope = context.getScope() == null ? null : context.getScope().getPaths();
+        Map<String, String> renames = context.getPathRenames();
+        SortedSet<String> srcPathNames = without(inScope(context.getSrc().getPathNames(), scope), renames.keySet());
+        SortedSet<String> tgtPathNames = without(inScope(context.getTgt().getPathNames(), scope), renames.values());
+        rules.check(NodeType.PATHS, new NodeDiff<Set<String>>(null, srcPathNames, tgtPathNames, null), changes::add);
+        renames.forEach((src, tgt) -> rules.check(NodeType.RENAMED_PATH, new NodeDiff<>(tgt, src, tgt, null), changes::add));
+
+        List<OperationPair> commonOperations = new ArrayList<>();
+        if (rules.has(OPERATION_NODES)) {
+            srcPathNames.stream()
+                    .filter(tgtPathNames::contains)
+                    .filter(v -> !context.unchangedPathItem(v))
+                    .forEach(v -> commonOperations.addAll(operationPairs(context, v, v)));
+            renames.forEach((src, tgt) -> commonOperations.addAll(operationPairs(context, src, tgt)));
+        }
 
-        Set<String> srcSchemaNames = srcSchemas.keySet();
-        Set<String> tgtSchemaNames = tgtSchemas.keySet();
+        results.accept(changes);
+        diffEach(context, commonOperations, o -> breakingChangesForPath(o.getPath(), o.getMethod(), o.getSrcOperation(), o.getTgtOperation(), context), ordered, results);
+    }
 
-        tgtSchemaNames
-                .stream()
-                .filter(v -> !srcSchemaNames.contains(v))
-                .forEach(v -> {
-                    schemaChanges.getMajorChanges().add(v + ": Added in target");
-                });
+    public BreakingChange breakingChangesForPath(String path, OpenAPI srcOpenApi, OpenAPI tgtOpenApi) {
+        BreakingChange pathChanges = new BreakingChange();
 
-        srcSchemaNames
-                .stream()
-                .filter(v -> !tgtSchemaNames.contains(v))
-                .forEach(v -> {
-                    schemaChanges.getMajorChanges().add(v + ": Removed from target");
-                });
+        ComparisonContext context = withOptions(new ComparisonContext(srcOpenApi, tgtOpenApi), ComparisonOptions.defaults());
+        for (OperationPair operation : operationPairs(context, path, path)) {
+            pathChanges.merge(breakingChangesForPath(path, operation.getMethod(), operation.getSrcOperation(), operation.getTgtOperation(), context));
+        }
+        return pathChanges;
+    }
 
-        Set<String> commonSchemaNames = srcSchemaNames.stream()
-                .distinct()
-                .filter(tgtSchemaNames::contains)
-                .collect(Collectors.toSet());
-
-        commonSchemaNames.forEach(v -> {
-            Schema srcSchema = srcSchemas.get(v);
-            Schema tgtSchema = tgtSchemas.get(v);
-            BreakingChange schemaBreakingChanges = breakingChangesForSchema(srcSchema, tgtSchema);
-            if (schemaBreakingChanges.hasChanges()) {
-                schemaChanges.getMinorChanges().addAll(schemaBreakingChanges.getMinorChanges()
-                        .stream()
-                        .map(c -> v + ": " + c)
-                        .collect(Collectors.toList()));
-                schemaChanges.getMajorChanges().addAll(schemaBreakingChanges.getMajorChanges()
-                        .stream()
-                        .map(c -> v + ": " + c)
-                        .collect(Collectors.toList()));
+    /**
+     * Operations of {@code srcPath} paired with those of {@code tgtPath}, which differ for a renamed path. Findings
+     * are located at the target path.
+     */
+    private List<OperationPair> operationPairs(ComparisonContext context, String srcPath, String tgtPath) {
+        Map<HttpMethod, CompiledOperation> srcOperations = context.getSrc().operations(srcPath);
+        Map<HttpMethod, CompiledOperation> tgtOperations = context.getTgt().operations(tgtPath);
 
+        List<OperationPair> operations = new ArrayList<>();
+        for (HttpMethod method : HttpMethod.values()) {
+            if ((srcOperations.get(method) != null || tgtOperations.get(method) != null)
+                    && !(srcPath.equals(tgtPath) && context.unchangedOperation(srcPath, method))) {
+                operations.add(new OperationPair(tgtPath, method, srcOperations.get(method), tgtOperations.get(method)));
             }
-        });
-
-        return schemaChanges;
-
+        }
+        return operations;
     }
 
-    public BreakingChange breakingChangesForSchema(Schema<Object> srcSchema, Schema<Object> tgtSchema) {
-        BreakingChange breakingChange = new BreakingChange();
+    /**
+     * Runs each diff as an independent task, on the diff pool when there are enough of them. When {@code ordered}
+     * is set, results are handed over in the order of {@code units} so the merged output does not depend on
+     * scheduling; otherwise each result is handed over as soon as its task completes. Every unit starts with a
+     * {@link ComparisonContext#checkpoint()}.
+     */
+    private <T> void diffEach(ComparisonContext context, List<T> units, Function<T, BreakingChange> unitDiff, boolean ordered, Consumer<BreakingChange> results) {
+        Function<T, BreakingChange> diff = u -> {
+            context.checkpoint();
+            return unitDiff.apply(u);
+        };
+        if (!diffConfig.isParallel() || units.size() < diffConfig.getParallelThreshold()) {
+            units.forEach(u -> results.accept(diff.apply(u)));
+        } else if (ordered) {
+            diffPool.submit(() -> units.parallelStream().map(diff).collect(Collectors.toList())).join().forEach(results);
+        } else {
+            diffPool.submit(() -> units.parallelStream().map(diff).forEach(results)).join();
+        }
+    }
 
-        if (srcSchema == null && tgtSchema == null) {
-            return breakingChange;
-        } else if (srcSchema == null || srcSchema.getProperties() == null) {
-            breakingChange.getMajorChanges().add("Schema is missing on source");
-            return breakingChange;
-        } else if (tgtSchema == null || tgtSchema.getProperties() == null) {
-            breakingChange.getMajorChanges().add("Schema is missing on target");
-            return breakingChange;
+    public BreakingChange breakingChangesForPath(String path, HttpMethod method, CompiledOperation srcOperation, CompiledOperation tgtOperation, ComparisonContext context) {
+        BreakingChange changes = new BreakingChange();
+        if (srcOperation == null && tgtOperation == null) {
+            return changes;
         }
 
-        Set<String> srcProps = srcSchema.getProperties().keySet();
-        Set<String> tgtProps = tgtSchema.getProperties().keySet();
-        Set<String> srcPropsUpper = srcSchema.getProperties().keySet().stream().map(String::toUpperCase).collect(Collectors.toSet());
-        Set<String> tgtPropsUpper = tgtSchema.getProperties().keySet().stream().map(String::toUpperCase).collect(Collectors.toSet());
+        RuleTable rules = context.getRules();
+        FindingLocation location = FindingLocation.ofOperation(path, method.name());
+        rules.check(NodeType.OPERATION, new NodeDiff<>(path, srcOperation, tgtOperation, location), changes::add);
+        if (srcOperation == null || tgtOperation == null) {
+            return changes;
+        }
 
-        String newTgtProps = tgtProps
-                .stream()
-                .filter(v -> !srcPropsUpper.contains(v.toUpperCase()))
-                .collect(Collectors.joining(", "));
-        if (!newTgtProps.isEmpty()) {
-            breakingChange.getMinorChanges().add("Properties added to Target: " + newTgtProps);
+        if (rules.has(NodeType.PARAMETER, NodeType.PROPERTY)) {
+            FindingLocation parameterLocation = location.withSection(Section.PARAMETER);
+            Map<String, Parameter> tgtParameters = tgtOperation.getParameters();
+            srcOperation.getParameters().forEach((name, srcParameter) -> {
+                Parameter tgtParameter = tgtParameters.get(name);
+                if (tgtParameter != null) {
+                    diffProperty(name, srcOperation.getParameterSchemas().get(name), tgtOperation.getParameterSchemas().get(name), parameterLocation, rules, changes::add);
+                    rules.check(NodeType.PARAMETER, new NodeDiff<>(name, srcParameter, tgtParameter, parameterLocation), changes::add);
+                }
+            });
         }
 
-        String newSrcProps = srcProps
-                .stream()
-                .filter(v -> !tgtPropsUpper.contains(v.toUpperCase()))
-                .collect(Collectors.joining(", "));
+        if (rules.has(NodeType.REQUEST_BODY, NodeType.SCHEMA, NodeType.PROPERTY)
+                && srcOperation.getRequestBody() != null && tgtOperation.getRequestBody() != null
+                && !context.unchangedRequestBody(path, method)) {
+            changes.merge(compareRequestBodyChanges(srcOperation.getRequestBody(), tgtOperation.getRequestBody(), location.withSection(Section.REQUEST_BODY), context));
+        }
 
-        if (!newSrcProps.isEmpty()) {
-            breakingChange.getMinorChanges().add("Properties deleted from Target: " + newSrcProps);
+        if (rules.has(NodeType.RESPONSE, NodeType.SCHEMA, NodeType.PROPERTY)
+                && BuiltInRules.hasResponses(srcOperation.getResponses()) && BuiltInRules.hasResponses(tgtOperation.getResponses())
+                && !context.unchangedResponses(path, method)) {
+            changes.merge(compareApiResponsesChanges(srcOperation.getResponses(), tgtOperation.getResponses(), location, context));
         }
 
-        tgtProps
-                .forEach(t -> {
-                    srcProps.stream()
-                            .filter(s -> !s.equals(t) && s.equalsIgnoreCase(t))
-                            .findAny()
-                            .ifPresent(s -> breakingChange.getMajorChanges().add("Property " + s + " renamed in Target: " + t));
-                });
+        return changes;
+    }
 
-        String requiredChanges = compareRequiredProps(srcSchema.getRequired(), tgtSchema.getRequired(), "Properties");
-        if (requiredChanges != null && !requiredChanges.isEmpty()) {
-            breakingChange.getMajorChanges().add(requiredChanges);
+    public BreakingChange compareRequestBodyChanges(RequestBody srcRequestBody, RequestBody tgtRequestBody, FindingLocation location, ComparisonContext context) {
+        BreakingChange requestBodyChanges = new BreakingChange();
+        RuleTable rules = context.getRules();
+        rules.check(NodeType.REQUEST_BODY, new NodeDiff<>(null, srcRequestBody, tgtRequestBody, location), requestBodyChanges::add);
+
+        if (rules.has(NodeType.SCHEMA, NodeType.PROPERTY)) {
+            Content srcContent = srcRequestBody.getContent();
+            Content tgtContent = tgtRequestBody.getContent();
+            commonNames(srcContent, tgtContent).forEach(v ->
+                    diffReferencedSchema(srcContent.get(v).getSchema(), tgtContent.get(v).getSchema(), location.withMediaType(v), context, requestBodyChanges));
         }
+        return requestBodyChanges;
+    }
 
-        Set<String> commonProps = srcProps.stream()
-                .distinct()
-                .filter(tgtProps::contains)
-                .collect(Collectors.toSet());
-
-        commonProps.forEach(v -> {
-            breakingChange.getMajorChanges().addAll(compareProperties(v, srcSchema.getProperties().get(v), tgtSchema.getProperties().get(v)));
+    public BreakingChange compareApiResponsesChanges(ApiResponses srcResponses, ApiResponses tgtResponses, FindingLocation location, ComparisonContext context) {
+        BreakingChange responseBodyChanges = new BreakingChange();
+        commonNames(srcResponses, tgtResponses).forEach(v -> {
+            ApiResponse srcResponse = srcResponses.get(v);
+            ApiResponse tgtResponse = tgtResponses.get(v);
+            responseBodyChanges.merge(compareResponseContentChanges(srcResponse == null ? null : srcResponse.getContent(),
+                    tgtResponse == null ? null : tgtResponse.getContent(), location.withStatusCode(v), context));
         });
-
-        return breakingChange;
+        return responseBodyChanges;
     }
 
-    public List<String> compareProperties(String propName, Schema srcPropDetails, Schema tgtPropDetails) {
-        List<String> changes = new ArrayList<>(comparePropertyType(propName, srcPropDetails, tgtPropDetails));
-        if ("array".equals(srcPropDetails.getType())
-                && srcPropDetails.getType() != null && tgtPropDetails.getType() != null
-                && srcPropDetails.getType().equals(tgtPropDetails.getType())) {
-            changes.addAll(comparePropertyType(propName, srcPropDetails.getItems(), tgtPropDetails.getItems()));
+    public BreakingChange compareResponseContentChanges(Content srcContent, Content tgtContent, FindingLocation location, ComparisonContext context) {
+        BreakingChange responseBodyChanges = new BreakingChange();
+        RuleTable rules = context.getRules();
+        rules.check(NodeType.RESPONSE, new NodeDiff<>(null, srcContent, tgtContent, location), responseBodyChanges::add);
+
+        if (rules.has(NodeType.SCHEMA, NodeType.PROPERTY) && srcContent != null && tgtContent != null) {
+            commonNames(srcContent, tgtContent).forEach(v ->
+                    diffReferencedSchema(srcContent.get(v).getSchema(), tgtContent.get(v).getSchema(), location.withMediaType(v), context, responseBodyChanges));
         }
+        return responseBodyChanges;
+    }
 
-        return changes;
+    /**
+     * Keys present on both sides, in the order findings about them have always been reported.
+     */
+    private static Set<String> commonNames(Map<String, ?> src, Map<String, ?> tgt) {
+        return src.keySet().stream().filter(tgt::containsKey).collect(Collectors.toSet());
     }
 
-    public List<String> comparePropertyType(String propName, Schema srcPropDetails, Schema tgtPropDetails) {
-        List<String> changes = new ArrayList<>();
-        if (srcPropDetails.getType() == null || tgtPropDetails.getType() == null) {
-            if (srcPropDetails.get$ref() != null && tgtPropDetails.get$ref() != null
-                    && !srcPropDetails.get$ref().equals(tgtPropDetails.get$ref())) {
-                changes.add(propName + " has ref: " + srcPropDetails.get$ref() + " in source and ref: " + tgtPropDetails.get$ref() + " in target");
-            }
-        } else if (srcPropDetails.getType() == null && tgtPropDetails.getType() != null) {
-            changes.add(propName + " has ref: " + srcPropDetails.getType() + " in source and type: " + tgtPropDetails.get$ref() + " in target");
-        } else if (srcPropDetails.getType() != null && tgtPropDetails.getType() == null) {
-            changes.add(propName + " has type: " + srcPropDetails.getType() + " in source and ref: " + tgtPropDetails.getType() + " in target");
-        } else if (!srcPropDetails.getType().equals(tgtPropDetails.getType())) {
-            changes.add(propName + " has type: " + srcPropDetails.getType() + " in source and type: " + tgtPropDetails.getType() + " in target");
-        }
-        if (srcPropDetails.getEnum() != null && tgtPropDetails.getEnum() != null) {
-            String enumRes = compareEnum(propName, ((StringSchema) srcPropDetails).getEnum(), ((StringSchema) tgtPropDetails).getEnum());
-            if (!enumRes.isEmpty()) {
-                changes.add(enumRes);
+    /**
+     * Diffs the component schema both sides of a body or response reference, when they reference the same one or
+     * the target references the schema the source one was renamed to.
+     */
+    private void diffReferencedSchema(Schema<?> srcSchema, Schema<?> tgtSchema, FindingLocation location, ComparisonContext context, BreakingChange changes) {
+        if (srcSchema == null || tgtSchema == null || srcSchema.get$ref() == null || tgtSchema.get$ref() == null) {
+            return;
+        }
+        String srcName = srcSchema.get$ref().substring(srcSchema.get$ref().lastIndexOf("/") + 1);
+        String tgtName = tgtSchema.get$ref().substring(tgtSchema.get$ref().lastIndexOf("/") + 1);
+        if (srcSchema.get$ref().equals(tgtSchema.get$ref())) {
+            if (context.unchangedSchema(srcName)) {
+                return;
             }
+        } else if (!tgtName.equals(context.getSchemaRenames().get(srcName))) {
+            return;
         }
-        return changes;
+        BreakingChange breakingChange = context.schemaDiff(context.getSrc().schema(srcName), context.getTgt().schema(tgtName),
+                (s, t) -> breakingChangesForSchema(s, t, context));
+        FindingLocation schemaLocation = location.withSchema(tgtName);
+        breakingChange.getFindings().forEach(f -> changes.add(f.at(schemaLocation)));
+    }
+
+    public BreakingChange breakingChangesForSchemas(Map<String, Schema> srcSchemas, Map<String, Schema> tgtSchemas) {
+        BreakingChange schemaChanges = new BreakingChange();
+        ComparisonContext context = new ComparisonContext(CompiledSpec.ofSchemas(srcSchemas), CompiledSpec.ofSchemas(tgtSchemas), null, null);
+        diffSchemas(withOptions(context, ComparisonOptions.defaults()), true, schemaChanges::merge);
+        return schemaChanges;
     }
 
-    public String compareEnum(String name, List<String> src, List<String> tgt) {
-        String removedEnumProps = src.stream().filter(v -> !tgt.contains(v)).collect(Collectors.joining(" "));
-        String addedEnumProps = tgt.stream().filter(v -> !src.contains(v)).collect(Collectors.joining(" "));
+    private void diffSchemas(ComparisonContext context, boolean ordered, Consumer<BreakingChange> results) {
+        context.checkpoint();
+        BreakingChange schemaChanges = new BreakingChange();
+        RuleTable rules = context.getRules();
+        Set<String> scope = context.getScope() == null ? null : context.getScope().getSchemas();
+        Map<String, String> renames = context.getSchemaRenames();
+        SortedSet<String> srcSchemaNames = without(inScope(context.getSrc().getSchemaNames(), scope), renames.keySet());
+        SortedSet<String> tgtSchemaNames = without(inScope(context.getTgt().getSchemaNames(), scope), renames.values());
+        rules.check(NodeType.COMPONENTS, new NodeDiff<Set<String>>(null, srcSchemaNames, tgtSchemaNames, null), schemaChanges::add);
+        renames.forEach((src, tgt) -> rules.check(NodeType.RENAMED_SCHEMA, new NodeDiff<>(tgt, src, tgt, null), schemaChanges::add));
+
+        List<Map.Entry<String, String>> commonSchemaNames = new ArrayList<>();
+        if (rules.has(NodeType.SCHEMA, NodeType.PROPERTY)) {
+            srcSchemaNames.stream()
+                    .filter(tgtSchemaNames::contains)
+                    .filter(v -> !context.unchangedSchema(v))
+                    .forEach(v -> commonSchemaNames.add(new AbstractMap.SimpleImmutableEntry<>(v, v)));
+            commonSchemaNames.addAll(renames.entrySet());
+        }
 
-        return removedEnumProps.isEmpty() && addedEnumProps.isEmpty() ? "" : ("Enum: " + name + " has " + (!addedEnumProps.isEmpty() ? ("New values: [" + addedEnumProps + "]") : "") + (!removedEnumProps.isEmpty() ? (" Removed values: [" + removedEnumProps + "]") : ""));
+        results.accept(schemaChanges);
+        diffEach(context, commonSchemaNames, v -> {
+            BreakingChange schemaBreakingChanges = context.schemaDiff(context.getSrc().schema(v.getKey()), context.getTgt().schema(v.getValue()),
+                    (s, t) -> breakingChangesForSchema(s, t, context));
+            BreakingChange located = new BreakingChange();
+            FindingLocation location = FindingLocation.ofSchema(v.getValue());
+            schemaBreakingChanges.getFindings().forEach(f -> located.add(f.at(location)));
+            return located;
+        }, ordered, results);
     }
 
-    public String compareRequiredProps(List<String> srcRequired, List<String> tgtRequired, String propPlaceholder) {
-        String returnVal = null;
-        if (srcRequired != null && tgtRequired != null) {
-            String newProps = tgtRequired
-                    .stream()
-                    .filter(v -> !srcRequired.contains(v))
-                    .collect(Collectors.joining(", "));
+    /**
+     * Findings of a schema pair without a location; callers attach the place the schema was reached from with
+     * {@link Finding#at(FindingLocation)} so the memoised result can be shared.
+     */
+    public BreakingChange breakingChangesForSchema(CompiledSchema srcSchema, CompiledSchema tgtSchema, ComparisonContext context) {
+        BreakingChange breakingChange = new BreakingChange();
+        RuleTable rules = context.getRules();
+        NodeDiff<CompiledSchema> node = new NodeDiff<>(null, srcSchema, tgtSchema, null);
+        rules.check(NodeType.SCHEMA, node, breakingChange::add);
+
+        if (rules.has(NodeType.SCHEMA, NodeType.PROPERTY) && node.bothPresent()) {
+            new SchemaWalk(context, diffConfig.getMaxSchemaDepth(), breakingChange::add).walk(srcSchema, tgtSchema);
+        }
+        if (context.isDetectRenames() && rules.has(NodeType.RENAMED_PROPERTY, NodeType.PROPERTY) && BuiltInRules.comparable(node)) {
+            diffMovedProperties(srcSchema, tgtSchema, rules, breakingChange::add);
+        }
+        return breakingChange;
+    }
 
-            String removedProps = srcRequired
-                    .stream()
-                    .filter(v -> !tgtRequired.contains(v))
-                    .collect(Collectors.joining(", "));
+    /**
+     * Matches properties missing from the other side, even ignoring case, by structure and diffs each pair. They
+     * stay listed as deleted and added, as clients see them that way.
+     */
+    private void diffMovedProperties(CompiledSchema srcSchema, CompiledSchema tgtSchema, RuleTable rules, Consumer<Finding> findings) {
+        Map<String, CompiledSchema> srcProps = srcSchema.getProperties();
+        Map<String, CompiledSchema> tgtProps = tgtSchema.getProperties();
+        List<String> removed = srcProps.keySet().stream()
+                .filter(v -> !tgtSchema.getPropertyNamesByUpperCase().containsKey(v.toUpperCase()))
+                .collect(Collectors.toList());
+        List<String> added = tgtProps.keySet().stream()
+                .filter(v -> !srcSchema.getPropertyNamesByUpperCase().containsKey(v.toUpperCase()))
+                .collect(Collectors.toList());
+        renameDetector.match(removed, added, v -> RenameDetector.schemaFeatures(srcProps.get(v)), v -> RenameDetector.schemaFeatures(tgtProps.get(v)))
+                .forEach((src, tgt) -> {
+                    rules.check(NodeType.RENAMED_PROPERTY, new NodeDiff<>(tgt, src, tgt, null), findings);
+                    diffProperty(tgt, srcProps.get(src), tgtProps.get(tgt), null, rules, findings);
+                });
+    }
 
-            returnVal = !newProps.isEmpty() ? propPlaceholder + " marked as required in target: [" + String.join(", ", newProps) + "]. " : "";
-            returnVal += !removedProps.isEmpty() ? propPlaceholder + " marked as not required in target: [" + String.join(", ", removedProps) + "]." : "";
-        } else if (srcRequired == null && tgtRequired != null) {
-            returnVal = propPlaceholder + " marked as required in target: [" + String.join(", ", tgtRequired) + "]";
-        } else if (srcRequired != null && tgtRequired == null) {
-            returnVal = propPlaceholder + " marked as not required in target: [" + String.join(", ", srcRequired) + "]";
+    /**
+     * Runs the property rules on a property present on both sides, and on its items when both sides are arrays.
+     */
+    private static void diffProperty(String name, CompiledSchema srcProperty, CompiledSchema tgtProperty, FindingLocation location,
+                                     RuleTable rules, Consumer<Finding> findings) {
+        if (srcProperty == null || tgtProperty == null) {
+            return;
         }
+        rules.check(NodeType.PROPERTY, new NodeDiff<>(name, srcProperty, tgtProperty, location), findings);
+        if ("array".equals(srcProperty.getType()) && "array".equals(tgtProperty.getType())
+                && srcProperty.getItems() != null && tgtProperty.getItems() != null) {
+            rules.check(NodeType.PROPERTY, new NodeDiff<>(name, srcProperty.getItems(), tgtProperty.getItems(), location), findings);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Prepared {
+
+        private final String srcHash;
+        private final String tgtHash;
+        private final BreakingChange cached;
+        private final ComparisonContext context;
 
-        return returnVal;
     }
 
-    public boolean hasValidResponse(ApiResponses apiResponses) {
-        return apiResponses != null && !apiResponses.isEmpty();
+    @Getter
+    @AllArgsConstructor
+    private static class OperationPair {
+
+        private final String path;
+        private final HttpMethod method;
+        private final CompiledOperation srcOperation;
+        private final CompiledOperation tgtOperation;
+
     }
 
 }
@@ -0,0 +1,63 @@
+package com.swaggerparser.service;
+
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter
+public class ParsedSpec {
+
+    private final String location;
+    private final String contentHash;
+    private final long size;
+    private final SwaggerParseResult parseResult;
+    @Getter(AccessLevel.NONE)
+    private volatile SpecFingerprints fingerprints;
+    @Getter(AccessLevel.NONE)
+    private volatile CompiledSpec compiled;
+
+    public ParsedSpec(String location, String contentHash, long size, SwaggerParseResult parseResult) {
+        this(location, contentHash, size, parseResult, null);
+    }
+
+    /**
+     * @param fingerprints computed earlier for the same model, or {@code null} to compute them on first use
+     */
+    public ParsedSpec(String location, String contentHash, long size, SwaggerParseResult parseResult, SpecFingerprints fingerprints) {
+        this.location = location;
+        this.contentHash = contentHash;
+        this.size = size;
+        this.parseResult = parseResult;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * Fingerprints are computed on first use and kept with the spec, so a cached baseline is hashed only once.
+     */
+    public SpecFingerprints getFingerprints() {
+        SpecFingerprints result = fingerprints;
+        if (result == null && parseResult.getOpenAPI() != null) {
+            synchronized (this) {
+                if (fingerprints == null) {
+                    fingerprints = SpecFingerprints.of(parseResult.getOpenAPI());
+                }
+                result = fingerprints;
+            }
+        }
+        return result;
+    }
+
+    public CompiledSpec getCompiled() {
+        CompiledSpec result = compiled;
+        if (result == null && parseResult.getOpenAPI() != null) {
+            synchronized (this) {
+                if (compiled == null) {
+                    compiled = new CompiledSpec(parseResult.getOpenAPI());
+                }
+                result = compiled;
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.swaggerparser.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The path names of a spec split into segments, so the paths under a prefix are found by walking the prefix and
+ * collecting one subtree instead of testing every path.
+ */
+public class PathTrie {
+
+    private final Node root = new Node();
+
+    public PathTrie(Collection<String> paths) {
+        for (String path : paths) {
+            Node node = root;
+            for (String segment : segments(path)) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+            node.path = path;
+        }
+    }
+
+    /**
+     * Paths under any of {@code includes} (all paths when empty) and under none of {@code excludes}. A pattern
+     * matches whole segments, so {@code /pets} selects {@code /pets} and {@code /pets/{id}} but not
+     * {@code /petstore}; a {@code *} segment matches any one segment and a trailing {@code **} is ignored.
+     */
+    public Set<String> select(Collection<String> includes, Collection<String> excludes) {
+        Set<String> selected = new TreeSet<>();
+        if (includes.isEmpty()) {
+            collect(root, selected);
+        } else {
+            includes.forEach(pattern -> walk(root, segments(pattern), 0, selected));
+        }
+        if (!excludes.isEmpty() && !selected.isEmpty()) {
+            Set<String> excluded = new TreeSet<>();
+            excludes.forEach(pattern -> walk(root, segments(pattern), 0, excluded));
+            selected.removeAll(excluded);
+        }
+        return selected;
+    }
+
+    private static void walk(Node node, String[] pattern, int index, Set<String> paths) {
+        if (index == pattern.length || (index == pattern.length - 1 && "**".equals(pattern[index]))) {
+            collect(node, paths);
+        } else if ("*".equals(pattern[index])) {
+            node.children.values().forEach(child -> walk(child, pattern, index + 1, paths));
+        } else {
+            Node child = node.children.get(pattern[index]);
+            if (child != null) {
+                walk(child, pattern, index + 1, paths);
+            }
+        }
+    }
+
+    private static void collect(Node node, Set<String> paths) {
+        if (node.path != null) {
+            paths.add(node.path);
+        }
+        node.children.values().forEach(child -> collect(child, paths));
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private String path;
+
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import lombok.AllArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Pairs names removed from the source with names added to the target whose subtrees look alike. Each subtree is
+ * reduced to a set of structural features (operations, parameters, media types, property names and types,
+ * references) and a MinHash signature of that set. Signatures are split into bands and only names sharing a band
+ * bucket are compared, so matching stays near-linear in the number of names instead of comparing all pairs. A pair
+ * is kept when the Jaccard similarity of the feature sets reaches the threshold and neither side has an equally
+ * good alternative.
+ */
+public class RenameDetector {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final double threshold;
+    private final int minFeatures;
+
+    public RenameDetector(SpecParserProperties.Renames config) {
+        this.threshold = config.getThreshold();
+        this.minFeatures = config.getMinFeatures();
+    }
+
+    /**
+     * @return removed names mapped to the added name each was renamed to, in the order of {@code removed}
+     */
+    public Map<String, String> match(Collection<String> removed, Collection<String> added,
+                                     Function<String, Set<String>> removedFeatures, Function<String, Set<String>> addedFeatures) {
+        Map<String, String> renames = new LinkedHashMap<>();
+        if (removed.isEmpty() || added.isEmpty()) {
+            return renames;
+        }
+
+        Map<String, Set<String>> addedSets = new HashMap<>();
+        Map<Long, List<String>> buckets = new HashMap<>();
+        for (String name : added) {
+            Set<String> set = addedFeatures.apply(name);
+            if (set.size() >= minFeatures) {
+                addedSets.put(name, set);
+                long[] signature = signature(set);
+                for (int band = 0; band < BANDS; band++) {
+                    buckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>()).add(name);
+                }
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (String name : removed) {
+            Set<String> set = removedFeatures.apply(name);
+            if (set.size() < minFeatures) {
+                continue;
+            }
+            long[] signature = signature(set);
+            Set<String> seen = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                for (String other : buckets.getOrDefault(bandKey(signature, band), Collections.emptyList())) {
+                    if (seen.add(other)) {
+                        double similarity = jaccard(set, addedSets.get(other));
+                        if (similarity >= threshold) {
+                            candidates.add(new Candidate(name, other, similarity));
+                        }
+                    }
+                }
+            }
+        }
+
+        // Best pairs first; a name whose best score is shared by two partners is ambiguous and left unmatched.
+        candidates.sort(Comparator.comparingDouble((Candidate c) -> -c.similarity).thenComparing(c -> c.removed).thenComparing(c -> c.added));
+        Map<String, Double> bestRemoved = new HashMap<>();
+        Map<String, Double> bestAdded = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (Candidate c : candidates) {
+            if (bestRemoved.containsKey(c.removed) && bestRemoved.get(c.removed) == c.similarity) {
+                ambiguous.add("-" + c.removed);
+            }
+            if (bestAdded.containsKey(c.added) && bestAdded.get(c.added) == c.similarity) {
+                ambiguous.add("+" + c.added);
+            }
+            bestRemoved.putIfAbsent(c.removed, c.similarity);
+            bestAdded.putIfAbsent(c.added, c.similarity);
+        }
+        Set<String> taken = new HashSet<>();
+        Map<String, String> matched = new HashMap<>();
+        for (Candidate c : candidates) {
+            if (matched.containsKey(c.removed) || taken.contains(c.added)
+                    || ambiguous.contains("-" + c.removed) || ambiguous.contains("+" + c.added)) {
+                continue;
+            }
+            matched.put(c.removed, c.added);
+            taken.add(c.added);
+        }
+        for (String name : removed) {
+            if (matched.containsKey(name)) {
+                renames.put(name, matched.get(name));
+            }
+        }
+        return renames;
+    }
+
+    /**
+     * Features of a path: its segments, and per operation the parameters, body and response media types and the
+     * schemas they reference.
+     */
+    public static Set<String> pathFeatures(String path, Map<HttpMethod, CompiledOperation> operations) {
+        Set<String> features = new HashSet<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                features.add("segment:" + segment);
+            }
+        }
+        operations.forEach((method, operation) -> {
+            features.add("operation:" + method);
+            for (Parameter parameter : operation.getParameters().values()) {
+                features.add(method + ":parameter:" + parameter.getIn() + ':' + parameter.getName() + ':' + schemaLabel(parameter.getSchema()));
+            }
+            if (operation.getRequestBody() != null) {
+                content(method + ":body", operation.getRequestBody().getContent(), features);
+            }
+            if (operation.getResponses() != null) {
+                for (Map.Entry<String, ApiResponse> response : operation.getResponses().entrySet()) {
+                    features.add(method + ":response:" + response.getKey());
+                    if (response.getValue() != null) {
+                        content(method + ":response:" + response.getKey(), response.getValue().getContent(), features);
+                    }
+                }
+            }
+        });
+        return features;
+    }
+
+    /**
+     * Features of a schema: its type, required names, enum values and each property with its own features.
+     */
+    public static Set<String> schemaFeatures(CompiledSchema schema) {
+        Set<String> features = new HashSet<>();
+        if (schema != null) {
+            schemaFeatures("", schema, features, 0);
+        }
+        return features;
+    }
+
+    private static void schemaFeatures(String prefix, CompiledSchema schema, Set<String> features, int depth) {
+        features.add(prefix + "type:" + schemaLabel(schema.getSchema()));
+        if (schema.getRequired() != null) {
+            schema.getRequired().forEach(name -> features.add(prefix + "required:" + name));
+        }
+        if (schema.getEnumValues() != null) {
+            schema.getEnumValues().forEach(value -> features.add(prefix + "enum:" + value));
+        }
+        if (schema.getItems() != null && depth < 2) {
+            schemaFeatures(prefix + "[]", schema.getItems(), features, depth + 1);
+        }
+        if (schema.getProperties() != null && depth < 2) {
+            schema.getProperties().forEach((name, property) -> {
+                if (property != null) {
+                    schemaFeatures(prefix + name + '.', property, features, depth + 1);
+                }
+            });
+        }
+    }
+
+    private static void content(String prefix, Content content, Set<String> features) {
+        if (content == null) {
+            return;
+        }
+        for (Map.Entry<String, MediaType> mediaType : content.entrySet()) {
+            Schema<?> schema = mediaType.getValue() == null ? null : mediaType.getValue().getSchema();
+            features.add(prefix + ':' + mediaType.getKey() + ':' + schemaLabel(schema));
+        }
+    }
+
+    private static String schemaLabel(Schema<?> schema) {
+        if (schema == null) {
+            return "-";
+        }
+        if (schema.get$ref() != null) {
+            return schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+        }
+        return schema.getType() == null ? "object" : schema.getType();
+    }
+
+    private static long[] signature(Set<String> features) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String feature : features) {
+            long hash = hash(feature);
+            for (int i = 0; i < HASHES; i++) {
+                long h = mix(hash ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int row = 0; row < ROWS; row++) {
+            key = mix(key * 31 + signature[band * ROWS + row]);
+        }
+        return key;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        int common = 0;
+        for (String feature : a) {
+            if (b.contains(feature)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @AllArgsConstructor
+    private static class Candidate {
+
+        private final String removed;
+        private final String added;
+        private final double similarity;
+
+    }
+
+}
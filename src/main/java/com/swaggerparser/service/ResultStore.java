@@ -0,0 +1,205 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.FindingPage;
+import com.swaggerparser.dto.Severity;
+import com.swaggerparser.dto.StoredResultResponse;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Comparison results kept server side under an id, so clients page through large results instead of receiving
+ * them in one body. A cursor is the position in the stored findings where the next page starts; stored results
+ * never change, so cursors stay valid for as long as the result is kept. Results expire after the configured
+ * retention, and the oldest is dropped when the store is full.
+ */
+@Service
+public class ResultStore {
+
+    private final SpecParserProperties.Results config;
+    private final Map<String, StoredResult> results = new LinkedHashMap<>();
+
+    public ResultStore(SpecParserProperties properties, CompareMetrics metrics) {
+        this.config = properties.getResults();
+        Gauge.builder("spec.compare.results.stored", this, s -> s.size()).register(metrics.getRegistry());
+    }
+
+    public StoredResultResponse store(String sourcePath, String targetPath, BreakingChange result) {
+        StoredResult stored = new StoredResult(UUID.randomUUID().toString(), sourcePath, targetPath,
+                result.getFindings().toArray(new Finding[0]), Instant.now());
+        synchronized (results) {
+            purgeExpired();
+            results.put(stored.id, stored);
+            Iterator<StoredResult> iterator = results.values().iterator();
+            while (results.size() > config.getMaxEntries() && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return stored.toResponse(config);
+    }
+
+    public StoredResultResponse get(String id) {
+        return find(id).toResponse(config);
+    }
+
+    public void delete(String id) {
+        synchronized (results) {
+            if (results.remove(id) == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown result " + id);
+            }
+        }
+    }
+
+    /**
+     * Findings of a stored result starting at {@code cursor} (the first page when {@code null}), optionally only
+     * those of one severity and those located at or below a path. A path prefix matches whole segments, so
+     * {@code /pets} selects {@code /pets} and {@code /pets/{id}} but not {@code /petstore}.
+     */
+    public FindingPage page(String id, Severity severity, String pathPrefix, String cursor, Integer limit) {
+        StoredResult stored = find(id);
+        int pageSize = limit == null ? config.getDefaultPageSize() : Math.min(limit, config.getMaxPageSize());
+        if (pageSize < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        int start = decode(cursor);
+        String prefix = pathPrefix == null || pathPrefix.isEmpty() || pathPrefix.endsWith("/") ? pathPrefix : pathPrefix + "/";
+
+        // With a severity filter only the positions of that severity are visited.
+        int[] positions = severity == null ? null : stored.positions.get(severity);
+        int from = positions == null ? start : lowerBound(positions, start);
+        int to = positions == null ? stored.findings.length : positions.length;
+
+        List<Finding> findings = new ArrayList<>(Math.min(pageSize, to - Math.min(from, to)));
+        int next = -1;
+        for (int i = from; i < to; i++) {
+            int position = positions == null ? i : positions[i];
+            Finding finding = stored.findings[position];
+            if (prefix == null || underPath(finding, prefix)) {
+                if (findings.size() == pageSize) {
+                    next = position;
+                    break;
+                }
+                findings.add(finding);
+            }
+        }
+
+        FindingPage page = new FindingPage();
+        page.setFindings(findings);
+        page.setNextCursor(next < 0 ? null : encode(next));
+        return page;
+    }
+
+    private int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    private StoredResult find(String id) {
+        synchronized (results) {
+            purgeExpired();
+            StoredResult stored = results.get(id);
+            if (stored == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown result " + id);
+            }
+            return stored;
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(config.getRetention());
+        Iterator<StoredResult> iterator = results.values().iterator();
+        while (iterator.hasNext() && iterator.next().storedAt.isBefore(cutoff)) {
+            iterator.remove();
+        }
+    }
+
+    private static boolean underPath(Finding finding, String prefix) {
+        String path = finding.getLocation() == null ? null : finding.getLocation().getPath();
+        return path != null && (path.startsWith(prefix) || path.equals(prefix.substring(0, prefix.length() - 1)));
+    }
+
+    private static int lowerBound(int[] positions, int start) {
+        int index = Arrays.binarySearch(positions, start);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static String encode(int position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(position).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int position = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            if (position >= 0) {
+                return position;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor " + cursor);
+    }
+
+    private static class StoredResult {
+
+        private final String id;
+        private final String sourcePath;
+        private final String targetPath;
+        private final Finding[] findings;
+        private final Map<Severity, int[]> positions = new EnumMap<>(Severity.class);
+        private final Instant storedAt;
+
+        StoredResult(String id, String sourcePath, String targetPath, Finding[] findings, Instant storedAt) {
+            this.id = id;
+            this.sourcePath = sourcePath;
+            this.targetPath = targetPath;
+            this.findings = findings;
+            this.storedAt = storedAt;
+            for (Severity severity : Severity.values()) {
+                int[] matching = new int[findings.length];
+                int count = 0;
+                for (int i = 0; i < findings.length; i++) {
+                    if (findings[i].getSeverity() == severity) {
+                        matching[count++] = i;
+                    }
+                }
+                positions.put(severity, Arrays.copyOf(matching, count));
+            }
+        }
+
+        StoredResultResponse toResponse(SpecParserProperties.Results config) {
+            StoredResultResponse response = new StoredResultResponse();
+            response.setId(id);
+            response.setSourcePath(sourcePath);
+            response.setTargetPath(targetPath);
+            response.setFindings(findings.length);
+            response.setMajorFindings(positions.get(Severity.MAJOR).length);
+            response.setMinorFindings(positions.get(Severity.MINOR).length);
+            response.setStoredAt(storedAt);
+            response.setExpiresAt(storedAt.plus(config.getRetention()));
+            return response;
+        }
+
+    }
+
+}
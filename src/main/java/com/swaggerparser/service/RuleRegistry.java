@@ -0,0 +1,150 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.RuleStats;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The diff rules, each registered under an id like {@code schema.required} for one {@link NodeType}. A comparison
+ * runs the rules of its {@link ComparisonOptions#getRuleSet() rule set} minus its disabled rules, compiled once per
+ * selection into a {@link RuleTable}. Every rule counts its invocations, findings and time, exported as the
+ * {@code spec.compare.rule} timer.
+ */
+@Component
+public class RuleRegistry {
+
+    private final List<Registered> rules = new CopyOnWriteArrayList<>();
+    private final Map<String, List<String>> ruleSets;
+    private final Map<String, RuleTable> tables = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RuleRegistry(SpecParserProperties properties) {
+        this(properties, CompareMetrics.noop());
+    }
+
+    @Autowired
+    public RuleRegistry(SpecParserProperties properties, CompareMetrics metrics) {
+        this.ruleSets = properties.getRules().getSets();
+        this.meterRegistry = metrics.getRegistry();
+        BuiltInRules.register(this);
+    }
+
+    /**
+     * Adds a rule after the ones already registered for {@code type}; its findings follow theirs.
+     */
+    public <T> void register(String id, NodeType type, DiffRule<T> rule) {
+        if (rules.stream().anyMatch(r -> r.getId().equals(id))) {
+            throw new IllegalArgumentException("Rule " + id + " is already registered");
+        }
+        Registered registered = new Registered(id, type, rule);
+        FunctionTimer.builder("spec.compare.rule", registered,
+                        r -> r.invocations.sum(), r -> r.nanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent in each diff rule")
+                .tag("rule", id)
+                .register(meterRegistry);
+        rules.add(registered);
+        tables.clear();
+    }
+
+    /**
+     * @throws ResponseStatusException 400 when the rule set is not defined or a pattern matches no rule
+     */
+    public RuleTable table(ComparisonOptions options) {
+        return tables.computeIfAbsent(options.cacheKey(), k -> compile(options));
+    }
+
+    public List<RuleStats> getStats() {
+        List<RuleStats> stats = new ArrayList<>();
+        for (Registered rule : rules) {
+            RuleStats stat = new RuleStats();
+            stat.setId(rule.getId());
+            stat.setNodeType(rule.getType().name());
+            stat.setInvocations(rule.invocations.sum());
+            stat.setFindings(rule.findings.sum());
+            stat.setTotalMicros(TimeUnit.NANOSECONDS.toMicros(rule.nanos.sum()));
+            stats.add(stat);
+        }
+        return stats;
+    }
+
+    private RuleTable compile(ComparisonOptions options) {
+        List<String> included;
+        if (ComparisonOptions.ALL_RULES.equals(options.getRuleSet())) {
+            included = Collections.singletonList("*");
+        } else if (ruleSets.containsKey(options.getRuleSet())) {
+            included = ruleSets.get(options.getRuleSet());
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown rule set " + options.getRuleSet());
+        }
+        List<String> disabled = options.getDisabledRules();
+        for (String pattern : disabled) {
+            if (rules.stream().noneMatch(r -> matches(pattern, r.getId()))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No rule matches " + pattern);
+            }
+        }
+
+        List<Registered> selected = new ArrayList<>();
+        for (Registered rule : rules) {
+            if (included.stream().anyMatch(p -> matches(p, rule.getId())) && disabled.stream().noneMatch(p -> matches(p, rule.getId()))) {
+                selected.add(rule);
+            }
+        }
+        return new RuleTable(selected);
+    }
+
+    private static boolean matches(String pattern, String id) {
+        if ("*".equals(pattern)) {
+            return true;
+        }
+        if (pattern.endsWith(".*")) {
+            return id.startsWith(pattern.substring(0, pattern.length() - 1));
+        }
+        return pattern.equals(id);
+    }
+
+    /**
+     * A registered rule and its counters.
+     */
+    @Getter
+    static class Registered {
+
+        private final String id;
+        private final NodeType type;
+        private final DiffRule<?> rule;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder findings = new LongAdder();
+
+        Registered(String id, NodeType type, DiffRule<?> rule) {
+            this.id = id;
+            this.type = type;
+            this.rule = rule;
+        }
+
+        void record(long elapsedNanos, int findingCount) {
+            invocations.increment();
+            nanos.add(elapsedNanos);
+            if (findingCount > 0) {
+                findings.add(findingCount);
+            }
+        }
+
+    }
+
+}
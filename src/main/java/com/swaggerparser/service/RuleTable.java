@@ -0,0 +1,65 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.Finding;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The rules selected for a comparison, indexed by node type. The diff asks {@link #has(NodeType...)} before
+ * descending into nodes, so parts of the documents no selected rule looks at are not visited.
+ */
+public class RuleTable {
+
+    private static final RuleRegistry.Registered[] NONE = new RuleRegistry.Registered[0];
+
+    private final Map<NodeType, RuleRegistry.Registered[]> rules = new EnumMap<>(NodeType.class);
+    private final String signature;
+
+    RuleTable(List<RuleRegistry.Registered> selected) {
+        Map<NodeType, List<RuleRegistry.Registered>> byType = new EnumMap<>(NodeType.class);
+        StringBuilder ids = new StringBuilder();
+        for (RuleRegistry.Registered rule : selected) {
+            byType.computeIfAbsent(rule.getType(), t -> new ArrayList<>()).add(rule);
+            ids.append(rule.getId()).append(',');
+        }
+        this.signature = ids.toString();
+        for (NodeType type : NodeType.values()) {
+            rules.put(type, byType.containsKey(type) ? byType.get(type).toArray(NONE) : NONE);
+        }
+    }
+
+    /**
+     * The ids of the selected rules in the order they run, which changes whenever a rule set's contents or the
+     * registered rules do.
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    public boolean has(NodeType... types) {
+        for (NodeType type : types) {
+            if (rules.get(type).length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> void check(NodeType type, NodeDiff<T> node, Consumer<Finding> findings) {
+        for (RuleRegistry.Registered rule : rules.get(type)) {
+            int[] count = new int[1];
+            long start = System.nanoTime();
+            ((DiffRule<T>) rule.getRule()).check(node, f -> {
+                count[0]++;
+                findings.accept(f);
+            });
+            rule.record(System.nanoTime() - start, count[0]);
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.Finding;
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Diffs a schema pair below its own properties: nested inline objects, array items, additional properties and
+ * the members of {@code allOf}/{@code oneOf}/{@code anyOf}. Pairs are kept on an explicit stack rather than the call
+ * stack. The walk stops at {@code $ref}s: a referenced component pair is diffed once per comparison as a root of its
+ * own, through the context's schema-pair memo, and its findings are reported there rather than again under every
+ * schema that reaches it, which also makes recursive models terminate. Nothing deeper than {@code maxDepth} is
+ * expanded; a pair cut off there with differing children is reported as {@link ChangeCode#SCHEMA_DEPTH_EXCEEDED}.
+ * Findings below the root carry the dotted path they were found at, e.g. {@code address.lines[].street}.
+ */
+class SchemaWalk {
+
+    private final ComparisonContext context;
+    private final RuleTable rules;
+    private final int maxDepth;
+    private final Consumer<Finding> findings;
+    private final Deque<Frame> pending = new ArrayDeque<>();
+
+    SchemaWalk(ComparisonContext context, int maxDepth, Consumer<Finding> findings) {
+        this.context = context;
+        this.rules = context.getRules();
+        this.maxDepth = maxDepth;
+        this.findings = findings;
+    }
+
+    /**
+     * Runs the property rules on the properties both sides of the root share, then walks everything below them.
+     * The root's own schema rules are left to the caller.
+     */
+    void walk(CompiledSchema srcSchema, CompiledSchema tgtSchema) {
+        children(null, srcSchema, tgtSchema, 0, false);
+        while (!pending.isEmpty()) {
+            context.checkpoint();
+            Frame frame = pending.pop();
+            enter(frame.label, frame.src, frame.tgt, frame.depth, frame.itemsChecked);
+        }
+    }
+
+    private void enter(String label, CompiledSchema srcSchema, CompiledSchema tgtSchema, int depth, boolean itemsChecked) {
+        if (srcSchema.get$ref() != null || tgtSchema.get$ref() != null) {
+            return;
+        }
+
+        NodeDiff<CompiledSchema> node = new NodeDiff<>(label, srcSchema, tgtSchema, null);
+        if (BuiltInRules.comparable(node)) {
+            rules.check(NodeType.SCHEMA, node, f -> findings.accept(f.property(f.getProperty() == null ? label : label + '.' + f.getProperty())));
+        }
+        children(label, srcSchema, tgtSchema, depth, itemsChecked);
+    }
+
+    /**
+     * Runs the property rules on each child pair as it is reached and queues the pair to be entered, in the order
+     * the children are declared. {@code itemsChecked} is set for a pair reached as a property, whose items the
+     * property rules have already seen under the property's own name.
+     */
+    private void children(String label, CompiledSchema srcSchema, CompiledSchema tgtSchema, int depth, boolean itemsChecked) {
+        if (depth >= maxDepth) {
+            if (childrenDiffer(srcSchema.getSchema(), tgtSchema.getSchema())) {
+                findings.accept(Finding.of(ChangeCode.SCHEMA_DEPTH_EXCEEDED, null).property(label));
+            }
+            return;
+        }
+        List<Frame> next = new ArrayList<>();
+        if (srcSchema.getProperties() != null && tgtSchema.getProperties() != null) {
+            Map<String, CompiledSchema> tgtProps = tgtSchema.getProperties();
+            srcSchema.getProperties().forEach((name, srcProperty) -> {
+                CompiledSchema tgtProperty = tgtProps.get(name);
+                if (srcProperty != null && tgtProperty != null) {
+                    String childLabel = join(label, name);
+                    property(childLabel, srcProperty, tgtProperty);
+                    next.add(new Frame(childLabel, srcProperty, tgtProperty, depth + 1, true));
+                }
+            });
+        }
+        if (srcSchema.getItems() != null && tgtSchema.getItems() != null) {
+            String childLabel = join(label, "[]");
+            if (!itemsChecked) {
+                rules.check(NodeType.PROPERTY, new NodeDiff<>(childLabel, srcSchema.getItems(), tgtSchema.getItems(), null), findings);
+            }
+            next.add(new Frame(childLabel, srcSchema.getItems(), tgtSchema.getItems(), depth + 1, false));
+        }
+        if (srcSchema.getAdditionalProperties() != null && tgtSchema.getAdditionalProperties() != null) {
+            String childLabel = join(label, "{}");
+            rules.check(NodeType.PROPERTY, new NodeDiff<>(childLabel, srcSchema.getAdditionalProperties(), tgtSchema.getAdditionalProperties(), null), findings);
+            next.add(new Frame(childLabel, srcSchema.getAdditionalProperties(), tgtSchema.getAdditionalProperties(), depth + 1, false));
+        }
+        members(label, "allOf", srcSchema.getAllOf(), tgtSchema.getAllOf(), depth, next);
+        members(label, "oneOf", srcSchema.getOneOf(), tgtSchema.getOneOf(), depth, next);
+        members(label, "anyOf", srcSchema.getAnyOf(), tgtSchema.getAnyOf(), depth, next);
+        for (int i = next.size() - 1; i >= 0; i--) {
+            pending.push(next.get(i));
+        }
+    }
+
+    /**
+     * Composition members are paired by position.
+     */
+    private void members(String label, String keyword, List<CompiledSchema> src, List<CompiledSchema> tgt, int depth, List<Frame> next) {
+        if (src == null || tgt == null) {
+            return;
+        }
+        for (int i = 0; i < Math.min(src.size(), tgt.size()); i++) {
+            if (src.get(i) != null && tgt.get(i) != null) {
+                String childLabel = join(label, keyword + '[' + i + ']');
+                rules.check(NodeType.PROPERTY, new NodeDiff<>(childLabel, src.get(i), tgt.get(i), null), findings);
+                next.add(new Frame(childLabel, src.get(i), tgt.get(i), depth + 1, false));
+            }
+        }
+    }
+
+    /**
+     * The property rules on a property pair, and on its items when both sides are arrays.
+     */
+    private void property(String label, CompiledSchema srcProperty, CompiledSchema tgtProperty) {
+        rules.check(NodeType.PROPERTY, new NodeDiff<>(label, srcProperty, tgtProperty, null), findings);
+        if ("array".equals(srcProperty.getType()) && "array".equals(tgtProperty.getType())
+                && srcProperty.getItems() != null && tgtProperty.getItems() != null) {
+            rules.check(NodeType.PROPERTY, new NodeDiff<>(label, srcProperty.getItems(), tgtProperty.getItems(), null), findings);
+        }
+    }
+
+    /**
+     * Whether anything the walk would descend into differs, compared as plain models; {@code $ref}s are compared by
+     * name only.
+     */
+    private static boolean childrenDiffer(Schema<?> src, Schema<?> tgt) {
+        return !Objects.equals(src.getProperties(), tgt.getProperties())
+                || !Objects.equals(src.getItems(), tgt.getItems())
+                || !Objects.equals(src.getAdditionalProperties(), tgt.getAdditionalProperties())
+                || !Objects.equals(src.getAllOf(), tgt.getAllOf())
+                || !Objects.equals(src.getOneOf(), tgt.getOneOf())
+                || !Objects.equals(src.getAnyOf(), tgt.getAnyOf());
+    }
+
+    private static String join(String label, String child) {
+        if (label == null) {
+            return child;
+        }
+        return child.startsWith("[") || child.startsWith("{") ? label + child : label + '.' + child;
+    }
+
+    @AllArgsConstructor
+    private static class Frame {
+
+        private final String label;
+        private final CompiledSchema src;
+        private final CompiledSchema tgt;
+        private final int depth;
+        private final boolean itemsChecked;
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.swaggerparser.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content of a spec together with where it came from. Uploaded documents have no location to resolve relative
+ * references against, so they are always parsed from their content. Fetched documents carry the content of the
+ * files their relative {@code $ref}s reach, read along with them, so their hash changes when any of those do.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SpecDocument {
+
+    private final String location;
+    private final byte[] content;
+    private final boolean uploaded;
+    private final Map<String, byte[]> references;
+    @Getter(AccessLevel.NONE)
+    private volatile String contentHash;
+
+    public static SpecDocument fetched(String location, byte[] content) {
+        return fetched(location, content, Collections.emptyMap());
+    }
+
+    /**
+     * @param references content of the referenced files by resolved location
+     */
+    public static SpecDocument fetched(String location, byte[] content, Map<String, byte[]> references) {
+        return new SpecDocument(location, content, false, Collections.unmodifiableMap(new TreeMap<>(references)), null);
+    }
+
+    /**
+     * @param name shown in logs and parse messages in place of a location
+     */
+    public static SpecDocument uploaded(String name, byte[] content) {
+        return new SpecDocument(name, content, true, Collections.emptyMap(), null);
+    }
+
+    /**
+     * SHA-256 of the content, or of the content and each referenced file's location and hash when there are any,
+     * so a document without external references hashes the same however it is obtained.
+     */
+    public String getContentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+            if (references.isEmpty()) {
+                hash = SpecParseCache.contentHash(content);
+            } else {
+                ByteArrayOutputStream resolved = new ByteArrayOutputStream();
+                resolved.write(content, 0, content.length);
+                references.forEach((location, referenced) -> {
+                    byte[] entry = ("\n" + location + '\n' + SpecParseCache.contentHash(referenced)).getBytes(StandardCharsets.UTF_8);
+                    resolved.write(entry, 0, entry.length);
+                });
+                hash = SpecParseCache.contentHash(resolved.toByteArray());
+            }
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+}
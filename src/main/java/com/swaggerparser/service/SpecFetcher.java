@@ -0,0 +1,417 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.swaggerparser.config.SpecParserProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads spec documents. Remote (http/https) documents are mirrored into an on-disk cache together with the files
+ * their relative {@code $ref}s point to, and later reads revalidate the mirror with {@code If-None-Match} /
+ * {@code If-Modified-Since}, so an unchanged remote spec costs a 304 per file instead of a download. The parser then
+ * reads the mirror, which lets relative references resolve from disk; absolute reference URLs are left to the parser.
+ */
+@Slf4j
+@Component
+public class SpecFetcher {
+
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "last-modified";
+    private static final byte[] REF = "$ref".getBytes(StandardCharsets.US_ASCII);
+
+    private final SpecParserProperties.HttpCache config;
+    private final Path directory;
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong referenceScans = new AtomicLong();
+    private final ThreadPoolExecutor referenceReads;
+
+    public SpecFetcher(SpecParserProperties properties) {
+        this(properties, CompareMetrics.noop());
+    }
+
+    @Autowired
+    public SpecFetcher(SpecParserProperties properties, CompareMetrics metrics) {
+        this.config = properties.getHttpCache();
+        this.directory = config.isEnabled() && config.getDirectory() != null && !config.getDirectory().isEmpty()
+                ? Paths.get(config.getDirectory()) : null;
+        AtomicInteger threads = new AtomicInteger();
+        this.referenceReads = new ThreadPoolExecutor(config.getReferenceThreads(), config.getReferenceThreads(), 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "spec-fetch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        referenceReads.allowCoreThreadTimeOut(true);
+        registerMeters(metrics.getRegistry());
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        FunctionCounter.builder("spec.http.cache.requests", downloads, AtomicLong::get).tag("result", "downloaded").register(registry);
+        FunctionCounter.builder("spec.http.cache.requests", revalidations, AtomicLong::get).tag("result", "not-modified").register(registry);
+        FunctionCounter.builder("spec.fetch.reference.scans", referenceScans, AtomicLong::get).register(registry);
+    }
+
+    public byte[] fetch(String location) {
+        return fetchDocument(location).getContent();
+    }
+
+    /**
+     * Reads {@code location} and the files its relative {@code $ref}s reach, transitively, so the document's hash
+     * covers everything the parser will resolve. References that cannot be read are left for the parser to report.
+     */
+    public SpecDocument fetchDocument(String location) {
+        try {
+            URL base = base(location);
+            byte[] content = read(base);
+            Map<String, byte[]> references = new TreeMap<>();
+            Set<String> visited = new HashSet<>();
+            visited.add(base.toString());
+            fetchReferences(base, content, visited, references);
+            return SpecDocument.fetched(location, content, references);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read spec from " + location, e);
+        }
+    }
+
+    /**
+     * Location the parser should read {@code location} from: its mirror for a cached remote document, otherwise
+     * the location itself.
+     */
+    public String parseLocation(String location) {
+        if (directory == null || !isRemote(location)) {
+            return location;
+        }
+        try {
+            Path mirror = mirror(new URL(location));
+            return Files.isRegularFile(mirror) ? mirror.toString() : location;
+        } catch (IOException e) {
+            return location;
+        }
+    }
+
+    public long getDownloads() {
+        return downloads.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getReferenceScans() {
+        return referenceScans.get();
+    }
+
+    /**
+     * Reads the targets of the relative {@code $ref}s in {@code content}, and theirs, mirroring remote ones next to
+     * the document. Each round of newly found files is read concurrently. A reference that would be mirrored outside
+     * its host's directory, e.g. {@code ../../x.yaml} from near the root, is skipped rather than failing the fetch.
+     */
+    private void fetchReferences(URL base, byte[] content, Set<String> visited, Map<String, byte[]> references) throws IOException {
+        Map<URL, byte[]> found = Collections.singletonMap(base, content);
+        while (!found.isEmpty()) {
+            Map<URL, CompletableFuture<byte[]>> reads = new LinkedHashMap<>();
+            for (Map.Entry<URL, byte[]> document : found.entrySet()) {
+                for (String file : collectReferences(document.getKey(), document.getValue())) {
+                    URL url = new URL(document.getKey(), file);
+                    if (visited.add(url.toString())) {
+                        reads.put(url, CompletableFuture.supplyAsync(() -> readReference(url), referenceReads));
+                    }
+                }
+            }
+            found = new LinkedHashMap<>();
+            for (Map.Entry<URL, CompletableFuture<byte[]>> read : reads.entrySet()) {
+                byte[] referenced = join(read.getValue());
+                if (referenced != null) {
+                    references.put(read.getKey().toString(), referenced);
+                    found.put(read.getKey(), referenced);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the content of {@code url}, or {@code null} for a missing file or one outside the mirror, which are
+     * left for the parser to report
+     */
+    private byte[] readReference(URL url) {
+        try {
+            return read(url);
+        } catch (NoSuchFileException e) {
+            log.debug("Not reading missing reference {}", url);
+            return null;
+        } catch (MalformedURLException e) {
+            log.debug("Not reading reference {}: {}", url, e.getMessage());
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> read) throws IOException {
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Files the relative {@code $ref}s in {@code content} point to, found with a token scan rather than a parsed
+     * tree. A document whose {@code $ref}s all start with {@code #}, or that has none, is not scanned at all.
+     */
+    private Set<String> collectReferences(URL base, byte[] content) {
+        Set<String> files = new HashSet<>();
+        if (!mayReferenceFiles(content)) {
+            return files;
+        }
+        referenceScans.incrementAndGet();
+        try (JsonParser parser = SpecProjection.mapper(content).getFactory().createParser(content)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && "$ref".equals(parser.getCurrentName())
+                        && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    String reference = parser.getText();
+                    int fragment = reference.indexOf('#');
+                    String file = fragment < 0 ? reference : reference.substring(0, fragment);
+                    if (!file.isEmpty() && !file.contains("://")) {
+                        files.add(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Not scanning {} for references", base, e);
+        }
+        return files;
+    }
+
+    /**
+     * Whether some {@code $ref} in {@code content} may point to another file: one whose value does not start with
+     * {@code #} once the quotes, colon and whitespace around it are skipped. Errs towards {@code true}.
+     */
+    static boolean mayReferenceFiles(byte[] content) {
+        for (int i = indexOf(content, REF, 0); i >= 0; i = indexOf(content, REF, i + REF.length)) {
+            int j = skipQuote(content, i + REF.length);
+            j = skipWhitespace(content, j);
+            if (j == content.length || content[j] != ':') {
+                return true;
+            }
+            j = skipQuote(content, skipWhitespace(content, j + 1));
+            if (j == content.length || content[j] != '#') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(byte[] content, byte[] part, int from) {
+        outer:
+        for (int i = from; i <= content.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (content[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int skipQuote(byte[] content, int i) {
+        return i < content.length && (content[i] == '"' || content[i] == '\'') ? i + 1 : i;
+    }
+
+    private static int skipWhitespace(byte[] content, int i) {
+        while (i < content.length && (content[i] == ' ' || content[i] == '\t' || content[i] == '\r' || content[i] == '\n')) {
+            i++;
+        }
+        return i;
+    }
+
+    private byte[] read(URL url) throws IOException {
+        if (isRemote(url.toString())) {
+            return download(url, directory == null ? null : mirror(url));
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return Files.readAllBytes(Paths.get(url.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                try (InputStream in = url.openStream()) {
+                    return readAll(in);
+                }
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return readAll(in);
+        }
+    }
+
+    /**
+     * URL relative references in {@code location} resolve against; plain paths become {@code file:} URLs.
+     */
+    private static URL base(String location) throws MalformedURLException {
+        if (isRemote(location) || location.startsWith("file:")) {
+            return new URL(location);
+        }
+        return Paths.get(location).toAbsolutePath().toUri().toURL();
+    }
+
+    private byte[] download(URL url, Path file) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout((int) config.getConnectTimeout().toMillis());
+        connection.setReadTimeout((int) config.getReadTimeout().toMillis());
+        connection.setUseCaches(false);
+        Path metaFile = file == null ? null : file.resolveSibling(file.getFileName() + ".meta");
+        Properties meta = file != null && Files.isRegularFile(file) ? readMeta(metaFile) : new Properties();
+        if (meta.getProperty(ETAG) != null) {
+            connection.setRequestProperty("If-None-Match", meta.getProperty(ETAG));
+        }
+        if (meta.getProperty(LAST_MODIFIED) != null) {
+            connection.setRequestProperty("If-Modified-Since", meta.getProperty(LAST_MODIFIED));
+        }
+        try {
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && file != null && Files.isRegularFile(file)) {
+                revalidations.incrementAndGet();
+                return Files.readAllBytes(file);
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + status + " from " + url);
+            }
+            byte[] content;
+            try (InputStream in = connection.getInputStream()) {
+                content = readAll(in);
+            }
+            downloads.incrementAndGet();
+            if (file != null) {
+                store(file, metaFile, content, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"));
+            }
+            return content;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void store(Path file, Path metaFile, byte[] content, String etag, String lastModified) {
+        try {
+            Files.createDirectories(file.getParent());
+            Properties meta = new Properties();
+            if (etag != null) {
+                meta.setProperty(ETAG, etag);
+            }
+            if (lastModified != null) {
+                meta.setProperty(LAST_MODIFIED, lastModified);
+            }
+            ByteArrayOutputStream metaBytes = new ByteArrayOutputStream();
+            meta.store(metaBytes, null);
+            // The body goes first; a body with stale validators only costs a full download on the next fetch.
+            replace(file, content);
+            replace(metaFile, metaBytes.toByteArray());
+        } catch (IOException e) {
+            log.warn("Unable to cache {}", file, e);
+        }
+    }
+
+    private static void replace(Path file, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(content);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Properties readMeta(Path metaFile) {
+        Properties meta = new Properties();
+        if (Files.isRegularFile(metaFile)) {
+            try (InputStream in = Files.newInputStream(metaFile)) {
+                meta.load(in);
+            } catch (IOException e) {
+                log.debug("Ignoring unreadable cache metadata {}", metaFile, e);
+            }
+        }
+        return meta;
+    }
+
+    /**
+     * Mirror file for {@code url}: {@code <directory>/<scheme>/<host>_<port>/<path>}, so relative references between
+     * mirrored files resolve the same way they do between the remote ones.
+     */
+    private Path mirror(URL url) throws MalformedURLException {
+        URI uri;
+        try {
+            uri = url.toURI().normalize();
+        } catch (URISyntaxException e) {
+            throw new MalformedURLException(e.getMessage());
+        }
+        String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+        if (path.endsWith("/")) {
+            path += "index";
+        }
+        if (uri.getQuery() != null) {
+            path += "_" + SpecParseCache.contentHash(uri.getQuery().getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        }
+        Path root = directory.resolve(uri.getScheme()).resolve(uri.getHost() + "_" + url.getPort()).normalize();
+        Path file = root.resolve(path.substring(1)).normalize();
+        if (!file.startsWith(root)) {
+            throw new MalformedURLException("Refusing to cache " + url + " outside of " + root);
+        }
+        return file;
+    }
+
+    private static boolean isRemote(String location) {
+        return location.startsWith("http://") || location.startsWith("https://");
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import lombok.AllArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Merkle-style structural hashes of the parts of a spec the diff walks. A node's hash covers its own subtree plus
+ * everything it reaches through {@code #/components/...} references, so two nodes with equal hashes can not produce
+ * findings and the diff can skip them.
+ */
+public class SpecFingerprints {
+
+    private static final String COMPONENT_REF_PREFIX = "#/components/";
+    private static final long OBJECT = 0x2545F4914F6CDD1DL;
+    private static final long ARRAY = 0x9E3779B97F4A7C15L;
+    private static final long NULL = 0xC2B2AE3D27D4EB4FL;
+
+    private final Map<String, Long> hashes;
+
+    private SpecFingerprints(Map<String, Long> hashes) {
+        this.hashes = hashes;
+    }
+
+    public static SpecFingerprints of(OpenAPI openApi) {
+        return new Builder(Json.mapper().valueToTree(openApi)).build();
+    }
+
+    /**
+     * Fingerprints read back from {@link #toMap()}, e.g. out of a stored snapshot.
+     */
+    public static SpecFingerprints of(Map<String, Long> hashes) {
+        return new SpecFingerprints(new HashMap<>(hashes));
+    }
+
+    public Map<String, Long> toMap() {
+        return Collections.unmodifiableMap(hashes);
+    }
+
+    public Long pathItem(String path) {
+        return hashes.get("path:" + path);
+    }
+
+    public Long operation(String path, HttpMethod method) {
+        return hashes.get("operation:" + method + " " + path);
+    }
+
+    public Long requestBody(String path, HttpMethod method) {
+        return hashes.get("requestBody:" + method + " " + path);
+    }
+
+    public Long responses(String path, HttpMethod method) {
+        return hashes.get("responses:" + method + " " + path);
+    }
+
+    public Long schema(String name) {
+        return hashes.get("schema:" + name);
+    }
+
+    public int size() {
+        return hashes.size();
+    }
+
+    public static boolean same(Long src, Long tgt) {
+        return src != null && src.equals(tgt);
+    }
+
+    private static class Builder {
+
+        private final JsonNode root;
+        private final Map<String, Long> hashes = new HashMap<>();
+        private final Map<String, Local> components = new HashMap<>();
+        private final Map<String, Long> closures = new HashMap<>();
+
+        Builder(JsonNode root) {
+            this.root = root;
+        }
+
+        SpecFingerprints build() {
+            Iterator<Map.Entry<String, JsonNode>> paths = root.path("paths").fields();
+            while (paths.hasNext()) {
+                Map.Entry<String, JsonNode> path = paths.next();
+                hashes.put("path:" + path.getKey(), subtree(path.getValue()));
+                for (HttpMethod method : HttpMethod.values()) {
+                    JsonNode operation = path.getValue().get(method.name().toLowerCase());
+                    if (operation == null) {
+                        continue;
+                    }
+                    String key = method + " " + path.getKey();
+                    hashes.put("operation:" + key, subtree(operation));
+                    hashes.put("requestBody:" + key, subtree(operation.get("requestBody")));
+                    hashes.put("responses:" + key, subtree(operation.get("responses")));
+                }
+            }
+
+            Iterator<String> schemas = root.path("components").path("schemas").fieldNames();
+            while (schemas.hasNext()) {
+                String name = schemas.next();
+                hashes.put("schema:" + name, closure("schemas/" + name));
+            }
+            return new SpecFingerprints(hashes);
+        }
+
+        private long subtree(JsonNode node) {
+            Set<String> refs = new TreeSet<>();
+            long hash = local(node, refs);
+            for (String ref : refs) {
+                hash = mix(hash, closure(ref));
+            }
+            return hash;
+        }
+
+        /**
+         * Hash of every component reachable from {@code key}, itself included. Walked breadth first over the
+         * direct references of each component so reference cycles terminate.
+         */
+        private long closure(String key) {
+            Long cached = closures.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            Set<String> reached = new TreeSet<>();
+            Deque<String> pending = new ArrayDeque<>(Collections.singleton(key));
+            while (!pending.isEmpty()) {
+                String next = pending.poll();
+                if (reached.add(next)) {
+                    pending.addAll(component(next).refs);
+                }
+            }
+            long hash = OBJECT;
+            for (String component : reached) {
+                hash = mix(mix(hash, hash(component)), component(component).hash);
+            }
+            closures.put(key, hash);
+            return hash;
+        }
+
+        private Local component(String key) {
+            Local local = components.get(key);
+            if (local == null) {
+                int slash = key.indexOf('/');
+                JsonNode node = slash < 0 ? null : root.path("components").path(key.substring(0, slash)).get(key.substring(slash + 1));
+                Set<String> refs = new HashSet<>();
+                local = new Local(local(node, refs), refs);
+                components.put(key, local);
+            }
+            return local;
+        }
+
+        private static long local(JsonNode node, Set<String> refs) {
+            if (node == null || node.isNull() || node.isMissingNode()) {
+                return NULL;
+            }
+            if (node.isObject()) {
+                JsonNode ref = node.get("$ref");
+                if (ref != null && ref.isTextual() && ref.asText().startsWith(COMPONENT_REF_PREFIX)) {
+                    refs.add(ref.asText().substring(COMPONENT_REF_PREFIX.length()));
+                }
+                List<String> fieldNames = new ArrayList<>();
+                node.fieldNames().forEachRemaining(fieldNames::add);
+                Collections.sort(fieldNames);
+                long hash = OBJECT;
+                for (String fieldName : fieldNames) {
+                    hash = mix(mix(hash, hash(fieldName)), local(node.get(fieldName), refs));
+                }
+                return hash;
+            }
+            if (node.isArray()) {
+                long hash = ARRAY;
+                for (JsonNode element : node) {
+                    hash = mix(hash, local(element, refs));
+                }
+                return hash;
+            }
+            return mix(node.getNodeType().ordinal(), hash(node.asText()));
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static class Local {
+
+        private final long hash;
+        private final Set<String> refs;
+
+    }
+
+    static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return fmix(hash);
+    }
+
+    static long mix(long hash, long value) {
+        return fmix(Long.rotateLeft(hash, 31) * 0x9E3779B97F4A7C15L ^ value);
+    }
+
+    private static long fmix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE63AC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.ParseCacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of parsed specs keyed by the SHA-256 of the document content and of the files its relative
+ * {@code $ref}s reach, so an unchanged document is parsed once no matter how many times, or under which location, it
+ * is requested.
+ * Cached models are shared between comparisons and must be treated as read-only.
+ */
+@Slf4j
+@Component
+public class SpecParseCache {
+
+    private final SpecParserProperties.ParseCache config;
+    private final CompareMetrics metrics;
+    private final SpecFetcher fetcher;
+    private final boolean projection;
+    private final LinkedHashMap<String, ParsedSpec> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<ParsedSpec>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long bytes;
+
+    public SpecParseCache(SpecParserProperties properties) {
+        this(properties, CompareMetrics.noop(), new SpecFetcher(properties));
+    }
+
+    @Autowired
+    public SpecParseCache(SpecParserProperties properties, CompareMetrics metrics, SpecFetcher fetcher) {
+        this.config = properties.getParseCache();
+        this.metrics = metrics;
+        this.fetcher = fetcher;
+        this.projection = properties.getProjection().isEnabled();
+        registerMeters(metrics.getRegistry());
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        FunctionCounter.builder("spec.parse.cache.requests", hits, AtomicLong::get).tag("result", "hit").register(registry);
+        FunctionCounter.builder("spec.parse.cache.requests", misses, AtomicLong::get).tag("result", "miss").register(registry);
+        FunctionCounter.builder("spec.parse.cache.evictions", evictions, AtomicLong::get).register(registry);
+        Gauge.builder("spec.parse.cache.entries", this, c -> c.getStats().getEntries()).register(registry);
+        Gauge.builder("spec.parse.cache.bytes", this, c -> c.getStats().getBytes()).baseUnit("bytes").register(registry);
+    }
+
+    public ParsedSpec load(String location) {
+        return load(fetch(location));
+    }
+
+    /**
+     * Reads {@code location} together with the files it references, which {@link #load(SpecDocument)} keys on.
+     */
+    public SpecDocument fetch(String location) {
+        return metrics.time("fetch", CompareMetrics.ALL, () -> fetcher.fetchDocument(location));
+    }
+
+    /**
+     * Same as {@link #load(String)} for a document whose {@code content} was already fetched from {@code location}.
+     */
+    public ParsedSpec load(String location, byte[] content) {
+        return load(SpecDocument.fetched(location, content));
+    }
+
+    public ParsedSpec load(SpecDocument document) {
+        String contentHash = document.getContentHash();
+
+        if (!config.isEnabled()) {
+            misses.incrementAndGet();
+            return parse(document, contentHash);
+        }
+
+        ParsedSpec cached = get(contentHash);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<ParsedSpec> future = new CompletableFuture<>();
+        CompletableFuture<ParsedSpec> existing = inFlight.putIfAbsent(contentHash, future);
+        if (existing != null) {
+            hits.incrementAndGet();
+            return join(existing);
+        }
+
+        try {
+            misses.incrementAndGet();
+            ParsedSpec parsed = parse(document, contentHash);
+            if (parsed.getParseResult().getOpenAPI() != null) {
+                put(parsed);
+            }
+            future.complete(parsed);
+            return parsed;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(contentHash);
+        }
+    }
+
+    /**
+     * Whether a parsed spec for {@code contentHash} is held right now; not counted as a hit or a miss.
+     */
+    public boolean contains(String contentHash) {
+        return config.isEnabled() && get(contentHash) != null;
+    }
+
+    public ParseCacheStats getStats() {
+        ParseCacheStats stats = new ParseCacheStats();
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setEvictions(evictions.get());
+        stats.setMaxBytes(config.getMaxBytes());
+        synchronized (entries) {
+            stats.setEntries(entries.size());
+            stats.setBytes(bytes);
+        }
+        return stats;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    private ParsedSpec get(String contentHash) {
+        synchronized (entries) {
+            return entries.get(contentHash);
+        }
+    }
+
+    private void put(ParsedSpec parsed) {
+        if (parsed.getSize() > config.getMaxBytes()) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.put(parsed.getContentHash(), parsed) == null) {
+                bytes += parsed.getSize();
+            }
+            Iterator<ParsedSpec> eldest = entries.values().iterator();
+            while (bytes > config.getMaxBytes() && eldest.hasNext()) {
+                bytes -= eldest.next().getSize();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private ParsedSpec parse(SpecDocument document, String contentHash) {
+        long start = System.nanoTime();
+        SwaggerParseResult parseResult = metrics.time("parse", CompareMetrics.ALL, () -> read(document));
+        log.debug("Parsed {} ({} bytes) in {} ms", document.getLocation(), document.getContent().length, (System.nanoTime() - start) / 1_000_000);
+        return new ParsedSpec(document.getLocation(), contentHash, document.getContent().length, parseResult);
+    }
+
+    private SwaggerParseResult read(SpecDocument document) {
+        if (projection) {
+            try {
+                JsonNode projected = SpecProjection.project(document.getContent());
+                if (projected != null) {
+                    return new OpenAPIV3Parser().parseJsonNode(document.getLocation(), projected);
+                }
+            } catch (IOException e) {
+                log.debug("Not projecting {}, falling back to a full parse", document.getLocation(), e);
+            }
+        }
+        String content = new String(document.getContent(), StandardCharsets.UTF_8);
+        if (document.isUploaded()) {
+            return new OpenAPIParser().readContents(content, null, parseOptions());
+        }
+        // The bytes that were hashed are parsed; the location only anchors relative references.
+        SwaggerParseResult parseResult = new OpenAPIV3Parser().readContents(content, null, parseOptions(), fetcher.parseLocation(document.getLocation()));
+        if (parseResult.getOpenAPI() == null && !isOpenApi3(document.getContent())) {
+            return new OpenAPIParser().readContents(content, null, parseOptions());
+        }
+        return parseResult;
+    }
+
+    /**
+     * Swagger 2 documents are left to {@link OpenAPIParser}, which converts them.
+     */
+    private static boolean isOpenApi3(byte[] content) {
+        try {
+            JsonNode root = SpecProjection.mapper(content).readTree(content);
+            return root != null && root.has("openapi");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * External {@code $ref}s are pulled into the components, so a remote spec's referenced files are read from
+     * the fetcher's mirror; internal references are left as they are.
+     */
+    private static ParseOptions parseOptions() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        return options;
+    }
+
+    private static ParsedSpec join(CompletableFuture<ParsedSpec> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for spec to be parsed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,315 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerparser.config.SpecParserProperties;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reduces a pair of large OpenAPI 3 documents to the parts that can produce findings before they are parsed.
+ * A first streaming token pass hashes every path item and component without building any objects. A second pass
+ * materializes only path items whose hash, or the hash of anything they reference, differs between the two
+ * documents, the components those reach, and component schemas that differ themselves. Paths present on one side
+ * only are kept as empty items, unless renames are to be detected, which needs their operations to match and diff
+ * them. Everything else is skipped token by token and never becomes an object.
+ */
+@Slf4j
+@Component
+public class SpecPreScanner {
+
+    private static final String COMPONENT_REF_PREFIX = "#/components/";
+    private static final String SCHEMAS = "schemas/";
+
+    private final SpecParserProperties.PreScan config;
+    private final boolean projection;
+
+    public SpecPreScanner(SpecParserProperties properties) {
+        this.config = properties.getPreScan();
+        this.projection = properties.getProjection().isEnabled();
+    }
+
+    /**
+     * Whether documents of these sizes should go through {@link #reduce(byte[], byte[], boolean)} instead of a full
+     * parse.
+     */
+    public boolean applies(long srcBytes, long tgtBytes) {
+        return config.isEnabled() && srcBytes + tgtBytes >= config.getMinBytes();
+    }
+
+    public ReducedSpecs reduce(byte[] source, byte[] target) {
+        return reduce(source, target, false);
+    }
+
+    /**
+     * @param oneSidedPaths whether paths present on one side only are kept in full, with the components they reach
+     * @return the reduced source and target, or {@code null} when the documents need a full parse: Swagger 2,
+     * references outside {@code #/components/}, or content the streaming pass can not read.
+     */
+    public ReducedSpecs reduce(byte[] source, byte[] target, boolean oneSidedPaths) {
+        try {
+            Scan src = scan(source);
+            Scan tgt = scan(target);
+            if (!src.isReducible() || !tgt.isReducible()) {
+                return null;
+            }
+
+            Selection selection = new Selection();
+            Set<String> pathNames = new HashSet<>(src.paths.keySet());
+            pathNames.addAll(tgt.paths.keySet());
+            for (String path : pathNames) {
+                Entry srcPath = src.paths.get(path);
+                Entry tgtPath = tgt.paths.get(path);
+                if ((srcPath == null || tgtPath == null) && oneSidedPaths) {
+                    Scan side = srcPath != null ? src : tgt;
+                    Entry entry = srcPath != null ? srcPath : tgtPath;
+                    selection.paths.add(path);
+                    selection.components.addAll(side.reach(entry));
+                } else if (srcPath == null || tgtPath == null) {
+                    selection.emptyPaths.add(path);
+                } else if (src.closure(srcPath) != tgt.closure(tgtPath)) {
+                    selection.paths.add(path);
+                    selection.components.addAll(src.reach(srcPath));
+                    selection.components.addAll(tgt.reach(tgtPath));
+                }
+            }
+
+            Set<String> componentNames = new HashSet<>(src.components.keySet());
+            componentNames.addAll(tgt.components.keySet());
+            for (String component : componentNames) {
+                Entry srcSchema = src.components.get(component);
+                Entry tgtSchema = tgt.components.get(component);
+                if (component.startsWith(SCHEMAS) && (srcSchema == null || tgtSchema == null || srcSchema.hash != tgtSchema.hash)) {
+                    selection.components.add(component);
+                }
+            }
+
+            log.debug("Pre-scan kept {} of {} paths and {} of {} components", selection.paths.size() + selection.emptyPaths.size(),
+                    pathNames.size(), selection.components.size(), componentNames.size());
+            return new ReducedSpecs(parse(materialize(source, selection)), parse(materialize(target, selection)));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Pre-scan not possible, falling back to a full parse", e);
+            return null;
+        }
+    }
+
+    private SwaggerParseResult parse(JsonNode document) throws IOException {
+        JsonNode projected = projection ? SpecProjection.project(document) : null;
+        return new OpenAPIV3Parser().parseJsonNode(null, projected != null ? projected : document);
+    }
+
+    private static Scan scan(byte[] content) throws IOException {
+        Scan scan = new Scan();
+        try (JsonParser parser = SpecProjection.mapper(content).getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return scan;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("openapi".equals(field) && value == JsonToken.VALUE_STRING) {
+                    scan.openapi = parser.getText();
+                } else if ("paths".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String path = parser.getCurrentName();
+                        parser.nextToken();
+                        scan.paths.put(path, scan.entry(parser));
+                    }
+                } else if ("components".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String type = parser.getCurrentName();
+                        if (parser.nextToken() != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String name = parser.getCurrentName();
+                            parser.nextToken();
+                            scan.components.put(type + "/" + name, scan.entry(parser));
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return scan;
+    }
+
+    private static JsonNode materialize(byte[] content, Selection selection) throws IOException {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        ObjectNode paths = root.objectNode();
+        ObjectNode components = root.objectNode();
+        try (JsonParser parser = SpecProjection.mapper(content).getFactory().createParser(content)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("openapi".equals(field) || "info".equals(field)) {
+                    root.set(field, parser.readValueAsTree());
+                } else if ("paths".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String path = parser.getCurrentName();
+                        parser.nextToken();
+                        if (selection.paths.contains(path)) {
+                            paths.set(path, parser.readValueAsTree());
+                        } else {
+                            if (selection.emptyPaths.contains(path)) {
+                                paths.set(path, paths.objectNode());
+                            }
+                            parser.skipChildren();
+                        }
+                    }
+                } else if ("components".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String type = parser.getCurrentName();
+                        if (parser.nextToken() != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String name = parser.getCurrentName();
+                            parser.nextToken();
+                            if (selection.components.contains(type + "/" + name)) {
+                                components.with(type).set(name, parser.readValueAsTree());
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        root.set("paths", paths);
+        root.set("components", components);
+        return root;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ReducedSpecs {
+
+        private final SwaggerParseResult source;
+        private final SwaggerParseResult target;
+
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+
+        private final long hash;
+        private final Set<String> refs;
+
+    }
+
+    /**
+     * Hashes and component references of one document, as read by the token pass.
+     */
+    private static class Scan {
+
+        private final Map<String, Entry> paths = new HashMap<>();
+        private final Map<String, Entry> components = new HashMap<>();
+        private String openapi;
+        private boolean foreignRefs;
+
+        boolean isReducible() {
+            return openapi != null && openapi.startsWith("3.") && !foreignRefs;
+        }
+
+        /**
+         * Hashes the value the parser is positioned on, consuming it. Key order is significant, so reordered but
+         * otherwise equal subtrees count as changed and are simply diffed.
+         */
+        Entry entry(JsonParser parser) throws IOException {
+            Set<String> refs = new HashSet<>();
+            long hash = 0;
+            int depth = 0;
+            boolean refValue = false;
+            JsonToken token = parser.currentToken();
+            while (true) {
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    depth--;
+                } else if (refValue && token == JsonToken.VALUE_STRING) {
+                    String ref = parser.getText();
+                    if (ref.startsWith(COMPONENT_REF_PREFIX)) {
+                        refs.add(ref.substring(COMPONENT_REF_PREFIX.length()));
+                    } else {
+                        foreignRefs = true;
+                    }
+                }
+                refValue = token == JsonToken.FIELD_NAME && "$ref".equals(parser.getCurrentName());
+                hash = SpecFingerprints.mix(hash, token.ordinal());
+                if (token.isScalarValue() || token == JsonToken.FIELD_NAME) {
+                    hash = SpecFingerprints.mix(hash, SpecFingerprints.hash(parser.getText()));
+                }
+                if (depth == 0) {
+                    return new Entry(hash, refs);
+                }
+                token = parser.nextToken();
+            }
+        }
+
+        /**
+         * Hash of the entry together with every component it reaches; cycles terminate because each component is
+         * visited once.
+         */
+        long closure(Entry entry) {
+            Set<String> reached = reach(entry);
+            long hash = entry.hash;
+            for (String component : reached) {
+                Entry target = components.get(component);
+                hash = SpecFingerprints.mix(SpecFingerprints.mix(hash, SpecFingerprints.hash(component)), target == null ? 0 : target.hash);
+            }
+            return hash;
+        }
+
+        Set<String> reach(Entry entry) {
+            Set<String> reached = new TreeSet<>();
+            Deque<String> pending = new ArrayDeque<>(entry.refs);
+            while (!pending.isEmpty()) {
+                String next = pending.poll();
+                if (reached.add(next)) {
+                    Entry component = components.get(next);
+                    if (component != null) {
+                        pending.addAll(component.refs);
+                    }
+                }
+            }
+            return reached;
+        }
+
+    }
+
+    /**
+     * What to materialize; shared by both documents so a component kept on one side is kept on the other as well
+     * and does not show up as added or removed.
+     */
+    private static class Selection {
+
+        private final Set<String> paths = new HashSet<>();
+        private final Set<String> emptyPaths = new HashSet<>();
+        private final Set<String> components = new HashSet<>();
+
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads an OpenAPI 3 document into a tree holding only what the comparison looks at: paths, operations,
+ * parameters, request bodies, responses, media types and schemas reduced to their type, format, enum, required,
+ * items, properties, composition and {@code $ref}. Descriptions, examples, extensions, servers, tags, external docs
+ * and every other schema keyword are skipped token by token, so they never become objects.
+ * Documents with references to other files are not projected, as the tree can only be parsed without resolution.
+ */
+public final class SpecProjection {
+
+    private static final Set<String> DROPPED = new HashSet<>(Arrays.asList(
+            "description", "summary", "example", "examples", "externalDocs", "servers", "tags", "security",
+            "callbacks", "links", "securitySchemes", "webhooks", "contact", "license", "termsOfService"));
+
+    private static final Set<String> SCHEMA_KEPT = new HashSet<>(Arrays.asList(
+            "type", "format", "enum", "required", "$ref"));
+
+    private static final Set<String> SCHEMA_NESTED = new HashSet<>(Arrays.asList(
+            "items", "additionalProperties", "not"));
+
+    private static final Set<String> SCHEMA_LISTS = new HashSet<>(Arrays.asList(
+            "allOf", "oneOf", "anyOf"));
+
+    /**
+     * What an object in the document is, which decides the keys kept from it.
+     */
+    private enum Kind {
+        /** Document root, path items, operations, parameters, bodies, responses, media types and headers. */
+        NODE,
+        /** Objects whose keys are names (paths, properties, responses, content, ...) and are all kept. */
+        NODE_MAP,
+        SCHEMA,
+        SCHEMA_MAP
+    }
+
+    private final JsonParser parser;
+    private boolean external;
+
+    private SpecProjection(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * @return the projected document, or {@code null} when it is not OpenAPI 3 or references other files and
+     * needs a full parse
+     */
+    public static JsonNode project(byte[] content) throws IOException {
+        try (JsonParser parser = mapper(content).getFactory().createParser(content)) {
+            return new SpecProjection(parser).project();
+        }
+    }
+
+    public static JsonNode project(JsonNode document) throws IOException {
+        try (JsonParser parser = document.traverse(Json.mapper())) {
+            return new SpecProjection(parser).project();
+        }
+    }
+
+    private JsonNode project() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        ObjectNode document = object(Kind.NODE);
+        return document.has("openapi") && !external ? document : null;
+    }
+
+    private ObjectNode object(Kind kind) throws IOException {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (kind) {
+                case NODE_MAP:
+                    node.set(name, value(Kind.NODE));
+                    break;
+                case SCHEMA_MAP:
+                    node.set(name, value(Kind.SCHEMA));
+                    break;
+                case SCHEMA:
+                    if (SCHEMA_KEPT.contains(name)) {
+                        node.set(name, scalar(name));
+                    } else if (SCHEMA_NESTED.contains(name)) {
+                        node.set(name, value(Kind.SCHEMA));
+                    } else if (SCHEMA_LISTS.contains(name) && value == JsonToken.START_ARRAY) {
+                        node.set(name, array(Kind.SCHEMA));
+                    } else if ("properties".equals(name)) {
+                        node.set(name, value(Kind.SCHEMA_MAP));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    if (DROPPED.contains(name) || name.startsWith("x-")) {
+                        parser.skipChildren();
+                    } else {
+                        node.set(name, value(childKind(name)));
+                    }
+            }
+        }
+        return node;
+    }
+
+    private static Kind childKind(String name) {
+        switch (name) {
+            case "schema":
+                return Kind.SCHEMA;
+            case "schemas":
+                return Kind.SCHEMA_MAP;
+            case "paths":
+            case "responses":
+            case "content":
+            case "headers":
+            case "encoding":
+            case "requestBodies":
+            case "pathItems":
+            case "parameters":
+                return Kind.NODE_MAP;
+            default:
+                return Kind.NODE;
+        }
+    }
+
+    private JsonNode value(Kind kind) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return object(kind);
+            case START_ARRAY:
+                // Only "parameters" on path items and operations is an array of objects the diff reads.
+                return array(kind == Kind.NODE_MAP ? Kind.NODE : kind);
+            default:
+                return scalar(parser.getCurrentName());
+        }
+    }
+
+    private JsonNode scalar(String name) throws IOException {
+        JsonNode value = parser.readValueAsTree();
+        if ("$ref".equals(name) && value.isTextual() && !value.asText().startsWith("#")) {
+            external = true;
+        }
+        return value;
+    }
+
+    private ArrayNode array(Kind kind) throws IOException {
+        ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            array.add(value(kind));
+        }
+        return array;
+    }
+
+    static ObjectMapper mapper(byte[] content) {
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{' ? Json.mapper() : Yaml.mapper();
+            }
+        }
+        return Yaml.mapper();
+    }
+
+}
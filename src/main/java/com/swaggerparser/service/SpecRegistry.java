@@ -0,0 +1,355 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.RegisteredSpecResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Named spec versions compared against often enough to keep ready. Registering one parses it once and writes a
+ * Smile snapshot of the parsed model and its fingerprints under the registry directory; compare requests then name
+ * it as {@code name@version} in place of a path. A snapshot is memory-mapped and decoded the first time it is
+ * needed after a restart, without fetching or parsing the original, and the decoded spec is shared read-only by
+ * every comparison while it stays within the registry's memory budget.
+ */
+@Slf4j
+@Service
+public class SpecRegistry {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final int FORMAT = 1;
+    private static final String SUFFIX = ".smile";
+
+    private final SpecParserProperties.Registry config;
+    private final SpecParseCache specParseCache;
+    private final CompareMetrics metrics;
+    private final Path directory;
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private final LinkedHashMap<String, ParsedSpec> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<ParsedSpec>> decoding = new ConcurrentHashMap<>();
+    private long loadedBytes;
+
+    public SpecRegistry(SpecParserProperties properties, SpecParseCache specParseCache, CompareMetrics metrics) {
+        this.config = properties.getRegistry();
+        this.specParseCache = specParseCache;
+        this.metrics = metrics;
+        this.directory = Paths.get(config.getDirectory());
+        Gauge.builder("spec.registry.loaded", this, SpecRegistry::loadedCount).register(metrics.getRegistry());
+    }
+
+    public static SpecRegistry disabled() {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getRegistry().setEnabled(false);
+        return new SpecRegistry(properties, null, CompareMetrics.noop());
+    }
+
+    /**
+     * Parses the spec at {@code location} and stores it as {@code name@version}, replacing an earlier
+     * registration of the same version.
+     */
+    public RegisteredSpecResponse register(String name, String version, String location) {
+        requireEnabled();
+        if (!NAME.matcher(name).matches() || !NAME.matcher(version).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Names and versions may only contain letters, digits, '.', '_' and '-'");
+        }
+        if (location == null || location.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "location is required");
+        }
+        ParsedSpec parsed = specParseCache.load(location);
+        OpenAPI openApi = parsed.getParseResult().getOpenAPI();
+        if (openApi == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to parse " + location + ": " + parsed.getParseResult().getMessages());
+        }
+
+        String reference = name + '@' + version;
+        ObjectNode snapshot = smile.createObjectNode();
+        snapshot.put("format", FORMAT);
+        snapshot.put("name", name);
+        snapshot.put("version", version);
+        snapshot.put("location", location);
+        snapshot.put("contentHash", parsed.getContentHash());
+        snapshot.put("size", parsed.getSize());
+        snapshot.put("registeredAt", Instant.now().toEpochMilli());
+        ObjectNode fingerprints = snapshot.putObject("fingerprints");
+        parsed.getFingerprints().toMap().forEach(fingerprints::put);
+        snapshot.set("openapi", Json.mapper().valueToTree(openApi));
+        metrics.time("snapshot", CompareMetrics.ALL, () -> write(reference, snapshot));
+
+        remember(reference, parsed);
+        log.info("Registered {} from {}", reference, location);
+        return get(name, version);
+    }
+
+    public RegisteredSpecResponse get(String name, String version) {
+        requireEnabled();
+        RegisteredSpecResponse registered = NAME.matcher(name).matches() && NAME.matcher(version).matches()
+                ? readHeader(file(name + '@' + version)) : null;
+        if (registered == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown spec " + name + '@' + version);
+        }
+        return registered;
+    }
+
+    public List<RegisteredSpecResponse> list() {
+        requireEnabled();
+        List<RegisteredSpecResponse> registered = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return registered;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                RegisteredSpecResponse header = readHeader(file);
+                if (header != null) {
+                    registered.add(header);
+                }
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to list " + directory, e);
+        }
+        registered.sort((a, b) -> a.getReference().compareTo(b.getReference()));
+        return registered;
+    }
+
+    public void delete(String name, String version) {
+        requireEnabled();
+        String reference = name + '@' + version;
+        if (!NAME.matcher(name).matches() || !NAME.matcher(version).matches()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown spec " + reference);
+        }
+        boolean removed = forget(reference);
+        try {
+            removed |= Files.deleteIfExists(file(reference));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to delete " + reference, e);
+        }
+        if (!removed) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown spec " + reference);
+        }
+    }
+
+    /**
+     * @return the registered spec {@code location} names, or {@code null} when it is not a registered
+     * {@code name@version}
+     */
+    public ParsedSpec find(String location) {
+        if (!config.isEnabled() || !isReference(location)) {
+            return null;
+        }
+        ParsedSpec spec;
+        synchronized (loaded) {
+            spec = loaded.get(location);
+        }
+        if (spec != null || !Files.isRegularFile(file(location))) {
+            return spec;
+        }
+        CompletableFuture<ParsedSpec> future = new CompletableFuture<>();
+        CompletableFuture<ParsedSpec> existing = decoding.putIfAbsent(location, future);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            spec = metrics.time("snapshot", CompareMetrics.ALL, () -> read(location));
+            if (spec != null) {
+                remember(location, spec);
+            }
+            future.complete(spec);
+            return spec;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            decoding.remove(location);
+        }
+    }
+
+    /**
+     * Whether {@code location} has the {@code name@version} form of a registered spec, whether or not one is.
+     */
+    public static boolean isReference(String location) {
+        int at = location == null ? -1 : location.indexOf('@');
+        return at >= 0 && NAME.matcher(location.substring(0, at)).matches() && NAME.matcher(location.substring(at + 1)).matches();
+    }
+
+    /**
+     * The registered spec {@code location} names, or else the spec at that location through the parse cache.
+     */
+    public ParsedSpec load(String location) {
+        ParsedSpec registered = find(location);
+        return registered != null ? registered : specParseCache.load(location);
+    }
+
+    /**
+     * Keeps {@code spec} decoded, dropping the least recently used others while over the configured budget; the
+     * newest is kept even when it alone exceeds it, as comparisons are about to use it.
+     */
+    private void remember(String reference, ParsedSpec spec) {
+        synchronized (loaded) {
+            ParsedSpec previous = loaded.put(reference, spec);
+            loadedBytes += spec.getSize() - (previous == null ? 0 : previous.getSize());
+            Iterator<Map.Entry<String, ParsedSpec>> eldest = loaded.entrySet().iterator();
+            while (loadedBytes > config.getMaxLoadedBytes() && loaded.size() > 1) {
+                loadedBytes -= eldest.next().getValue().getSize();
+                eldest.remove();
+            }
+        }
+    }
+
+    private boolean forget(String reference) {
+        synchronized (loaded) {
+            ParsedSpec removed = loaded.remove(reference);
+            if (removed != null) {
+                loadedBytes -= removed.getSize();
+            }
+            return removed != null;
+        }
+    }
+
+    private int loadedCount() {
+        synchronized (loaded) {
+            return loaded.size();
+        }
+    }
+
+    private void requireEnabled() {
+        if (!config.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The spec registry is disabled");
+        }
+    }
+
+    private Path file(String reference) {
+        return directory.resolve(reference + SUFFIX);
+    }
+
+    private void write(String reference, JsonNode snapshot) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, reference, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    smile.writeValue(out, snapshot);
+                }
+                Files.move(temp, file(reference), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to store " + reference + " under " + directory, e);
+        }
+    }
+
+    private ParsedSpec read(String reference) {
+        Path file = file(reference);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))) {
+            JsonNode snapshot = smile.readTree(in);
+            if (snapshot.path("format").asInt() != FORMAT) {
+                log.warn("Ignoring snapshot {} written in another format", file);
+                return null;
+            }
+            SwaggerParseResult parseResult = new SwaggerParseResult();
+            parseResult.setOpenAPI(Json.mapper().treeToValue(snapshot.get("openapi"), OpenAPI.class));
+            parseResult.setMessages(Collections.emptyList());
+            Map<String, Long> fingerprints = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = snapshot.path("fingerprints").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                fingerprints.put(field.getKey(), field.getValue().asLong());
+            }
+            return new ParsedSpec(snapshot.path("location").asText(), snapshot.path("contentHash").asText(), snapshot.path("size").asLong(),
+                    parseResult, SpecFingerprints.of(fingerprints));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the fields written ahead of the model, stopping before it so listing does not decode whole specs.
+     */
+    private RegisteredSpecResponse readHeader(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        RegisteredSpecResponse header = new RegisteredSpecResponse();
+        try (JsonParser parser = smile.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            int format = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME && !"fingerprints".equals(parser.getCurrentName())) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "format":
+                        format = parser.getIntValue();
+                        break;
+                    case "name":
+                        header.setName(parser.getText());
+                        break;
+                    case "version":
+                        header.setVersion(parser.getText());
+                        break;
+                    case "location":
+                        header.setLocation(parser.getText());
+                        break;
+                    case "contentHash":
+                        header.setContentHash(parser.getText());
+                        break;
+                    case "size":
+                        header.setSize(parser.getLongValue());
+                        break;
+                    case "registeredAt":
+                        header.setRegisteredAt(Instant.ofEpochMilli(parser.getLongValue()));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (format != FORMAT || header.getName() == null || header.getVersion() == null) {
+                return null;
+            }
+            header.setReference(header.getName() + '@' + header.getVersion());
+            header.setSnapshotBytes(Files.size(file));
+            return header;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable snapshot {}", file, e);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.ComparisonOptions;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * What a scoped comparison covers: the paths selected by the include and exclude patterns on either side, and the
+ * component schemas those paths reach through {@code $ref}, directly or through other schemas. Finding both only
+ * visits the selected part of each document.
+ */
+@Getter
+public class SpecScope {
+
+    private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+
+    private final Set<String> paths;
+    private final Set<String> schemas;
+
+    private SpecScope(Set<String> paths, Set<String> schemas) {
+        this.paths = paths;
+        this.schemas = schemas;
+    }
+
+    public static SpecScope of(CompiledSpec src, CompiledSpec tgt, ComparisonOptions options) {
+        Set<String> paths = new TreeSet<>(src.getPathTrie().select(options.getIncludePaths(), options.getExcludePaths()));
+        paths.addAll(tgt.getPathTrie().select(options.getIncludePaths(), options.getExcludePaths()));
+        // Each side walks with its own visited set; a schema the source reaches must not stop the target's walk
+        // through its own version of it.
+        Set<String> schemas = new TreeSet<>(new Reachable(src.getOpenApi()).fromPaths(paths));
+        schemas.addAll(new Reachable(tgt.getOpenApi()).fromPaths(paths));
+        return new SpecScope(Collections.unmodifiableSet(paths), Collections.unmodifiableSet(schemas));
+    }
+
+    /**
+     * Walks one document from its operations to the component schemas they reference.
+     */
+    private static class Reachable {
+
+        private final OpenAPI openApi;
+        private final Components components;
+        private final Set<String> schemas = new HashSet<>();
+        private final Deque<Schema<?>> pending = new ArrayDeque<>();
+
+        Reachable(OpenAPI openApi) {
+            this.openApi = openApi;
+            this.components = openApi.getComponents() == null ? new Components() : openApi.getComponents();
+        }
+
+        /**
+         * @return the names of the component schemas the paths reach in this document
+         */
+        Set<String> fromPaths(Set<String> paths) {
+            if (openApi.getPaths() == null) {
+                return schemas;
+            }
+            for (String path : paths) {
+                PathItem pathItem = openApi.getPaths().get(path);
+                if (pathItem == null) {
+                    continue;
+                }
+                parameters(pathItem.getParameters());
+                for (Operation operation : pathItem.readOperations()) {
+                    parameters(operation.getParameters());
+                    requestBody(operation.getRequestBody());
+                    if (operation.getResponses() != null) {
+                        operation.getResponses().values().forEach(this::response);
+                    }
+                }
+            }
+            drain();
+            return schemas;
+        }
+
+        private void parameters(List<Parameter> parameters) {
+            if (parameters == null) {
+                return;
+            }
+            for (Parameter parameter : parameters) {
+                Parameter resolved = parameter != null && parameter.get$ref() != null
+                        ? component(components.getParameters(), parameter.get$ref()) : parameter;
+                if (resolved != null) {
+                    schema(resolved.getSchema());
+                    content(resolved.getContent());
+                }
+            }
+        }
+
+        private void requestBody(RequestBody requestBody) {
+            RequestBody resolved = requestBody != null && requestBody.get$ref() != null
+                    ? component(components.getRequestBodies(), requestBody.get$ref()) : requestBody;
+            if (resolved != null) {
+                content(resolved.getContent());
+            }
+        }
+
+        private void response(ApiResponse response) {
+            ApiResponse resolved = response != null && response.get$ref() != null
+                    ? component(components.getResponses(), response.get$ref()) : response;
+            if (resolved != null) {
+                content(resolved.getContent());
+            }
+        }
+
+        private void content(Content content) {
+            if (content != null) {
+                content.values().forEach(mediaType -> schema(mediaType == null ? null : mediaType.getSchema()));
+            }
+        }
+
+        private void schema(Schema<?> schema) {
+            if (schema != null) {
+                pending.push(schema);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            while (!pending.isEmpty()) {
+                Schema<?> schema = pending.pop();
+                String ref = schema.get$ref();
+                if (ref != null && ref.startsWith(SCHEMA_REF_PREFIX)) {
+                    String name = ref.substring(SCHEMA_REF_PREFIX.length());
+                    if (schemas.add(name) && components.getSchemas() != null) {
+                        schema(components.getSchemas().get(name));
+                    }
+                    continue;
+                }
+                if (schema.getProperties() != null) {
+                    schema.getProperties().values().forEach(this::schema);
+                }
+                schema(schema.getItems());
+                schema(schema.getNot());
+                if (schema.getAdditionalProperties() instanceof Schema) {
+                    schema((Schema<?>) schema.getAdditionalProperties());
+                }
+                for (List<Schema> composed : new List[]{schema.getAllOf(), schema.getOneOf(), schema.getAnyOf()}) {
+                    if (composed != null) {
+                        composed.forEach(this::schema);
+                    }
+                }
+            }
+        }
+
+        private static <T> T component(Map<String, T> components, String ref) {
+            return components == null ? null : components.get(ref.substring(ref.lastIndexOf('/') + 1));
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads spec documents sent in a request body into memory. Gzip-compressed bodies are recognised by their magic
+ * bytes and inflated on the fly; the size limit applies to the inflated document and is enforced while reading,
+ * so an oversized or over-compressed upload is rejected without being buffered.
+ */
+@Component
+public class SpecUploadReader {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private final SpecParserProperties.Upload config;
+
+    public SpecUploadReader(SpecParserProperties properties) {
+        this.config = properties.getUpload();
+    }
+
+    public SpecDocument read(String name, InputStream body) {
+        try {
+            InputStream in = new BufferedInputStream(body);
+            in.mark(2);
+            int magic = in.read() | (in.read() << 8);
+            in.reset();
+            if (magic == GZIP_MAGIC) {
+                in = new GZIPInputStream(in);
+            }
+            return SpecDocument.uploaded(name, readLimited(name, in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read uploaded " + name + " spec", e);
+        }
+    }
+
+    private byte[] readLimited(String name, InputStream in) throws IOException {
+        long maxBytes = config.getMaxBytes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + (long) read > maxBytes) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Uploaded " + name + " spec exceeds " + maxBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        if (out.size() == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Uploaded " + name + " spec is empty");
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.swaggerparser.cli;
+
+import com.swaggerparser.dto.SpecCompareRequest;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompareCliTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path spec = SpecFixture.SPEC;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    void exitStatusReflectsMajorChanges() throws IOException {
+        assertEquals(CompareCli.COMPATIBLE, run(spec.toString(), spec.toString()));
+        assertEquals(CompareCli.BREAKING, run(spec.toString(), SpecFixture.renamedPath(tempDir).toString()));
+        assertTrue(output().contains("PATH_REMOVED"));
+        assertEquals(CompareCli.FAILED, run(spec.toString()));
+        assertEquals(CompareCli.FAILED, run("--port", "not-a-port", spec.toString(), spec.toString()));
+    }
+
+    @Test
+    void comparisonIsDelegatedToDaemon() throws IOException {
+        try (CompareDaemon daemon = CompareDaemon.start(CompareCli.newService(), 0)) {
+            String port = String.valueOf(daemon.getPort());
+
+            assertEquals(CompareCli.BREAKING, run("--json", "--port", port, spec.toString(), SpecFixture.renamedPath(tempDir).toString()));
+            assertTrue(output().contains("\"code\" : \"PATH_ADDED\""));
+            assertEquals(CompareCli.FAILED, run("--port", port, spec.toString(), "does-not-exist.yaml"));
+        }
+    }
+
+    @Test
+    void daemonOnlyAcceptsBoundedRequestsWithItsToken() throws IOException {
+        try (CompareDaemon daemon = CompareDaemon.start(CompareCli.newService(), 0, tempDir)) {
+            Path tokenFile = tempDir.resolve("daemon-" + daemon.getPort() + ".token");
+            assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(tokenFile));
+            SpecCompareRequest request = new SpecCompareRequest();
+            request.setSourcePath(spec.toAbsolutePath().toString());
+            request.setTargetPath(spec.toAbsolutePath().toString());
+            assertFalse(CompareDaemon.call(daemon.getPort(), request, tempDir).hasChanges());
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+                byte[] oversized = new byte[CompareDaemon.MAX_LINE_BYTES + 1];
+                Arrays.fill(oversized, (byte) 'a');
+                socket.getOutputStream().write(oversized);
+                String response = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+                assertTrue(response.contains("Request line longer than"), response);
+            }
+
+            Files.write(tokenFile, "guessed".getBytes(StandardCharsets.UTF_8));
+            assertEquals("Invalid daemon token", assertThrows(IllegalStateException.class,
+                    () -> CompareDaemon.call(daemon.getPort(), request, tempDir)).getMessage());
+        }
+    }
+
+    @Test
+    void registeredSpecsAreSentByName() {
+        assertEquals("petstore@1.0", CompareCli.absolute("petstore@1.0"));
+        assertEquals(spec.toAbsolutePath().toString(), CompareCli.absolute(spec.toString()));
+    }
+
+    int run(String... args) throws IOException {
+        return CompareCli.run(args, new PrintStream(out, true), new PrintStream(err, true));
+    }
+
+    String output() {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
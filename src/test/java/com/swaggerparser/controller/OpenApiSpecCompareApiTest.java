@@ -0,0 +1,171 @@
+package com.swaggerparser.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OpenApiSpecCompareApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @TempDir
+    Path tempDir;
+
+    String compareRequest() throws IOException {
+        return "{\"sourcePath\":\"" + portable(SpecFixture.SPEC) + "\",\"targetPath\":\"" + portable(SpecFixture.renamedPath(tempDir)) + "\"}";
+    }
+
+    static String portable(Path path) {
+        return path.toString().replace("\\", "/");
+    }
+
+    @Test
+    void compareDefaultsToJson() throws Exception {
+        mockMvc.perform(post("/open-api-spec/compare").contentType(MediaType.APPLICATION_JSON).content(compareRequest()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.majorChanges.length()").value(2))
+                .andExpect(jsonPath("$.findings[0].code").value("PATH_ADDED"))
+                .andExpect(jsonPath("$.findings[0].path").value("/utilities/validateAddressV2"));
+    }
+
+    @Test
+    void unparsableSpecsAreBadRequests() throws Exception {
+        Path broken = Files.write(tempDir.resolve("broken.yaml"), "not: [an, openapi, document".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(post("/open-api-spec/compare").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourcePath\":\"" + portable(broken) + "\",\"targetPath\":\"" + portable(broken) + "\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void compareJobCanBePolled() throws Exception {
+        String location = mockMvc.perform(post("/open-api-spec/compare/jobs").param("timeout", "PT30S")
+                        .contentType(MediaType.APPLICATION_JSON).content(compareRequest()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn().getResponse().getHeader("Location");
+
+        for (int i = 0; i < 200 && !mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString().contains("SUCCEEDED"); i++) {
+            Thread.sleep(50);
+        }
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.result.majorChanges.length()").value(2));
+        mockMvc.perform(delete("/open-api-spec/compare/jobs/unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void storedResultIsPaged() throws Exception {
+        String location = mockMvc.perform(post("/open-api-spec/compare/results").contentType(MediaType.APPLICATION_JSON).content(compareRequest()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.findings").value(2))
+                .andExpect(jsonPath("$.majorFindings").value(2))
+                .andReturn().getResponse().getHeader("Location");
+
+        String cursor = JsonPath.read(mockMvc.perform(get(location + "/findings").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.findings.length()").value(1))
+                .andExpect(jsonPath("$.findings[0].code").value("PATH_ADDED"))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+        mockMvc.perform(get(location + "/findings").param("limit", "1").param("cursor", cursor))
+                .andExpect(jsonPath("$.findings[0].code").value("PATH_REMOVED"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get(location + "/findings").param("severity", "MINOR"))
+                .andExpect(jsonPath("$.findings.length()").value(0));
+
+        mockMvc.perform(delete(location)).andExpect(status().isNoContent());
+        mockMvc.perform(get(location)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void compareStreamsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(post("/open-api-spec/compare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(compareRequest()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"code\":\"PATH_ADDED\",\"severity\":\"MAJOR\",\"section\":\"PATH\",\"path\":\"/utilities/validateAddressV2\","
+                                + "\"message\":\"/utilities/validateAddressV2: Added in target\"}\n"
+                                + "{\"code\":\"PATH_REMOVED\",\"severity\":\"MAJOR\",\"section\":\"PATH\",\"path\":\"/utilities/validateAddress\","
+                                + "\"message\":\"/utilities/validateAddress: Removed from target\"}\n"));
+    }
+
+    @Test
+    void compareAcceptsUploadedSpecs() throws Exception {
+        byte[] source = SpecFixture.bytes();
+        byte[] target = SpecFixture.bytes("/utilities/validateAddress:", "/utilities/validateAddressV2:");
+
+        mockMvc.perform(multipart("/open-api-spec/compare/upload")
+                        .file(new MockMultipartFile("source", "source.yaml", "application/yaml", source))
+                        .file(new MockMultipartFile("target", "target.yaml.gz", "application/gzip", gzip(target))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.majorChanges.length()").value(2));
+
+        mockMvc.perform(post("/open-api-spec/compare/upload")
+                        .param("sourcePath", portable(SpecFixture.SPEC))
+                        .contentType("application/yaml").content(target))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.findings[0].path").value("/utilities/validateAddressV2"));
+
+        mockMvc.perform(post("/open-api-spec/compare/upload").contentType("application/yaml").content(target))
+                .andExpect(status().isBadRequest());
+
+        String version = "upload-" + System.nanoTime();
+        mockMvc.perform(put("/open-api-spec/registry/utilities/" + version).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"location\":\"" + portable(SpecFixture.SPEC) + "\"}"))
+                .andExpect(status().isOk());
+        try {
+            mockMvc.perform(post("/open-api-spec/compare/upload").param("sourcePath", "utilities@" + version)
+                            .contentType("application/yaml").content(target))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.findings[0].path").value("/utilities/validateAddressV2"));
+        } finally {
+            mockMvc.perform(delete("/open-api-spec/registry/utilities/" + version)).andExpect(status().isNoContent());
+        }
+    }
+
+    static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+}
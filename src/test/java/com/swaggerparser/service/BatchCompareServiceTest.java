@@ -0,0 +1,49 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.BatchCompareRequest;
+import com.swaggerparser.dto.BatchCompareResponse;
+import com.swaggerparser.dto.SpecCompareRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+public class BatchCompareServiceTest {
+
+    @Autowired
+    BatchCompareService batchCompareService;
+
+    @Test
+    void badSpecDoesNotFailTheBatch() {
+        String spec = Paths.get("src", "test", "resources", "open-api-spec.yaml").toFile().getAbsolutePath();
+        BatchCompareRequest request = new BatchCompareRequest();
+        request.getPairs().add(pair(spec, spec));
+        request.getPairs().add(pair(spec, "does-not-exist.yaml"));
+        request.getPairs().add(pair(spec, spec));
+
+        BatchCompareResponse response = batchCompareService.compare(request);
+
+        assertEquals(3, response.getResults().size());
+        assertEquals(2, response.getDistinctSpecs());
+        assertNull(response.getResults().get(0).getError());
+        assertFalse(response.getResults().get(0).getBreakingChange().hasChanges());
+        assertNotNull(response.getResults().get(1).getError());
+        assertNull(response.getResults().get(1).getBreakingChange());
+        assertNull(response.getResults().get(2).getError());
+    }
+
+    private static SpecCompareRequest pair(String sourcePath, String targetPath) {
+        SpecCompareRequest pair = new SpecCompareRequest();
+        pair.setSourcePath(sourcePath);
+        pair.setTargetPath(targetPath);
+        return pair;
+    }
+
+}
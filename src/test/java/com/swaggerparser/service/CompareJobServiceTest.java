@@ -0,0 +1,199 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.CompareJobResponse;
+import com.swaggerparser.dto.JobStatus;
+import com.swaggerparser.dto.SpecCompareRequest;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompareJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    String spec = Paths.get("src", "test", "resources", "open-api-spec.yaml").toAbsolutePath().toString();
+    SpecParserProperties properties;
+    ThreadPoolExecutor executor;
+    SpecParseCache cache;
+    CompareJobService jobs;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new SpecParserProperties();
+        properties.getJobs().setQueueCapacity(1);
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+        cache = new SpecParseCache(properties);
+        jobs = new CompareJobService(new OpenApiSpecCompareService(cache, properties, null), executor, properties, CompareMetrics.noop());
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void jobRunsToCompletion() throws InterruptedException {
+        CompareJobResponse job = jobs.submit(request(), null);
+        CompareJobResponse done = await(job.getId());
+        assertEquals(JobStatus.SUCCEEDED, done.getStatus());
+        assertNotNull(done.getResult());
+        assertNotNull(done.getFinishedAt());
+    }
+
+    @Test
+    void jobsLoadSpecsLikeSynchronousComparisons() throws Exception {
+        properties.getPreScan().setMinBytes(0);
+        SpecCompareRequest request = request();
+        request.setTargetPath(SpecFixture.renamedPath(tempDir).toString());
+
+        CompareJobResponse done = await(jobs.submit(request, null).getId());
+
+        assertEquals(JobStatus.SUCCEEDED, done.getStatus());
+        assertEquals(2, done.getResult().getMajorChanges().size());
+        assertEquals(0, cache.getStats().getMisses(), "pre-scanned specs are not parsed in full");
+    }
+
+    @Test
+    void fullQueueRejectsAndCancelFreesASlot() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Blocker(release));
+
+        CompareJobResponse queued = jobs.submit(request(), null);
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> jobs.submit(request(), null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+
+        assertEquals(JobStatus.CANCELLED, jobs.cancel(queued.getId()).getStatus());
+        CompareJobResponse next = jobs.submit(request(), null);
+        release.countDown();
+        assertEquals(JobStatus.SUCCEEDED, await(next.getId()).getStatus());
+        assertEquals(JobStatus.CANCELLED, jobs.get(queued.getId()).getStatus());
+    }
+
+    @Test
+    void jobPastItsDeadlineTimesOut() throws InterruptedException {
+        CompareJobResponse job = jobs.submit(request(), Duration.ZERO);
+        assertEquals(JobStatus.TIMED_OUT, await(job.getId()).getStatus());
+    }
+
+    @Test
+    void largeJobIsStartedAfterAtMostMaxOvertakesLighterOnes() throws Exception {
+        properties.getJobs().setQueueCapacity(10);
+        properties.getJobs().setMaxOvertakes(2);
+        Path large = tempDir.resolve("large.yaml");
+        byte[] padding = new byte[1024 * 1024];
+        Arrays.fill(padding, (byte) '\n');
+        Files.write(large, padding);
+        Files.write(large, Files.readAllBytes(Paths.get(spec)), StandardOpenOption.APPEND);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Blocker(release));
+
+        CompareJobResponse heavy = jobs.submit(request(large.toString()), null);
+        List<CompareJobResponse> light = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            light.add(jobs.submit(request(), null));
+        }
+        release.countDown();
+        Instant heavyStarted = await(heavy.getId()).getStartedAt();
+
+        List<Instant> lightStarted = new ArrayList<>();
+        for (CompareJobResponse job : light) {
+            lightStarted.add(await(job.getId()).getStartedAt());
+        }
+        assertTrue(!heavyStarted.isAfter(lightStarted.get(2)), "heavy job started after " + lightStarted);
+        assertTrue(heavyStarted.isAfter(lightStarted.get(1)), "heavy job started before " + lightStarted);
+    }
+
+    @Test
+    void timeoutCountsFromPickup() {
+        ComparisonControl control = ComparisonControl.withTimeoutOnStart(Duration.ZERO);
+        assertFalse(control.isExpired());
+        control.start();
+        assertTrue(control.isExpired());
+    }
+
+    @Test
+    void cancelledControlStopsTheDiff() {
+        SpecParseCache cache = new SpecParseCache(properties);
+        ComparisonControl control = ComparisonControl.unbounded();
+        control.cancel();
+        ComparisonAbortedException aborted = assertThrows(ComparisonAbortedException.class, () ->
+                new OpenApiSpecCompareService(cache, properties, null).analyzeBreakingChanges(cache.load(spec), cache.load(spec), control));
+        assertTrue(!aborted.isTimedOut());
+    }
+
+    CompareJobResponse await(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            CompareJobResponse job = jobs.get(id);
+            if (job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job " + id + " did not finish");
+    }
+
+    SpecCompareRequest request() {
+        return request(spec);
+    }
+
+    SpecCompareRequest request(String source) {
+        SpecCompareRequest request = new SpecCompareRequest();
+        request.setSourcePath(source);
+        request.setTargetPath(spec);
+        return request;
+    }
+
+    /**
+     * Occupies the only worker; sorts ahead of every job.
+     */
+    static class Blocker implements Runnable, Comparable<Object> {
+
+        private final CountDownLatch release;
+
+        Blocker(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            return -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.support.SpecFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompareMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void comparisonRecordsPhasesSizesAndFindings() throws IOException {
+        Path spec = SpecFixture.SPEC;
+        Path renamed = SpecFixture.renamedPath(tempDir);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CompareMetrics metrics = new CompareMetrics(registry);
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        SpecParseCache cache = new SpecParseCache(properties, metrics, new SpecFetcher(properties));
+        OpenApiSpecCompareService service = new OpenApiSpecCompareService(cache, properties, null, metrics, ComparisonResultCache.disabled(), new SpecPreScanner(properties));
+
+        service.analyzeBreakingChanges(spec.toString(), renamed.toString());
+        service.analyzeBreakingChanges(spec.toString(), renamed.toString());
+
+        for (String phase : new String[]{"paths", "schemas", "total"}) {
+            assertEquals(2, registry.get("spec.compare.phase").tag("phase", phase).timer().count());
+        }
+        assertEquals(2, registry.get("spec.compare.phase").tags("phase", "load", "side", "source").timer().count());
+        assertEquals(2, registry.get("spec.compare.phase").tag("phase", "parse").timer().count());
+        assertEquals(4, registry.get("spec.size").tag("dimension", "paths").summary().count());
+        assertEquals(4, registry.get("spec.compare.findings").tag("severity", "MAJOR").counter().count());
+        assertEquals(2, registry.get("spec.parse.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("spec.parse.cache.entries").gauge().value());
+    }
+
+}
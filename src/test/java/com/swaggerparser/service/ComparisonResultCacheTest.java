@@ -0,0 +1,126 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.FindingLocation;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComparisonResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void repeatedComparisonIsServedFromMemory() throws IOException {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        SpecParseCache specParseCache = new SpecParseCache(properties);
+        OpenApiSpecCompareService service = new OpenApiSpecCompareService(specParseCache, properties, null,
+                CompareMetrics.noop(), new ComparisonResultCache(properties, CompareMetrics.noop()), new SpecPreScanner(properties));
+        Path source = SpecFixture.SPEC;
+        Path target = SpecFixture.renamedPath(tempDir);
+
+        BreakingChange first = service.analyzeBreakingChanges(source.toString(), target.toString());
+        first.getFindings().get(0).setProperty("modified by the caller");
+        BreakingChange second = service.analyzeBreakingChanges(source.toString(), target.toString());
+
+        assertNotSame(first, second);
+        assertNotSame(first.getFindings().get(0), second.getFindings().get(0));
+        assertEquals(2, second.getMajorChanges().size());
+        assertNull(second.getFindings().get(0).getProperty());
+    }
+
+    @Test
+    void resultsDependOnRulesAndServerSettings() {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getRules().getSets().put("paths", Collections.singletonList("paths.*"));
+        OpenApiSpecCompareService service = SpecFixture.service(properties);
+        ComparisonOptions paths = ComparisonOptions.defaults();
+        paths.setRuleSet("paths");
+        String before = service.resultVariant(paths);
+        String all = service.resultVariant(ComparisonOptions.defaults());
+
+        service.getRuleRegistry().register("paths.custom", NodeType.PATHS, (node, findings) -> {
+        });
+        assertNotEquals(before, service.resultVariant(paths));
+        assertNotEquals(all, service.resultVariant(ComparisonOptions.defaults()));
+
+        properties.getRules().getSets().put("paths", Arrays.asList("paths.added", "paths.removed"));
+        assertNotEquals(before, SpecFixture.service(properties).resultVariant(paths));
+
+        SpecParserProperties deeper = new SpecParserProperties();
+        deeper.getDiff().setMaxSchemaDepth(64);
+        SpecParserProperties looser = new SpecParserProperties();
+        looser.getRenames().setThreshold(0.5);
+        String defaults = new OpenApiSpecCompareService(new SpecParseCache(properties), new SpecParserProperties(), null).resultVariant(ComparisonOptions.defaults());
+        assertNotEquals(defaults, SpecFixture.service(deeper).resultVariant(ComparisonOptions.defaults()));
+        assertNotEquals(defaults, SpecFixture.service(looser).resultVariant(ComparisonOptions.defaults()));
+    }
+
+    @Test
+    void diskTierSurvivesRestart() {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getResultCache().setDirectory(tempDir.resolve("results").toString());
+        BreakingChange result = new BreakingChange();
+        result.add(Finding.of(ChangeCode.PATH_ADDED, FindingLocation.ofPath("/pets")));
+        result.add(Finding.of(ChangeCode.PROPERTIES_ADDED, FindingLocation.ofSchema("Pet")).added(Arrays.asList("name", "tag")));
+
+        new ComparisonResultCache(properties, CompareMetrics.noop()).put("a", "b", "v", result);
+        ComparisonResultCache restarted = new ComparisonResultCache(properties, CompareMetrics.noop());
+
+        BreakingChange restored = restarted.get("a", "b", "v");
+        assertNotNull(restored);
+        assertNotSame(result, restored);
+        assertEquals(result.getMajorChanges(), restored.getMajorChanges());
+        assertEquals(result.getMinorChanges(), restored.getMinorChanges());
+        assertEquals(result.getFindings().get(0).getLocation().getPath(), restored.getFindings().get(0).getLocation().getPath());
+        assertNull(restarted.get("b", "a", "v"));
+        assertNull(restarted.get("a", "b", "w"));
+    }
+
+    @Test
+    void diskTierIsKeptUnderItsSizeLimit() throws IOException {
+        Path directory = tempDir.resolve("results");
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getResultCache().setDirectory(directory.toString());
+        properties.getResultCache().setMaxEntries(1);
+        properties.getResultCache().setMaxDirectoryBytes(4096);
+        ComparisonResultCache cache = new ComparisonResultCache(properties, CompareMetrics.noop());
+        BreakingChange result = new BreakingChange();
+        for (int i = 0; i < 20; i++) {
+            result.add(Finding.of(ChangeCode.PATH_ADDED, FindingLocation.ofPath("/pets/" + i)));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            cache.put("a" + i, "b", "v", result);
+        }
+
+        long stored;
+        try (Stream<Path> files = Files.list(directory)) {
+            stored = files.mapToLong(p -> p.toFile().length()).sum();
+        }
+        assertTrue(stored <= 4096, stored + " bytes stored");
+        assertNotNull(cache.get("a49", "b", "v"));
+        assertNull(cache.get("a0", "b", "v"));
+    }
+
+}
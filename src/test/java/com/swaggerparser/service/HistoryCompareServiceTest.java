@@ -0,0 +1,74 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.dto.Compatibility;
+import com.swaggerparser.dto.HistoryCompareRequest;
+import com.swaggerparser.dto.HistoryCompareResponse;
+import com.swaggerparser.support.SpecGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class HistoryCompareServiceTest {
+
+    @Autowired
+    HistoryCompareService historyCompareService;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void revertedReleaseIsCompatibleWithTheFirst() throws Exception {
+        SpecGenerator generator = new SpecGenerator().paths(20).schemas(10).changeDensity(0.2);
+        String v1 = write("v1.json", generator.sourceJson());
+        String v2 = write("v2.json", generator.targetJson());
+        String v3 = write("v3.json", generator.sourceJson());
+
+        HistoryCompareRequest request = new HistoryCompareRequest();
+        request.setVersions(Arrays.asList(v1, v2, v3));
+        request.setMatrix(true);
+        HistoryCompareResponse response = historyCompareService.compare(request);
+
+        assertEquals(2, response.getSteps().size());
+        assertEquals(v1, response.getSteps().get(0).getSourcePath());
+        assertEquals(v2, response.getSteps().get(0).getTargetPath());
+        assertEquals(3, response.getDistinctSpecs());
+
+        assertEquals(Compatibility.COMPATIBLE, response.getMatrix().get(0).get(0));
+        assertEquals(Compatibility.BREAKING, response.getMatrix().get(0).get(1));
+        assertEquals(Compatibility.COMPATIBLE, response.getMatrix().get(0).get(2));
+        assertNull(response.getMatrix().get(2).get(0));
+        assertEquals(v1, response.getOldestCompatibleWithLatest());
+    }
+
+    @Test
+    void matrixCountsAgainstTheBatchPairLimit() {
+        HistoryCompareRequest request = new HistoryCompareRequest();
+        request.setVersions(Collections.nCopies(40, "v.json"));
+        request.setMatrix(true);
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> historyCompareService.compare(request));
+
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatus());
+        assertTrue(rejected.getReason().startsWith("History needs 780 comparisons"));
+    }
+
+    private String write(String name, String content) throws Exception {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+}
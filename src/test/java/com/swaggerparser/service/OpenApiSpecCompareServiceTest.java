@@ -1,6 +1,10 @@
 package com.swaggerparser.service;
 
+import com.swaggerparser.config.ExecutorConfig;
+import com.swaggerparser.config.SpecParserProperties;
 import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.Finding;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.*;
@@ -16,6 +20,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -94,6 +100,18 @@ public class OpenApiSpecCompareServiceTest {
         assertEquals(response.getMajorChanges().size(), 1);
     }
 
+    @Test
+    void checkNonStringEnumValueChanges() {
+        IntegerSchema srcSchema = new IntegerSchema();
+        srcSchema.setEnum(Arrays.asList(1, 2, 3));
+        IntegerSchema tgtSchema = new IntegerSchema();
+        tgtSchema.setEnum(Arrays.asList(1, 2));
+        srcParseResult.getOpenAPI().getPaths().get("/relateduserdetails").getPost().getParameters().get(0).setSchema(srcSchema);
+        tgtParseResult.getOpenAPI().getPaths().get("/relateduserdetails").getPost().getParameters().get(0).setSchema(tgtSchema);
+        BreakingChange response = openApiSpecCompareService.analyzeBreakingChanges(srcParseResult, tgtParseResult);
+        assertEquals(response.getMajorChanges().size(), 1);
+    }
+
     @Test
     void checkRequestParamType() {
         tgtParseResult.getOpenAPI().getPaths().get("/relateduserdetails").getPost().getParameters().get(0).setSchema(new IntegerSchema());
@@ -146,4 +164,44 @@ public class OpenApiSpecCompareServiceTest {
         BreakingChange response = openApiSpecCompareService.analyzeBreakingChanges(srcParseResult, tgtParseResult);
         assertEquals(response.getMajorChanges().size(), 4);
     }
+
+    @Test
+    void findingsCarryLocation() {
+        ((ObjectSchema) tgtParseResult.getOpenAPI().getComponents().getSchemas().get("VerifyAccountResponse")).getProperties().put("routingNumber", new IntegerSchema());
+        BreakingChange response = openApiSpecCompareService.analyzeBreakingChanges(srcParseResult, tgtParseResult);
+        Finding finding = response.getFindings().stream()
+                .filter(f -> f.getLocation().getPath() != null)
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals(ChangeCode.TYPE_CHANGED, finding.getCode());
+        assertEquals("/utilities/enrollment/verifyaccount", finding.getLocation().getPath());
+        assertEquals("POST", finding.getLocation().getMethod());
+        assertEquals("200", finding.getLocation().getStatusCode());
+        assertEquals("VerifyAccountResponse", finding.getLocation().getSchema());
+        assertEquals("routingNumber", finding.getProperty());
+        assertEquals("/utilities/enrollment/verifyaccount -> POST -> 200 -> application/json: routingNumber has type: string in source and type: integer in target", finding.getMessage());
+    }
+
+    @Test
+    void parallelDiffMatchesSequentialDiff() {
+        tgtParseResult.getOpenAPI().getPaths().get("/utilities/tenant-authorization").getGet().getParameters().get(0).setRequired(false);
+        ((ObjectSchema) tgtParseResult.getOpenAPI().getComponents().getSchemas().get("UpdateAllianceOffersRequest")).getProperties().remove("offerId");
+        tgtParseResult.getOpenAPI().getPaths().remove("/utilities/validateAddress");
+
+        SpecParserProperties sequentialProperties = new SpecParserProperties();
+        sequentialProperties.getDiff().setParallel(false);
+        SpecParserProperties parallelProperties = new SpecParserProperties();
+        parallelProperties.getDiff().setParallelThreshold(1);
+        parallelProperties.getDiff().setParallelism(4);
+
+        BreakingChange sequential = new OpenApiSpecCompareService(null, sequentialProperties, null).analyzeBreakingChanges(srcParseResult, tgtParseResult);
+        ForkJoinPool pool = ExecutorConfig.newDiffPool(parallelProperties.getDiff());
+        try {
+            BreakingChange parallel = new OpenApiSpecCompareService(null, parallelProperties, pool).analyzeBreakingChanges(srcParseResult, tgtParseResult);
+            assertEquals(sequential.getMajorChanges(), parallel.getMajorChanges());
+            assertEquals(sequential.getMinorChanges(), parallel.getMinorChanges());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.swaggerparser.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PathTrieTest {
+
+    PathTrie trie = new PathTrie(Arrays.asList("/pets", "/pets/{id}", "/pets/{id}/photos", "/petstore", "/users/{id}", "/"));
+
+    @Test
+    void prefixMatchesWholeSegments() {
+        assertEquals(set("/pets", "/pets/{id}", "/pets/{id}/photos"), trie.select(list("/pets"), list()));
+        assertEquals(set("/pets", "/pets/{id}", "/pets/{id}/photos"), trie.select(list("/pets/**"), list()));
+    }
+
+    @Test
+    void wildcardMatchesOneSegment() {
+        assertEquals(set("/pets/{id}", "/pets/{id}/photos", "/users/{id}"), trie.select(list("/*/{id}"), list()));
+    }
+
+    @Test
+    void excludesApplyAfterIncludes() {
+        assertEquals(set("/pets", "/pets/{id}"), trie.select(list("/pets"), list("/pets/*/photos")));
+        assertEquals(set("/", "/petstore", "/users/{id}"), trie.select(list(), list("/pets")));
+    }
+
+    static List<String> list(String... values) {
+        return values.length == 0 ? Collections.emptyList() : Arrays.asList(values);
+    }
+
+    static TreeSet<String> set(String... values) {
+        return new TreeSet<>(Arrays.asList(values));
+    }
+
+}
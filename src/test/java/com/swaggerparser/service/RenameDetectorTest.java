@@ -0,0 +1,136 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenameDetectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    OpenApiSpecCompareService service;
+    String source;
+    String target;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        service = SpecFixture.service(properties);
+
+        source = SpecFixture.SPEC.toString();
+        target = SpecFixture.write(tempDir, "changed.yaml",
+                "  /utilities/creditcardfees:", "  /utilities/creditcardfees/v2:",
+                "ScrubAddressReply", "AddressScrubReply",
+                "        addressTypeCode:\n          type: string", "        addressTypeCode:\n          type: integer").toString();
+    }
+
+    @Test
+    void renamesAreReportedAsAddedAndRemovedByDefault() {
+        List<ChangeCode> codes = codes(service.analyzeBreakingChanges(source, target));
+
+        assertTrue(codes.containsAll(Arrays.asList(ChangeCode.PATH_REMOVED, ChangeCode.PATH_ADDED, ChangeCode.SCHEMA_REMOVED, ChangeCode.SCHEMA_ADDED)));
+        assertFalse(codes.contains(ChangeCode.PATH_RENAMED));
+        assertFalse(codes.contains(ChangeCode.TYPE_CHANGED));
+    }
+
+    @Test
+    void renamedPathsAndSchemasAreMatchedAndDiffed() {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setDetectRenames(true);
+        BreakingChange result = service.analyzeBreakingChanges(source, target, options);
+        List<ChangeCode> codes = codes(result);
+
+        assertFalse(codes.contains(ChangeCode.PATH_REMOVED));
+        assertFalse(codes.contains(ChangeCode.SCHEMA_REMOVED));
+        Finding path = find(result, ChangeCode.PATH_RENAMED);
+        assertEquals("/utilities/creditcardfees", path.getSource());
+        assertEquals("/utilities/creditcardfees/v2", path.getLocation().getPath());
+        Finding schema = find(result, ChangeCode.SCHEMA_RENAMED);
+        assertEquals("ScrubAddressReply", schema.getSource());
+        assertEquals("AddressScrubReply", schema.getTarget());
+        assertTrue(result.getFindings().stream().anyMatch(f -> f.getCode() == ChangeCode.TYPE_CHANGED
+                && "AddressScrubReply".equals(f.getLocation().getSchema()) && "addressTypeCode".equals(f.getProperty())));
+    }
+
+    @Test
+    void renamedPathsAreDiffedInFullWhenPreScanned() throws IOException {
+        String content = SpecFixture.content("  /utilities/creditcardfees:", "  /utilities/creditcardfees/v2:");
+        int start = content.indexOf("  /utilities/creditcardfees/v2:");
+        int end = content.indexOf("        - $ref: '#/components/parameters/Authorization'\n", start);
+        content = content.substring(0, end) + "        - name: Authorization\n          in: header\n          schema:\n            type: string\n"
+                + content.substring(content.indexOf('\n', end) + 1);
+        Path changed = Files.write(tempDir.resolve("changed-body.yaml"), content.getBytes(StandardCharsets.UTF_8));
+
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        properties.getPreScan().setMinBytes(0);
+        OpenApiSpecCompareService preScanning = SpecFixture.service(properties);
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setDetectRenames(true);
+        BreakingChange full = service.analyzeBreakingChanges(source, changed.toString(), options);
+        BreakingChange reduced = preScanning.analyzeBreakingChanges(source, changed.toString(), options);
+
+        assertEquals("/utilities/creditcardfees", find(reduced, ChangeCode.PATH_RENAMED).getSource());
+        assertTrue(full.getFindings().stream().anyMatch(f -> f.getCode() != ChangeCode.PATH_RENAMED
+                && "/utilities/creditcardfees/v2".equals(f.getLocation().getPath())));
+        assertEquals(full.getMajorChanges(), reduced.getMajorChanges());
+        assertEquals(full.getMinorChanges(), reduced.getMinorChanges());
+    }
+
+    @Test
+    void matchesOnlySimilarUnambiguousPairs() {
+        SpecParserProperties.Renames config = new SpecParserProperties.Renames();
+        RenameDetector detector = new RenameDetector(config);
+        Map<String, Set<String>> features = new HashMap<>();
+        features.put("old", set("a", "b", "c", "d", "e", "f"));
+        features.put("new", set("a", "b", "c", "d", "e", "g"));
+        features.put("unrelated", set("v", "w", "x", "y", "z"));
+        features.put("twinA", set("p", "q", "r"));
+        features.put("twinB", set("p", "q", "r"));
+        features.put("gone", set("p", "q", "r"));
+
+        Map<String, String> renames = detector.match(Arrays.asList("old", "gone"), Arrays.asList("unrelated", "new", "twinA", "twinB"),
+                features::get, features::get);
+
+        assertEquals(Collections.singletonMap("old", "new"), renames);
+    }
+
+    static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    static List<ChangeCode> codes(BreakingChange result) {
+        return result.getFindings().stream().map(Finding::getCode).collect(Collectors.toList());
+    }
+
+    static Finding find(BreakingChange result, ChangeCode code) {
+        return result.getFindings().stream().filter(f -> f.getCode() == code).findFirst()
+                .orElseThrow(() -> new AssertionError("No " + code + " in " + codes(result)));
+    }
+
+}
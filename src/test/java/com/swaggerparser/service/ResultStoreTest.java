@@ -0,0 +1,106 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.dto.FindingLocation;
+import com.swaggerparser.dto.FindingPage;
+import com.swaggerparser.dto.Severity;
+import com.swaggerparser.dto.StoredResultResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResultStoreTest {
+
+    SpecParserProperties properties;
+    ResultStore store;
+    StoredResultResponse stored;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new SpecParserProperties();
+        properties.getResults().setMaxEntries(2);
+        store = new ResultStore(properties, CompareMetrics.noop());
+
+        BreakingChange result = new BreakingChange();
+        for (int i = 0; i < 10; i++) {
+            String path = i % 2 == 0 ? "/pets/" + i : "/petstore/" + i;
+            result.add(Finding.of(i % 3 == 0 ? ChangeCode.PATH_REMOVED : ChangeCode.SCHEMA_RENAMED, FindingLocation.ofPath(path)));
+        }
+        stored = store.store("source.yaml", "target.yaml", result);
+    }
+
+    @Test
+    void summaryCountsFindingsBySeverity() {
+        StoredResultResponse summary = store.get(stored.getId());
+
+        assertEquals(10, summary.getFindings());
+        assertEquals(4, summary.getMajorFindings());
+        assertEquals(6, summary.getMinorFindings());
+    }
+
+    @Test
+    void cursorsWalkEveryFindingOnce() {
+        List<String> paths = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            FindingPage page = store.page(stored.getId(), null, null, cursor, 3);
+            page.getFindings().forEach(f -> paths.add(f.getLocation().getPath()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(10, paths.size());
+        assertEquals("/pets/0", paths.get(0));
+        assertEquals("/petstore/9", paths.get(9));
+    }
+
+    @Test
+    void filtersBySeverityAndPathPrefix() {
+        FindingPage major = store.page(stored.getId(), Severity.MAJOR, null, null, 100);
+        assertEquals(4, major.getFindings().size());
+        assertNull(major.getNextCursor());
+
+        FindingPage pets = store.page(stored.getId(), null, "/pets", null, 2);
+        assertEquals(paths(pets), "/pets/0,/pets/2");
+        FindingPage next = store.page(stored.getId(), null, "/pets", pets.getNextCursor(), 2);
+        assertEquals(paths(next), "/pets/4,/pets/6");
+
+        FindingPage majorPets = store.page(stored.getId(), Severity.MAJOR, "/pets/", null, 100);
+        assertEquals(paths(majorPets), "/pets/0,/pets/6");
+    }
+
+    @Test
+    void rejectsBadCursorsAndUnknownIds() {
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                () -> store.page(stored.getId(), null, null, "not a cursor", 10)).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(ResponseStatusException.class,
+                () -> store.page("unknown", null, null, null, 10)).getStatus());
+    }
+
+    @Test
+    void oldestResultIsDroppedWhenFull() {
+        store.store("a", "b", new BreakingChange());
+        store.store("c", "d", new BreakingChange());
+
+        assertThrows(ResponseStatusException.class, () -> store.get(stored.getId()));
+    }
+
+    static String paths(FindingPage page) {
+        return page.getFindings().stream().map(f -> f.getLocation().getPath()).collect(Collectors.joining(","));
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.RuleStats;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuleRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    SpecParserProperties properties;
+    String source;
+    String target;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        properties.getRules().getSets().put("paths", Collections.singletonList("paths.*"));
+        properties.getRules().getSets().put("schemas", Arrays.asList("components.*", "schema.*", "property.*"));
+
+        source = SpecFixture.SPEC.toString();
+        target = SpecFixture.renamedPath(tempDir).toString();
+    }
+
+    @Test
+    void allRulesRunByDefault() {
+        BreakingChange result = service().analyzeBreakingChanges(source, target);
+
+        assertEquals(Arrays.asList(ChangeCode.PATH_ADDED, ChangeCode.PATH_REMOVED), codes(result));
+    }
+
+    @Test
+    void disabledRulesReportNothing() {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setDisabledRules(Collections.singletonList("paths.*"));
+
+        assertFalse(service().analyzeBreakingChanges(source, target, options).hasChanges());
+    }
+
+    @Test
+    void ruleSetSelectsRules() {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setRuleSet("schemas");
+
+        assertFalse(service().analyzeBreakingChanges(source, target, options).hasChanges());
+    }
+
+    @Test
+    void unknownRuleSetIsRejected() {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setRuleSet("missing");
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service().analyzeBreakingChanges(source, target, options));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+
+    @Test
+    void unmatchedDisabledRuleIsRejected() {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setDisabledRules(Collections.singletonList("nothing.*"));
+
+        assertThrows(ResponseStatusException.class, () -> service().analyzeBreakingChanges(source, target, options));
+    }
+
+    @Test
+    void statsCountInvocationsOfSelectedRulesOnly() {
+        properties.getDiff().setFingerprints(false);
+        OpenApiSpecCompareService service = service();
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setRuleSet("paths");
+
+        service.analyzeBreakingChanges(source, target, options);
+
+        RuleStats pathsAdded = stats(service, "paths.added");
+        assertEquals(1, pathsAdded.getInvocations());
+        assertEquals(1, pathsAdded.getFindings());
+        assertEquals(0, stats(service, "operation.added").getInvocations());
+        assertEquals(0, stats(service, "schema.required").getInvocations());
+
+        service.analyzeBreakingChanges(source, target);
+        assertEquals(2, stats(service, "paths.added").getInvocations());
+        assertTrue(stats(service, "schema.required").getInvocations() > 0);
+    }
+
+    @Test
+    void caseVariantIsReportedAsRenamedEvenWhenTheExactNameRemains() throws IOException {
+        String schema = "openapi: 3.0.1\ninfo: {title: t, version: '1'}\npaths: {}\ncomponents:\n  schemas:\n    Pet:\n"
+                + "      type: object\n      properties:\n";
+        Path src = Files.write(tempDir.resolve("src.yaml"), (schema
+                + "        id: {type: string}\n        ID: {type: string}\n").getBytes(StandardCharsets.UTF_8));
+        Path tgt = Files.write(tempDir.resolve("tgt.yaml"), (schema
+                + "        id: {type: string}\n").getBytes(StandardCharsets.UTF_8));
+
+        BreakingChange result = service().analyzeBreakingChanges(src.toString(), tgt.toString());
+
+        assertEquals(Collections.singletonList(ChangeCode.PROPERTY_RENAMED), codes(result));
+        assertEquals("ID", result.getFindings().get(0).getSource());
+        assertEquals("id", result.getFindings().get(0).getTarget());
+    }
+
+    OpenApiSpecCompareService service() {
+        return SpecFixture.service(properties);
+    }
+
+    static RuleStats stats(OpenApiSpecCompareService service, String id) {
+        return service.getRuleRegistry().getStats().stream().filter(s -> s.getId().equals(id)).findFirst().orElseThrow(IllegalStateException::new);
+    }
+
+    static List<ChangeCode> codes(BreakingChange result) {
+        List<ChangeCode> codes = new ArrayList<>();
+        result.getFindings().forEach(f -> codes.add(f.getCode()));
+        return codes;
+    }
+
+}
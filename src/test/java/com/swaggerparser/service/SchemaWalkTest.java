@@ -0,0 +1,167 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.support.SpecFixture;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaWalkTest {
+
+    OpenApiSpecCompareService service;
+
+    @BeforeEach
+    void beforeEach() {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        service = SpecFixture.service(properties);
+    }
+
+    @Test
+    void findsChangesInNestedObjectsItemsAndMaps() {
+        Function<Schema<?>, Schema<?>> order = leaf -> new ObjectSchema()
+                .addProperty("customer", new ObjectSchema().addProperty("address", new ObjectSchema().addProperty("zip", leaf)))
+                .addProperty("lines", new ArraySchema().items(new ObjectSchema().addProperty("sku", leaf)))
+                .addProperty("tags", new MapSchema().additionalProperties(leaf));
+
+        BreakingChange result = compare("Order", order.apply(new StringSchema()), order.apply(new IntegerSchema()));
+
+        assertEquals(3, result.getFindings().size());
+        assertTypeChanged(result, "customer.address.zip");
+        assertTypeChanged(result, "lines[].sku");
+        assertTypeChanged(result, "tags{}");
+    }
+
+    @Test
+    void findsChangesInItemsOfNestedArrays() {
+        Function<Schema<?>, Schema<?>> grid = leaf -> new ObjectSchema()
+                .addProperty("cells", new ArraySchema().items(new ArraySchema().items(leaf)))
+                .addProperty("rows", new MapSchema().additionalProperties(new ArraySchema().items(leaf)));
+
+        BreakingChange result = compare("Grid", grid.apply(new IntegerSchema()), grid.apply(new StringSchema()));
+
+        assertEquals(2, result.getFindings().size());
+        assertTypeChanged(result, "cells[][]");
+        assertTypeChanged(result, "rows{}[]");
+    }
+
+    @Test
+    void nestedSchemaFindingsNameWhereTheyWereFound() {
+        Schema<?> src = new ObjectSchema().addProperty("a", new ObjectSchema().addProperty("b", new StringSchema()).addProperty("c", new StringSchema()));
+        Schema<?> tgt = new ObjectSchema().addProperty("a", new ObjectSchema().addProperty("b", new StringSchema()).addProperty("d", new StringSchema())
+                .required(Collections.singletonList("b")));
+
+        BreakingChange result = compare("X", src, tgt);
+
+        assertEquals(Collections.singletonList("X: a: Properties marked as required in target: [b]."), result.getMajorChanges());
+        assertTrue(result.getMinorChanges().contains("X: a: Properties added to Target: d"));
+        assertTrue(result.getMinorChanges().contains("X: a: Properties deleted from Target: c"));
+    }
+
+    @Test
+    void walksComposedSchemasAndReportsReferencedOnesOnceUnderTheirOwnName() {
+        Function<Schema<?>, Schema<?>> pet = legs -> new ComposedSchema().addAllOfItem(new Schema<>().$ref("#/components/schemas/Named"))
+                .addAllOfItem(new ObjectSchema().addProperty("legs", legs));
+        Map<String, Schema> src = schemas("Pet", pet.apply(new IntegerSchema()), "Named", new ObjectSchema().addProperty("name", new StringSchema()));
+        Map<String, Schema> tgt = schemas("Pet", pet.apply(new StringSchema()), "Named", new ObjectSchema().addProperty("name", new IntegerSchema()));
+        src.put("Owner", new ObjectSchema().addProperty("pets", new ArraySchema().items(new Schema<>().$ref("#/components/schemas/Named"))));
+        tgt.put("Owner", new ObjectSchema().addProperty("pets", new ArraySchema().items(new Schema<>().$ref("#/components/schemas/Named"))));
+
+        BreakingChange result = service.breakingChangesForSchemas(src, tgt);
+
+        assertTypeChanged(result, "allOf[1].legs");
+        List<Finding> nameChanges = result.getFindings().stream().filter(f -> f.getProperty() != null && f.getProperty().endsWith("name"))
+                .collect(Collectors.toList());
+        assertEquals(1, nameChanges.size());
+        assertEquals("name", nameChanges.get(0).getProperty());
+        assertEquals("Named", nameChanges.get(0).getLocation().getSchema());
+    }
+
+    @Test
+    void recursiveSchemasTerminate() {
+        Function<Schema<?>, Schema<?>> node = leaf -> new ObjectSchema()
+                .addProperty("value", leaf)
+                .addProperty("children", new ArraySchema().items(new Schema<>().$ref("#/components/schemas/Node")));
+
+        BreakingChange result = compare("Node", node.apply(new StringSchema()), node.apply(new IntegerSchema()));
+
+        assertEquals(1, result.getFindings().size());
+        assertTypeChanged(result, "value");
+    }
+
+    @Test
+    void deeplyNestedSchemasAreWalkedWithoutRecursionUpToTheConfiguredDepth() {
+        Schema<?> src = new StringSchema();
+        Schema<?> tgt = new IntegerSchema();
+        Schema<?> same = new StringSchema();
+        for (int i = 0; i < 1000; i++) {
+            src = new ObjectSchema().addProperty("child", src);
+            tgt = new ObjectSchema().addProperty("child", tgt);
+            same = new ObjectSchema().addProperty("child", same).description(i == 999 ? "root" : null);
+        }
+
+        BreakingChange truncated = compare("Deep", src, tgt);
+        assertEquals(1, truncated.getFindings().size());
+        Finding cutoff = truncated.getFindings().get(0);
+        assertEquals(ChangeCode.SCHEMA_DEPTH_EXCEEDED, cutoff.getCode());
+        assertEquals(String.join(".", Collections.nCopies(32, "child")), cutoff.getProperty());
+        assertTrue(truncated.getMinorChanges().get(0).startsWith("Deep: child.child."));
+        assertTrue(compare("Deep", src, same).getFindings().isEmpty());
+
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setMaxSchemaDepth(1000);
+        service = SpecFixture.service(properties);
+        BreakingChange result = compare("Deep", src, tgt);
+        assertEquals(1, result.getFindings().size());
+        assertEquals(ChangeCode.TYPE_CHANGED, result.getFindings().get(0).getCode());
+    }
+
+    @Test
+    void compilingDoesNotRecurseIntoNestedSchemas() {
+        Schema<?> schema = new StringSchema();
+        for (int i = 0; i < 100_000; i++) {
+            schema = new ObjectSchema().addProperty("child", schema);
+        }
+
+        CompiledSchema compiled = CompiledSchema.of(schema);
+
+        assertEquals("object", compiled.getProperties().get("child").getType());
+    }
+
+    BreakingChange compare(String name, Schema<?> src, Schema<?> tgt) {
+        return service.breakingChangesForSchemas(Collections.singletonMap(name, src), Collections.singletonMap(name, tgt));
+    }
+
+    static Map<String, Schema> schemas(String name, Schema<?> schema, String otherName, Schema<?> other) {
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        schemas.put(name, schema);
+        schemas.put(otherName, other);
+        return schemas;
+    }
+
+    static void assertTypeChanged(BreakingChange result, String property) {
+        assertTrue(result.getFindings().stream().map(Finding::getProperty).anyMatch(property::equals)
+                        && result.getFindings().stream().filter(f -> property.equals(f.getProperty())).allMatch(f -> f.getCode() == ChangeCode.TYPE_CHANGED),
+                "No type change at " + property + " in " + result.getFindings().stream().map(Finding::getMessage).collect(Collectors.toList()));
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.swaggerparser.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.swaggerparser.config.SpecParserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecFetcherTest {
+
+    static final String SPEC = "openapi: 3.0.1\n"
+            + "info: {title: stub, version: '1'}\n"
+            + "paths:\n"
+            + "  /pets:\n"
+            + "    get:\n"
+            + "      responses:\n"
+            + "        '200':\n"
+            + "          description: ok\n"
+            + "          content:\n"
+            + "            application/json:\n"
+            + "              schema: {$ref: 'schemas/pet.yaml#/Pet'}\n";
+    static final String PET = "Pet:\n  type: object\n  properties:\n    name: {type: string}\n";
+
+    @TempDir
+    Path cacheDir;
+
+    HttpServer server;
+    Map<String, String> documents = new ConcurrentHashMap<>();
+    AtomicInteger fullResponses = new AtomicInteger();
+    SpecParserProperties properties = new SpecParserProperties();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        documents.put("/api/spec.yaml", SPEC);
+        documents.put("/api/schemas/pet.yaml", PET);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String body = documents.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        properties.getHttpCache().setDirectory(cacheDir.toString());
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+    }
+
+    @Test
+    void unchangedRemoteSpecIsRevalidatedNotDownloaded() {
+        SpecFetcher fetcher = new SpecFetcher(properties);
+
+        byte[] first = fetcher.fetch(url("/api/spec.yaml"));
+        byte[] second = fetcher.fetch(url("/api/spec.yaml"));
+
+        assertArrayEquals(first, second);
+        assertEquals(2, fullResponses.get());
+        assertEquals(2, fetcher.getDownloads());
+        assertEquals(2, fetcher.getRevalidations());
+    }
+
+    @Test
+    void changedRemoteSpecIsDownloadedAgain() {
+        SpecFetcher fetcher = new SpecFetcher(properties);
+        fetcher.fetch(url("/api/spec.yaml"));
+
+        documents.put("/api/spec.yaml", SPEC + "# changed\n");
+        byte[] changed = fetcher.fetch(url("/api/spec.yaml"));
+
+        assertTrue(new String(changed, StandardCharsets.UTF_8).endsWith("# changed\n"));
+        assertEquals(3, fetcher.getDownloads());
+        assertEquals(1, fetcher.getRevalidations());
+    }
+
+    @Test
+    void referencesOutsideTheMirrorAreSkipped() {
+        documents.put("/api/spec.yaml", SPEC + "components:\n  schemas:\n    Owner: {$ref: '../../../owner.yaml#/Owner'}\n"
+                + "    Toy: {$ref: 'schemas/toy.yaml#/Toy'}\n");
+        documents.put("/api/schemas/toy.yaml", "Toy: {type: object}\n");
+
+        SpecDocument document = new SpecFetcher(properties).fetchDocument(url("/api/spec.yaml"));
+
+        assertEquals(2, document.getReferences().size());
+        assertTrue(document.getReferences().containsKey(url("/api/schemas/pet.yaml")));
+        assertTrue(document.getReferences().containsKey(url("/api/schemas/toy.yaml")));
+    }
+
+    @Test
+    void onlyDocumentsThatMayReferenceFilesAreScanned() {
+        assertFalse(SpecFetcher.mayReferenceFiles("openapi: 3.0.1\n".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(SpecFetcher.mayReferenceFiles("a: {$ref: '#/b'}\nc:\n  $ref:\n    \"#/d\"\n".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(SpecFetcher.mayReferenceFiles("{\"a\": {\"$ref\" : \"#/b\"}}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(SpecFetcher.mayReferenceFiles("{\"a\": {\"$ref\": \"#/b\"}, \"c\": {\"$ref\": \"c.json\"}}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(SpecFetcher.mayReferenceFiles("a:\n  $ref: |\n    b.yaml\n".getBytes(StandardCharsets.UTF_8)));
+
+        SpecFetcher fetcher = new SpecFetcher(properties);
+        assertEquals(1, fetcher.fetchDocument(url("/api/spec.yaml")).getReferences().size());
+        // pet.yaml has no $ref
+        assertEquals(1, fetcher.getReferenceScans());
+    }
+
+    @Test
+    void referencedFilesResolveFromTheMirror() {
+        SpecParseCache cache = new SpecParseCache(properties, CompareMetrics.noop(), new SpecFetcher(properties));
+        cache.load(url("/api/spec.yaml"));
+        server.stop(0);
+
+        ParsedSpec parsed = new SpecParseCache(properties, CompareMetrics.noop(), new SpecFetcher(properties) {
+            @Override
+            public SpecDocument fetchDocument(String location) {
+                return SpecDocument.fetched(location, SPEC.getBytes(StandardCharsets.UTF_8));
+            }
+        }).load(url("/api/spec.yaml"));
+
+        assertNotNull(parsed.getParseResult().getOpenAPI());
+        assertNotNull(parsed.getParseResult().getOpenAPI().getComponents().getSchemas().get("Pet"));
+    }
+
+    private String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+}
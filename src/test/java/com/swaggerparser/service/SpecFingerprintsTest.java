@@ -0,0 +1,61 @@
+package com.swaggerparser.service;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.swagger.v3.oas.models.PathItem.HttpMethod;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class SpecFingerprintsTest {
+
+    OpenAPI source;
+    OpenAPI target;
+
+    @BeforeEach
+    void beforeEach() {
+        Path openApiSpecFile = Paths.get("src", "test", "resources", "open-api-spec.yaml");
+        source = new OpenAPIParser().readLocation(openApiSpecFile.toFile().getAbsolutePath(), null, null).getOpenAPI();
+        target = new OpenAPIParser().readLocation(openApiSpecFile.toFile().getAbsolutePath(), null, null).getOpenAPI();
+    }
+
+    @Test
+    void identicalSpecsHaveIdenticalFingerprints() {
+        SpecFingerprints src = SpecFingerprints.of(source);
+        SpecFingerprints tgt = SpecFingerprints.of(target);
+
+        source.getPaths().keySet().forEach(path -> assertEquals(src.pathItem(path), tgt.pathItem(path)));
+        source.getComponents().getSchemas().keySet().forEach(name -> assertEquals(src.schema(name), tgt.schema(name)));
+    }
+
+    @Test
+    void schemaChangePropagatesThroughReferences() {
+        ((ObjectSchema) target.getComponents().getSchemas().get("VerifyAccountResponse")).getProperties().put("routingNumber", new IntegerSchema());
+        SpecFingerprints src = SpecFingerprints.of(source);
+        SpecFingerprints tgt = SpecFingerprints.of(target);
+
+        String path = "/utilities/enrollment/verifyaccount";
+        assertNotEquals(src.schema("VerifyAccountResponse"), tgt.schema("VerifyAccountResponse"));
+        assertNotEquals(src.pathItem(path), tgt.pathItem(path));
+        assertNotEquals(src.responses(path, HttpMethod.POST), tgt.responses(path, HttpMethod.POST));
+        assertEquals(src.requestBody(path, HttpMethod.POST), tgt.requestBody(path, HttpMethod.POST));
+        assertEquals(src.pathItem("/utilities/validateAddress"), tgt.pathItem("/utilities/validateAddress"));
+    }
+
+    @Test
+    void parameterComponentChangePropagatesToOperations() {
+        target.getComponents().getParameters().get("Authorization").setRequired(false);
+        SpecFingerprints src = SpecFingerprints.of(source);
+        SpecFingerprints tgt = SpecFingerprints.of(target);
+
+        assertNotEquals(src.operation("/utilities/validateAddress", HttpMethod.POST), tgt.operation("/utilities/validateAddress", HttpMethod.POST));
+    }
+
+}
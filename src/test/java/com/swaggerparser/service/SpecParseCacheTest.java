@@ -0,0 +1,114 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.support.SpecFixture;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SpecParseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path openApiSpecFile;
+    SpecParserProperties properties;
+
+    @BeforeEach
+    void beforeEach() {
+        openApiSpecFile = Paths.get("src", "test", "resources", "open-api-spec.yaml").toAbsolutePath();
+        properties = new SpecParserProperties();
+    }
+
+    @Test
+    void sameContentUnderDifferentLocationsIsParsedOnce() throws IOException {
+        Path copy = Files.copy(openApiSpecFile, tempDir.resolve("copy.yaml"));
+        SpecParseCache cache = new SpecParseCache(properties);
+
+        ParsedSpec first = cache.load(openApiSpecFile.toString());
+        ParsedSpec second = cache.load(copy.toString());
+
+        assertSame(first.getParseResult(), second.getParseResult());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    void changedContentIsParsedAgain() throws IOException {
+        Path spec = Files.copy(openApiSpecFile, tempDir.resolve("spec.yaml"));
+        SpecParseCache cache = new SpecParseCache(properties);
+
+        ParsedSpec first = cache.load(spec.toString());
+        Files.write(spec, "\n# changed".getBytes(), StandardOpenOption.APPEND);
+        ParsedSpec second = cache.load(spec.toString());
+
+        assertNotSame(first.getParseResult(), second.getParseResult());
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    void changedReferencedFileIsParsedAgain() throws IOException {
+        Path spec = tempDir.resolve("spec.yaml");
+        Files.write(spec, ("openapi: 3.0.1\ninfo: {title: t, version: '1'}\npaths:\n  /pets:\n    get:\n      responses:\n"
+                + "        '200':\n          description: ok\n          content:\n            application/json:\n"
+                + "              schema: {$ref: 'pet.yaml#/Pet'}\n").getBytes());
+        Path pet = tempDir.resolve("pet.yaml");
+        Files.write(pet, "Pet: {type: object, properties: {name: {type: string}}}\n".getBytes());
+        SpecParseCache cache = new SpecParseCache(properties);
+
+        ParsedSpec first = cache.load(spec.toString());
+        Files.write(pet, "Pet: {type: object, properties: {name: {type: integer}}}\n".getBytes());
+        ParsedSpec second = cache.load(spec.toString());
+
+        assertNotEquals(first.getContentHash(), second.getContentHash());
+        assertEquals(2, cache.getStats().getMisses());
+        Schema<?> changed = second.getParseResult().getOpenAPI().getComponents().getSchemas().get("Pet");
+        assertEquals("integer", changed.getProperties().get("name").getType());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenOverBudget() throws IOException {
+        Path a = Files.copy(openApiSpecFile, tempDir.resolve("a.yaml"));
+        Path b = Files.copy(openApiSpecFile, tempDir.resolve("b.yaml"));
+        Files.write(b, "\n# b".getBytes(), StandardOpenOption.APPEND);
+        properties.getParseCache().setMaxBytes(Files.size(b) + 10);
+        SpecParseCache cache = new SpecParseCache(properties);
+
+        cache.load(a.toString());
+        cache.load(b.toString());
+        cache.load(a.toString());
+
+        assertEquals(1, cache.getStats().getEntries());
+        assertEquals(2, cache.getStats().getEvictions());
+        assertEquals(3, cache.getStats().getMisses());
+    }
+
+    @Test
+    void repeatedComparisonParsesNothing() throws IOException {
+        properties.getDiff().setParallel(false);
+        SpecFetcher fetcher = new SpecFetcher(properties);
+        SpecParseCache cache = new SpecParseCache(properties, CompareMetrics.noop(), fetcher);
+        OpenApiSpecCompareService service = new OpenApiSpecCompareService(cache, properties, null);
+        String target = SpecFixture.renamedPath(tempDir).toString();
+
+        service.analyzeBreakingChanges(openApiSpecFile.toString(), target);
+        service.analyzeBreakingChanges(openApiSpecFile.toString(), target);
+
+        assertEquals(2, cache.getStats().getMisses());
+        assertEquals(2, cache.getStats().getHits());
+        assertEquals(0, fetcher.getReferenceScans());
+    }
+
+}
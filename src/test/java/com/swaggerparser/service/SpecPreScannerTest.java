@@ -0,0 +1,104 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.support.SpecFixture;
+import com.swaggerparser.support.SpecGenerator;
+import io.swagger.v3.core.util.Yaml;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecPreScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    SpecGenerator generator = new SpecGenerator().paths(200).schemas(80).changeDensity(0.1);
+
+    @Test
+    void reducedJsonComparisonMatchesFullComparison() throws IOException {
+        assertSameFindings(write("source.json", generator.sourceJson()), write("target.json", generator.targetJson()));
+    }
+
+    @Test
+    void reducedYamlComparisonMatchesFullComparison() throws IOException {
+        assertSameFindings(write("source.yaml", Yaml.pretty(generator.source())), write("target.yaml", Yaml.pretty(generator.target())));
+    }
+
+    @Test
+    void unchangedDocumentsReduceToNothing() {
+        byte[] content = generator.sourceJson().getBytes(StandardCharsets.UTF_8);
+        SpecPreScanner.ReducedSpecs reduced = new SpecPreScanner(new SpecParserProperties()).reduce(content, content);
+        assertTrue(reduced.getSource().getOpenAPI().getPaths().isEmpty());
+        assertTrue(reduced.getTarget().getOpenAPI().getComponents().getSchemas() == null
+                || reduced.getTarget().getOpenAPI().getComponents().getSchemas().isEmpty());
+    }
+
+    @Test
+    void swagger2FallsBackToFullParse() throws IOException {
+        byte[] content = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"t\",\"version\":\"1\"},\"paths\":{}}".getBytes(StandardCharsets.UTF_8);
+        assertNull(new SpecPreScanner(new SpecParserProperties()).reduce(content, content));
+    }
+
+    @Test
+    void reducedComparisonOfHandWrittenSpecMatchesFullComparison() throws IOException {
+        assertSameFindings(SpecFixture.SPEC, SpecFixture.write(tempDir, "target.yaml",
+                "/utilities/validateAddress:", "/utilities/validateAddressV2:",
+                "/utilities/tenant-authorization:", "/utilities/tenant-authz:"));
+    }
+
+    @Test
+    void cachedModelsAreUsedInsteadOfPreScanning() throws IOException {
+        Path source = write("source.json", generator.sourceJson());
+        Path target = write("target.json", generator.targetJson());
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        properties.getPreScan().setMinBytes(0);
+        SpecParseCache cache = new SpecParseCache(properties);
+        OpenApiSpecCompareService service = new OpenApiSpecCompareService(cache, properties, null);
+
+        service.analyzeBreakingChanges(source.toString(), target.toString());
+        assertEquals(0, cache.getStats().getMisses() + cache.getStats().getHits());
+        cache.load(source.toString());
+        cache.load(target.toString());
+        BreakingChange cached = service.analyzeBreakingChanges(source.toString(), target.toString());
+
+        assertEquals(2, cache.getStats().getMisses());
+        assertEquals(2, cache.getStats().getHits());
+        assertEquals(service(false).analyzeBreakingChanges(source.toString(), target.toString()).getMajorChanges(), cached.getMajorChanges());
+    }
+
+    void assertSameFindings(Path source, Path target) throws IOException {
+        assertNotNull(new SpecPreScanner(new SpecParserProperties()).reduce(Files.readAllBytes(source), Files.readAllBytes(target)));
+        BreakingChange full = service(false).analyzeBreakingChanges(source.toString(), target.toString());
+        BreakingChange reduced = service(true).analyzeBreakingChanges(source.toString(), target.toString());
+
+        assertFalse(full.getMajorChanges().isEmpty());
+        assertEquals(full.getMajorChanges(), reduced.getMajorChanges());
+        assertEquals(full.getMinorChanges(), reduced.getMinorChanges());
+    }
+
+    OpenApiSpecCompareService service(boolean preScan) {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        properties.getPreScan().setEnabled(preScan);
+        properties.getPreScan().setMinBytes(0);
+        return SpecFixture.service(properties);
+    }
+
+    Path write(String name, String content) throws IOException {
+        return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
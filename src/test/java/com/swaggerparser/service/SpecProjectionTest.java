@@ -0,0 +1,101 @@
+package com.swaggerparser.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.support.SpecFixture;
+import com.swaggerparser.support.SpecGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecProjectionTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void documentationIsDroppedButNamesAreKept() throws IOException {
+        String spec = "openapi: 3.0.1\n"
+                + "info: {title: t, version: '1', description: about}\n"
+                + "servers: [{url: 'https://example.com'}]\n"
+                + "tags: [{name: pets}]\n"
+                + "x-owner: team\n"
+                + "paths:\n"
+                + "  /pets:\n"
+                + "    get:\n"
+                + "      summary: list\n"
+                + "      tags: [pets]\n"
+                + "      responses:\n"
+                + "        '200':\n"
+                + "          description: ok\n"
+                + "          content:\n"
+                + "            application/json:\n"
+                + "              example: {description: x}\n"
+                + "              schema:\n"
+                + "                type: object\n"
+                + "                description: a pet\n"
+                + "                default: {}\n"
+                + "                required: [description]\n"
+                + "                properties:\n"
+                + "                  description: {type: string, maxLength: 10, enum: [a, b]}\n";
+
+        JsonNode projected = SpecProjection.project(spec.getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(projected.has("servers") || projected.has("tags") || projected.has("x-owner"));
+        assertFalse(projected.get("info").has("description"));
+        JsonNode get = projected.at("/paths/~1pets/get");
+        assertFalse(get.has("summary") || get.has("tags"));
+        JsonNode mediaType = get.at("/responses/200/content/application~1json");
+        assertFalse(mediaType.has("example"));
+        JsonNode schema = mediaType.get("schema");
+        assertFalse(schema.has("description") || schema.has("default"));
+        assertEquals("description", schema.at("/required/0").asText());
+        assertEquals("{\"type\":\"string\",\"enum\":[\"a\",\"b\"]}", schema.at("/properties/description").toString());
+    }
+
+    @Test
+    void externalReferencesAndSwagger2AreNotProjected() throws IOException {
+        assertNull(SpecProjection.project(("openapi: 3.0.1\npaths:\n  /a:\n    $ref: 'other.yaml#/a'\n").getBytes(StandardCharsets.UTF_8)));
+        assertNull(SpecProjection.project("{\"swagger\":\"2.0\",\"paths\":{}}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void projectedComparisonMatchesFullComparison() throws IOException {
+        assertSameFindings(SpecFixture.SPEC, SpecFixture.renamedPath(tempDir));
+
+        SpecGenerator generator = new SpecGenerator().paths(100).schemas(40).changeDensity(0.1);
+        assertSameFindings(write("source.json", generator.sourceJson()), write("target.json", generator.targetJson()));
+    }
+
+    void assertSameFindings(Path source, Path target) {
+        BreakingChange full = service(false).analyzeBreakingChanges(source.toString(), target.toString());
+        BreakingChange projected = service(true).analyzeBreakingChanges(source.toString(), target.toString());
+
+        assertTrue(full.hasChanges());
+        assertEquals(full.getMajorChanges(), projected.getMajorChanges());
+        assertEquals(full.getMinorChanges(), projected.getMinorChanges());
+    }
+
+    OpenApiSpecCompareService service(boolean projection) {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        properties.getPreScan().setEnabled(false);
+        properties.getProjection().setEnabled(projection);
+        return SpecFixture.service(properties);
+    }
+
+    Path write(String name, String content) throws IOException {
+        return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.RegisteredSpecResponse;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    SpecParserProperties properties;
+    String source;
+    String target;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        properties.getRegistry().setDirectory(tempDir.resolve("registry").toString());
+
+        source = SpecFixture.SPEC.toString();
+        target = SpecFixture.renamedPath(tempDir).toString();
+    }
+
+    @Test
+    void registeredSpecsCompareLikeTheirSource() {
+        SpecParseCache cache = new SpecParseCache(properties);
+        SpecRegistry registry = new SpecRegistry(properties, cache, CompareMetrics.noop());
+        RegisteredSpecResponse registered = registry.register("utilities", "1.0", source);
+
+        assertEquals("utilities@1.0", registered.getReference());
+        assertTrue(registered.getSnapshotBytes() > 0);
+        BreakingChange byPath = service(cache, registry).analyzeBreakingChanges(source, target);
+        BreakingChange byName = service(cache, registry).analyzeBreakingChanges("utilities@1.0", target);
+        assertEquals(byPath.getMajorChanges(), byName.getMajorChanges());
+        assertEquals(byPath.getMinorChanges(), byName.getMinorChanges());
+    }
+
+    @Test
+    void snapshotsSurviveRestartsWithoutReparsing() {
+        new SpecRegistry(properties, new SpecParseCache(properties), CompareMetrics.noop()).register("utilities", "1.0", source);
+
+        SpecParseCache cache = new SpecParseCache(properties);
+        SpecRegistry restarted = new SpecRegistry(properties, cache, CompareMetrics.noop());
+        ParsedSpec loaded = restarted.find("utilities@1.0");
+
+        assertNotNull(loaded);
+        assertEquals(0, cache.getStats().getMisses());
+        assertTrue(loaded.getFingerprints().size() > 0);
+        assertFalse(service(cache, restarted).analyzeBreakingChanges("utilities@1.0", source).hasChanges());
+        assertEquals(1, restarted.list().size());
+    }
+
+    @Test
+    void unregisteredNamesAreLoadedAsLocations() {
+        SpecRegistry registry = new SpecRegistry(properties, new SpecParseCache(properties), CompareMetrics.noop());
+
+        assertNull(registry.find("utilities@2.0"));
+        assertNull(registry.find(source));
+        assertNotNull(registry.load(source).getParseResult().getOpenAPI());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(ResponseStatusException.class, () -> registry.get("utilities", "2.0")).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class, () -> registry.register("a/b", "1", source)).getStatus());
+    }
+
+    @Test
+    void deletedSpecsAreGone() {
+        SpecRegistry registry = new SpecRegistry(properties, new SpecParseCache(properties), CompareMetrics.noop());
+        registry.register("utilities", "1.0", source);
+
+        registry.delete("utilities", "1.0");
+
+        assertNull(registry.find("utilities@1.0"));
+        assertTrue(registry.list().isEmpty());
+        assertThrows(ResponseStatusException.class, () -> registry.delete("utilities", "1.0"));
+    }
+
+    @Test
+    void decodedSpecsAreKeptWithinTheMemoryBudget() {
+        new SpecRegistry(properties, new SpecParseCache(properties), CompareMetrics.noop()).register("utilities", "1.0", source);
+        new SpecRegistry(properties, new SpecParseCache(properties), CompareMetrics.noop()).register("utilities", "2.0", target);
+        properties.getRegistry().setMaxLoadedBytes(1);
+        SpecRegistry registry = new SpecRegistry(properties, new SpecParseCache(properties), CompareMetrics.noop());
+
+        ParsedSpec first = registry.find("utilities@1.0");
+        assertSame(first, registry.find("utilities@1.0"));
+        registry.find("utilities@2.0");
+        ParsedSpec reloaded = registry.find("utilities@1.0");
+
+        assertNotSame(first, reloaded);
+        assertEquals(first.getContentHash(), reloaded.getContentHash());
+    }
+
+    OpenApiSpecCompareService service(SpecParseCache cache, SpecRegistry registry) {
+        return new OpenApiSpecCompareService(cache, properties, null, CompareMetrics.noop(), ComparisonResultCache.disabled(),
+                new SpecPreScanner(properties), Runnable::run, new RuleRegistry(properties, CompareMetrics.noop()), registry);
+    }
+
+}
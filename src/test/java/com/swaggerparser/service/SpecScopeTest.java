@@ -0,0 +1,119 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.dto.ChangeCode;
+import com.swaggerparser.dto.ComparisonOptions;
+import com.swaggerparser.dto.Finding;
+import com.swaggerparser.support.SpecFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecScopeTest {
+
+    @TempDir
+    Path tempDir;
+
+    OpenApiSpecCompareService service;
+    String source;
+    String target;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        service = SpecFixture.service(properties);
+
+        source = SpecFixture.SPEC.toString();
+        target = SpecFixture.write(tempDir, "changed.yaml",
+                "  /utilities/creditcardfees:", "  /utilities/creditcardfees/v2:",
+                "    AuthorizationResponse:\n      type: object\n      properties:\n        idToken:\n          type: string",
+                "    AuthorizationResponse:\n      type: object\n      properties:\n        idToken:\n          type: integer").toString();
+    }
+
+    @Test
+    void unscopedComparisonSeesEverything() {
+        BreakingChange result = service.analyzeBreakingChanges(source, target);
+
+        assertTrue(result.getFindings().stream().anyMatch(f -> f.getCode() == ChangeCode.PATH_REMOVED));
+        assertTrue(result.getFindings().stream().anyMatch(f -> f.getCode() == ChangeCode.TYPE_CHANGED));
+    }
+
+    @Test
+    void includedPathsLimitPathsAndSchemas() {
+        BreakingChange result = service.analyzeBreakingChanges(source, target, scoped(Collections.singletonList("/utilities/tenant-authorization"), Collections.emptyList()));
+
+        assertFalse(result.getFindings().isEmpty());
+        for (Finding finding : result.getFindings()) {
+            assertEquals(ChangeCode.TYPE_CHANGED, finding.getCode());
+            assertEquals("AuthorizationResponse", finding.getLocation().getSchema());
+        }
+    }
+
+    @Test
+    void excludedPathsAndTheirSchemasAreSkipped() {
+        ComparisonOptions options = scoped(Collections.emptyList(), Arrays.asList("/utilities/tenant-authorization", "/utilities/creditcardfees"));
+
+        assertFalse(service.analyzeBreakingChanges(source, target, options).hasChanges());
+    }
+
+    @Test
+    void scopeReachesSchemasThroughReferences() {
+        CompiledSpec spec = new SpecParseCache(new SpecParserProperties()).load(source).getCompiled();
+        SpecScope scope = SpecScope.of(spec, spec, scoped(Collections.singletonList("/utilities/validateAddress"), Collections.emptyList()));
+
+        assertEquals(Collections.singleton("/utilities/validateAddress"), scope.getPaths());
+        assertTrue(scope.getSchemas().containsAll(Arrays.asList("ScrubAddressRequest", "Address", "USAddress", "ScrubAddressReply", "AddressResponse")));
+        assertFalse(scope.getSchemas().contains("AuthorizationResponse"));
+    }
+
+    @Test
+    void scopeFollowsEachSideThroughItsOwnVersionOfASchema() throws IOException {
+        String spec = "openapi: 3.0.1\n"
+                + "info: {title: pets, version: '1'}\n"
+                + "paths:\n"
+                + "  /pets:\n"
+                + "    get:\n"
+                + "      responses:\n"
+                + "        '200':\n"
+                + "          description: ok\n"
+                + "          content:\n"
+                + "            application/json:\n"
+                + "              schema: {$ref: '#/components/schemas/A'}\n"
+                + "components:\n"
+                + "  schemas:\n"
+                + "    A: {type: object, properties: {x: {$ref: '#/components/schemas/%s'}}}\n"
+                + "    B: {type: object, properties: {b: {type: integer}}}\n"
+                + "    C: {type: object, properties: {c: {type: %s}}}\n";
+        Path src = tempDir.resolve("pets-src.yaml");
+        Path tgt = tempDir.resolve("pets-tgt.yaml");
+        Files.write(src, String.format(spec, "B", "integer").getBytes(StandardCharsets.UTF_8));
+        Files.write(tgt, String.format(spec, "C", "string").getBytes(StandardCharsets.UTF_8));
+
+        BreakingChange result = service.analyzeBreakingChanges(src.toString(), tgt.toString(), scoped(Collections.singletonList("/pets"), Collections.emptyList()));
+
+        assertTrue(result.getFindings().stream().anyMatch(f -> f.getCode() == ChangeCode.TYPE_CHANGED
+                && "C".equals(f.getLocation().getSchema()) && "c".equals(f.getProperty())), result.getMajorChanges().toString());
+    }
+
+    static ComparisonOptions scoped(List<String> includes, List<String> excludes) {
+        ComparisonOptions options = ComparisonOptions.defaults();
+        options.setIncludePaths(includes);
+        options.setExcludePaths(excludes);
+        return options;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.swaggerparser.service;
+
+import com.swaggerparser.config.SpecParserProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecUploadReaderTest {
+
+    SpecParserProperties properties = new SpecParserProperties();
+
+    @Test
+    void gzipBodyIsInflated() throws IOException {
+        byte[] spec = "openapi: 3.0.1\n".getBytes();
+        SpecDocument document = new SpecUploadReader(properties).read("source", new ByteArrayInputStream(gzip(spec)));
+
+        assertArrayEquals(spec, document.getContent());
+        assertTrue(document.isUploaded());
+    }
+
+    @Test
+    void limitAppliesToInflatedSize() throws IOException {
+        properties.getUpload().setMaxBytes(1024);
+        byte[] spec = new byte[4096];
+        Arrays.fill(spec, (byte) ' ');
+        SpecUploadReader reader = new SpecUploadReader(properties);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> reader.read("target", new ByteArrayInputStream(gzip(spec))));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatus());
+    }
+
+    static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+}
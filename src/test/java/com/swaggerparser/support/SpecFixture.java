@@ -0,0 +1,64 @@
+package com.swaggerparser.support;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.service.OpenApiSpecCompareService;
+import com.swaggerparser.service.SpecParseCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Edited copies of the {@code open-api-spec.yaml} test fixture. Replacements are given as {@code target, replacement}
+ * pairs and applied in order; one whose target is not in the content fails the test, so a fixture edit cannot
+ * silently turn a comparison into one between identical specs.
+ */
+public final class SpecFixture {
+
+    public static final Path SPEC = Paths.get("src", "test", "resources", "open-api-spec.yaml").toAbsolutePath();
+
+    private SpecFixture() {
+    }
+
+    public static String content(String... replacements) {
+        if (replacements.length % 2 != 0) {
+            throw new IllegalArgumentException("Replacements come in target, replacement pairs");
+        }
+        String content;
+        try {
+            content = new String(Files.readAllBytes(SPEC), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (int i = 0; i < replacements.length; i += 2) {
+            if (!content.contains(replacements[i])) {
+                throw new AssertionError("Fixture does not contain " + replacements[i]);
+            }
+            content = content.replace(replacements[i], replacements[i + 1]);
+        }
+        return content;
+    }
+
+    public static byte[] bytes(String... replacements) {
+        return content(replacements).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static Path write(Path directory, String name, String... replacements) throws IOException {
+        return Files.write(directory.resolve(name), bytes(replacements));
+    }
+
+    /**
+     * The fixture with {@code /utilities/validateAddress} renamed, which compares as one path removed and one added.
+     */
+    public static Path renamedPath(Path directory) throws IOException {
+        return write(directory, "renamed-path.yaml", "/utilities/validateAddress:", "/utilities/validateAddressV2:");
+    }
+
+    public static OpenApiSpecCompareService service(SpecParserProperties properties) {
+        return new OpenApiSpecCompareService(new SpecParseCache(properties), properties, null);
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.swaggerparser.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds deterministic synthetic OpenAPI 3 spec pairs for benchmarks and load tests. The source and target share
+ * their structure; the target additionally carries random breaking and non-breaking edits on roughly
+ * {@code changeDensity} of its paths and schemas.
+ */
+@Setter
+@Getter
+@Accessors(chain = true, fluent = true)
+public class SpecGenerator {
+
+    private int paths = 100;
+    private int schemas = 50;
+    private int propertiesPerSchema = 8;
+    private int depth = 3;
+    private int enumSize = 5;
+    private double changeDensity = 0.05;
+    private long seed = 42;
+
+    public OpenAPI source() {
+        return build(false);
+    }
+
+    public OpenAPI target() {
+        return build(true);
+    }
+
+    public String sourceJson() {
+        return toJson(source());
+    }
+
+    public String targetJson() {
+        return toJson(target());
+    }
+
+    public static String toJson(OpenAPI openApi) {
+        try {
+            return Json.mapper().writeValueAsString(openApi);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OpenAPI build(boolean mutate) {
+        Random structure = new Random(seed);
+        Random changes = new Random(seed * 31 + 7);
+
+        Components components = new Components();
+        for (int i = 0; i < schemas; i++) {
+            Schema<?> schema = schema(i, structure);
+            if (mutate && changes.nextDouble() < changeDensity) {
+                mutateSchema(schema, changes);
+            }
+            components.addSchemas(schemaName(i), schema);
+        }
+
+        Paths specPaths = new Paths();
+        for (int i = 0; i < paths; i++) {
+            PathItem pathItem = pathItem(i, structure);
+            if (mutate && changes.nextDouble() < changeDensity) {
+                if (changes.nextInt(10) == 0) {
+                    continue;
+                }
+                mutateOperation(pathItem.getGet(), changes);
+            }
+            specPaths.addPathItem("/resource" + i + "/{id}", pathItem);
+        }
+
+        return new OpenAPI()
+                .info(new Info().title("Synthetic").version(mutate ? "2" : "1"))
+                .paths(specPaths)
+                .components(components);
+    }
+
+    private Schema<?> schema(int index, Random structure) {
+        ObjectSchema schema = new ObjectSchema();
+        List<String> required = new ArrayList<>();
+        for (int p = 0; p < propertiesPerSchema; p++) {
+            String name = "field" + p;
+            schema.addProperty(name, scalar(structure));
+            if (structure.nextBoolean()) {
+                required.add(name);
+            }
+        }
+        if (depth > 1 && index % depth < depth - 1 && index + 1 < schemas) {
+            schema.addProperty("child", new Schema<>().$ref(ref(index + 1)));
+            schema.addProperty("children", new ArraySchema().items(new Schema<>().$ref(ref(index + 1))));
+        }
+        schema.setRequired(required);
+        return schema;
+    }
+
+    private Schema<?> scalar(Random structure) {
+        switch (structure.nextInt(5)) {
+            case 0:
+                return new IntegerSchema();
+            case 1:
+                return new NumberSchema();
+            case 2:
+                return new BooleanSchema();
+            case 3:
+                return enumeration();
+            default:
+                return new StringSchema();
+        }
+    }
+
+    private StringSchema enumeration() {
+        StringSchema schema = new StringSchema();
+        for (int e = 0; e < enumSize; e++) {
+            schema.addEnumItem("VALUE_" + e);
+        }
+        return schema;
+    }
+
+    private PathItem pathItem(int index, Random structure) {
+        Operation get = new Operation()
+                .operationId("get" + index)
+                .addParametersItem(new PathParameter().name("id").schema(new StringSchema()))
+                .addParametersItem(new QueryParameter().name("status").required(structure.nextBoolean()).schema(enumeration()))
+                .addParametersItem(new QueryParameter().name("limit").schema(new IntegerSchema()))
+                .responses(new ApiResponses().addApiResponse("200", response(index % Math.max(1, schemas))));
+        Operation post = new Operation()
+                .operationId("post" + index)
+                .addParametersItem(new PathParameter().name("id").schema(new StringSchema()))
+                .requestBody(new RequestBody().content(content((index + 1) % Math.max(1, schemas))))
+                .responses(new ApiResponses().addApiResponse("201", response(index % Math.max(1, schemas))));
+        return new PathItem().get(get).post(post);
+    }
+
+    private ApiResponse response(int schema) {
+        return new ApiResponse().description("ok").content(content(schema));
+    }
+
+    private Content content(int schema) {
+        return new Content().addMediaType("application/json", new MediaType().schema(new Schema<>().$ref(ref(schema))));
+    }
+
+    private void mutateSchema(Schema<?> schema, Random changes) {
+        String name = "field" + changes.nextInt(propertiesPerSchema);
+        switch (changes.nextInt(4)) {
+            case 0:
+                schema.getProperties().put(name, schema.getProperties().get(name) instanceof IntegerSchema ? new StringSchema() : new IntegerSchema());
+                break;
+            case 1:
+                schema.getProperties().remove(name);
+                break;
+            case 2:
+                schema.addProperty("added" + changes.nextInt(1000), new StringSchema());
+                break;
+            default:
+                List<String> required = schema.getRequired() == null ? new ArrayList<>() : new ArrayList<>(schema.getRequired());
+                if (!required.remove(name)) {
+                    required.add(name);
+                }
+                schema.setRequired(required);
+        }
+    }
+
+    private void mutateOperation(Operation operation, Random changes) {
+        List<Parameter> parameters = operation.getParameters();
+        switch (changes.nextInt(4)) {
+            case 0:
+                parameters.get(1).setRequired(!Boolean.TRUE.equals(parameters.get(1).getRequired()));
+                break;
+            case 1:
+                parameters.get(2).setSchema(new StringSchema());
+                break;
+            case 2:
+                parameters.get(1).getSchema().getEnum().remove(0);
+                break;
+            default:
+                operation.getResponses().addApiResponse("404", response(0));
+        }
+    }
+
+    private static String schemaName(int index) {
+        return "Schema" + index;
+    }
+
+    private static String ref(int index) {
+        return "#/components/schemas/" + schemaName(index);
+    }
+
+}
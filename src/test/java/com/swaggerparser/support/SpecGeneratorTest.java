@@ -0,0 +1,43 @@
+package com.swaggerparser.support;
+
+import com.swaggerparser.config.SpecParserProperties;
+import com.swaggerparser.dto.BreakingChange;
+import com.swaggerparser.service.OpenApiSpecCompareService;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpecGeneratorTest {
+
+    SpecParserProperties properties() {
+        SpecParserProperties properties = new SpecParserProperties();
+        properties.getDiff().setParallel(false);
+        return properties;
+    }
+
+    @Test
+    void generatedSpecsParseAndDiff() {
+        SpecGenerator generator = new SpecGenerator().paths(40).schemas(20).changeDensity(0.5);
+        SwaggerParseResult source = new OpenAPIParser().readContents(generator.sourceJson(), null, null);
+        SwaggerParseResult target = new OpenAPIParser().readContents(generator.targetJson(), null, null);
+
+        assertEquals(40, source.getOpenAPI().getPaths().size());
+        assertEquals(20, source.getOpenAPI().getComponents().getSchemas().size());
+        BreakingChange changes = new OpenApiSpecCompareService(null, properties(), null).analyzeBreakingChanges(source, target);
+        assertTrue(changes.hasChanges());
+    }
+
+    @Test
+    void zeroDensityGeneratesIdenticalSpecs() {
+        SpecGenerator generator = new SpecGenerator().paths(40).schemas(20).changeDensity(0);
+        assertEquals(generator.sourceJson().replace("\"version\":\"1\"", ""), generator.targetJson().replace("\"version\":\"2\"", ""));
+        SwaggerParseResult source = new OpenAPIParser().readContents(generator.sourceJson(), null, null);
+        SwaggerParseResult target = new OpenAPIParser().readContents(generator.targetJson(), null, null);
+        assertFalse(new OpenApiSpecCompareService(null, properties(), null).analyzeBreakingChanges(source, target).hasChanges());
+    }
+
+}